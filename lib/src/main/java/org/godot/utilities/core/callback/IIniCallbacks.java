@@ -0,0 +1,23 @@
+package org.godot.utilities.core.callback;
+
+import org.godot.utilities.core.ini.Ini;
+import org.godot.utilities.core.ini.IniChanges;
+
+import java.util.EventListener;
+
+public interface IIniCallbacks {
+
+	interface IIniContentChangedCallback extends EventListener {
+
+		/**
+		 * Called when a watched ini file was reloaded and its content changed.
+		 * This method is invoked from the watcher thread.
+		 *
+		 * @param ini     Updated ini
+		 * @param changes All changed sections and properties
+		 */
+		void onContentChanged(Ini ini, IniChanges changes);
+
+	}
+
+}
@@ -0,0 +1,551 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Small string map used by {@link SectionImpl} to store properties and attributes.
+ * <p>
+ * Most sections (like scene nodes) have only a few entries, so keys and values are stored in two
+ * parallel arrays and searched linearly. When the map grows over {@link #HASH_THRESHOLD} entries
+ * the content is moved to a {@link LinkedHashMap}. Insertion order is always kept.
+ * <p>
+ * Values can also be stored as views over a shared source (see {@link #putView(String, CharSequence)}).
+ * Views are decoded the first time they are read with {@link #get(Object)} or the entry set, and the
+ * decoded string replaces the view. {@link #getRaw(Object)} returns the stored value without decoding it.
+ * Shared maps (see {@link #markShared()}) never replace their views, so reads never write.
+ */
+final class CompactMap extends AbstractMap<String, String> {
+
+	/**
+	 * Max number of entries stored in arrays
+	 */
+	static final int HASH_THRESHOLD = 8;
+
+	/**
+	 * First array capacity
+	 */
+	private static final int INITIAL_CAPACITY = 2;
+
+	/**
+	 * Entry keys. It is {@code null} until the first insertion.
+	 */
+	private String[] keys;
+
+	/**
+	 * Entry values. Every value is a {@link String} or a view that is not decoded yet.
+	 */
+	private CharSequence[] values;
+
+	/**
+	 * Number of entries stored in arrays
+	 */
+	private int count;
+
+	/**
+	 * Hash storage. It is {@code null} while entries are stored in arrays.
+	 */
+	private LinkedHashMap<String, CharSequence> hash;
+
+	/**
+	 * Entry set view
+	 */
+	private Set<Map.Entry<String, String>> entries;
+
+	/**
+	 * Key set view
+	 */
+	private Set<String> keyView;
+
+	/**
+	 * Map is read by many threads without locks. Views are decoded on every read and never replaced.
+	 */
+	private boolean shared;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Get number of entries
+	 *
+	 * @return Return map size
+	 */
+	@Override
+	public int size() {
+		return hash != null ? hash.size() : count;
+	}
+
+	/**
+	 * Get a value
+	 *
+	 * @param key Target key
+	 * @return Return value or {@code null} if not exists
+	 */
+	@Override
+	public @Nullable String get(Object key) {
+		if (hash != null) {
+			CharSequence value = hash.get(key);
+			return value == null ? null : decode(key, value);
+		}
+		int index = indexOf(key);
+		return index == -1 ? null : decodeAt(index);
+	}
+
+	/**
+	 * Get a value without decoding it
+	 *
+	 * @param key Target key
+	 * @return Return the stored string or view, or {@code null} if not exists
+	 */
+	@Nullable CharSequence getRaw(Object key) {
+		if (hash != null) return hash.get(key);
+		int index = indexOf(key);
+		return index == -1 ? null : values[index];
+	}
+
+	/**
+	 * Check if key exists
+	 *
+	 * @param key Target key
+	 * @return Return {@code true} if key exists
+	 */
+	@Override
+	public boolean containsKey(Object key) {
+		return hash != null ? hash.containsKey(key) : indexOf(key) != -1;
+	}
+
+	/**
+	 * Insert or replace a value
+	 *
+	 * @param key   Entry key
+	 * @param value Entry value
+	 * @return Return previous value or {@code null} if not exists
+	 */
+	@Override
+	public @Nullable String put(String key, String value) {
+		return toText(store(key, value));
+	}
+
+	/**
+	 * Insert or replace a value view. The view is decoded the first time it is read,
+	 * so its source must not change.
+	 *
+	 * @param key   Entry key
+	 * @param value Value view
+	 */
+	void putView(@NotNull String key, @NotNull CharSequence value) {
+		store(key, value);
+	}
+
+	/**
+	 * Copy all entries. Views of other compact maps are copied without decoding them.
+	 *
+	 * @param source Source map
+	 */
+	@Override
+	public void putAll(@NotNull Map<? extends String, ? extends String> source) {
+		if (!(source instanceof CompactMap)) {
+			super.putAll(source);
+			return;
+		}
+		CompactMap other = (CompactMap) source;
+		if (other.hash != null) {
+			for (Map.Entry<String, CharSequence> entry : other.hash.entrySet())
+				store(entry.getKey(), entry.getValue());
+		} else {
+			for (int i = 0; i < other.count; i++) store(other.keys[i], other.values[i]);
+		}
+	}
+
+	/**
+	 * Never replace views with their decoded strings. Used by read-only maps that are read by many
+	 * threads, so no read modifies the map.
+	 */
+	void markShared() {
+		shared = true;
+	}
+
+	/**
+	 * Remove a value
+	 *
+	 * @param key Target key
+	 * @return Return removed value or {@code null} if not exists
+	 */
+	@Override
+	public @Nullable String remove(Object key) {
+		if (hash != null) return toText(hash.remove(key));
+		int index = indexOf(key);
+		if (index == -1) return null;
+		CharSequence old = values[index];
+		removeAt(index);
+		return toText(old);
+	}
+
+	/**
+	 * Remove all entries
+	 */
+	@Override
+	public void clear() {
+		keys = null;
+		values = null;
+		count = 0;
+		hash = null;
+	}
+
+	/**
+	 * Get entry set view
+	 *
+	 * @return Return all entries in insertion order
+	 */
+	@Override
+	public @NotNull Set<Map.Entry<String, String>> entrySet() {
+		if (entries == null) entries = new EntrySet();
+		return entries;
+	}
+
+	/**
+	 * Get key set view. Values are not decoded.
+	 *
+	 * @return Return all keys in insertion order
+	 */
+	@Override
+	public @NotNull Set<String> keySet() {
+		if (keyView == null) keyView = new KeySet();
+		return keyView;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Compare two stored values. Views of the same kind are compared without decoding them.
+	 * File views are over private copies, so views of two reads never share their bytes.
+	 *
+	 * @param a First value
+	 * @param b Second value
+	 * @return Return {@code true} if both values have the same text
+	 */
+	static boolean sameValue(@Nullable CharSequence a, @Nullable CharSequence b) {
+		if (a == b) return true;
+		if (a == null || b == null) return false;
+		if (a instanceof Utf8CharSequence && b instanceof Utf8CharSequence)
+			return ((Utf8CharSequence) a).contentEquals((Utf8CharSequence) b);
+		return a.toString().equals(b.toString());
+	}
+
+	/**
+	 * Insert or replace a stored value
+	 *
+	 * @param key   Entry key
+	 * @param value String or view
+	 * @return Return previous stored value or {@code null} if not exists
+	 */
+	private @Nullable CharSequence store(String key, CharSequence value) {
+		if (hash != null) return hash.put(key, value);
+		int index = indexOf(key);
+		if (index != -1) {
+			CharSequence old = values[index];
+			values[index] = value;
+			return old;
+		}
+		// Too big for arrays
+		if (count == HASH_THRESHOLD) {
+			hash = new LinkedHashMap<>(HASH_THRESHOLD * 4);
+			for (int i = 0; i < count; i++) hash.put(keys[i], values[i]);
+			keys = null;
+			values = null;
+			count = 0;
+			return hash.put(key, value);
+		}
+		if (keys == null) {
+			keys = new String[INITIAL_CAPACITY];
+			values = new CharSequence[INITIAL_CAPACITY];
+		} else if (count == keys.length) {
+			int capacity = Math.min(HASH_THRESHOLD, count * 2);
+			keys = Arrays.copyOf(keys, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		keys[count] = key;
+		values[count++] = value;
+		return null;
+	}
+
+	/**
+	 * Find key index in arrays. Pooled keys are found by reference.
+	 *
+	 * @param key Target key
+	 * @return Return key index or {@code -1} if not exists
+	 */
+	private int indexOf(Object key) {
+		for (int i = 0; i < count; i++) {
+			if (keys[i] == key) return i;
+		}
+		if (key == null) return -1;
+		for (int i = 0; i < count; i++) {
+			if (key.equals(keys[i])) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Decode an array value. The view is replaced only if it was not replaced by other value and the map is not shared.
+	 *
+	 * @param index Entry index
+	 * @return Return decoded value
+	 */
+	private @NotNull String decodeAt(int index) {
+		CharSequence value = values[index];
+		if (value instanceof String) return (String) value;
+		String text = value.toString();
+		if (!shared && values[index] == value) values[index] = text;
+		return text;
+	}
+
+	/**
+	 * Decode a hash value. The view is replaced only if the map is not shared.
+	 *
+	 * @param key   Entry key
+	 * @param value Stored value
+	 * @return Return decoded value
+	 */
+	private @NotNull String decode(Object key, @NotNull CharSequence value) {
+		if (value instanceof String) return (String) value;
+		String text = value.toString();
+		if (!shared) hash.replace((String) key, value, text);
+		return text;
+	}
+
+	/**
+	 * Convert a stored value without saving the result
+	 *
+	 * @param value Stored value
+	 * @return Return value text or {@code null} if value is {@code null}
+	 */
+	private static @Nullable String toText(@Nullable CharSequence value) {
+		return value == null ? null : value.toString();
+	}
+
+	/**
+	 * Remove an array entry
+	 *
+	 * @param index Entry index
+	 */
+	private void removeAt(int index) {
+		int moved = count - index - 1;
+		if (moved > 0) {
+			System.arraycopy(keys, index + 1, keys, index, moved);
+			System.arraycopy(values, index + 1, values, index, moved);
+		}
+		count--;
+		keys[count] = null;
+		values[count] = null;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Extra classes
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Entry set view. It always uses the current storage.
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<String, String>> {
+
+		/**
+		 * Get entries iterator
+		 *
+		 * @return Return entries iterator
+		 */
+		@Override
+		public @NotNull Iterator<Map.Entry<String, String>> iterator() {
+			if (hash != null) return new HashIterator();
+			return new ArrayIterator<>() {
+				@Override
+				Map.Entry<String, String> get(int index) {
+					return new SimpleEntry<>(keys[index], decodeAt(index)) {
+						@Override
+						public String setValue(String value) {
+							values[index] = value;
+							return super.setValue(value);
+						}
+					};
+				}
+			};
+		}
+
+		/**
+		 * Get number of entries
+		 *
+		 * @return Return map size
+		 */
+		@Override
+		public int size() {
+			return CompactMap.this.size();
+		}
+
+	}
+
+	/**
+	 * Key set view. It always uses the current storage.
+	 */
+	private final class KeySet extends AbstractSet<String> {
+
+		/**
+		 * Get keys iterator
+		 *
+		 * @return Return keys iterator
+		 */
+		@Override
+		public @NotNull Iterator<String> iterator() {
+			if (hash != null) return hash.keySet().iterator();
+			return new ArrayIterator<>() {
+				@Override
+				String get(int index) {
+					return keys[index];
+				}
+			};
+		}
+
+		/**
+		 * Check if key exists
+		 *
+		 * @param key Target key
+		 * @return Return {@code true} if key exists
+		 */
+		@Override
+		public boolean contains(Object key) {
+			return containsKey(key);
+		}
+
+		/**
+		 * Get number of keys
+		 *
+		 * @return Return map size
+		 */
+		@Override
+		public int size() {
+			return CompactMap.this.size();
+		}
+
+	}
+
+	/**
+	 * Iterator of array elements
+	 *
+	 * @param <T> Element type
+	 */
+	private abstract class ArrayIterator<T> implements Iterator<T> {
+
+		/**
+		 * Next entry index
+		 */
+		private int next;
+
+		/**
+		 * Last returned index
+		 */
+		private int last = -1;
+
+		/**
+		 * Check if there are more elements
+		 *
+		 * @return Return {@code true} if there are more elements
+		 */
+		@Override
+		public boolean hasNext() {
+			return next < count;
+		}
+
+		/**
+		 * Get next element
+		 *
+		 * @return Return next element
+		 */
+		@Override
+		public T next() {
+			if (next >= count) throw new NoSuchElementException();
+			last = next++;
+			return get(last);
+		}
+
+		/**
+		 * Get the element of an entry
+		 *
+		 * @param index Entry index
+		 * @return Return entry element
+		 */
+		abstract T get(int index);
+
+		/**
+		 * Remove last returned entry
+		 */
+		@Override
+		public void remove() {
+			if (last == -1) throw new IllegalStateException();
+			removeAt(last);
+			next = last;
+			last = -1;
+		}
+
+	}
+
+	/**
+	 * Iterator of hash entries. Views are decoded when their entry is returned and replaced if the map is not shared.
+	 */
+	private final class HashIterator implements Iterator<Map.Entry<String, String>> {
+
+		/**
+		 * Hash iterator
+		 */
+		private final Iterator<Map.Entry<String, CharSequence>> source = hash.entrySet().iterator();
+
+		/**
+		 * Check if there are more entries
+		 *
+		 * @return Return {@code true} if there are more entries
+		 */
+		@Override
+		public boolean hasNext() {
+			return source.hasNext();
+		}
+
+		/**
+		 * Get next entry
+		 *
+		 * @return Return next entry
+		 */
+		@Override
+		public Map.Entry<String, String> next() {
+			Map.Entry<String, CharSequence> entry = source.next();
+			CharSequence value = entry.getValue();
+			String text = value.toString();
+			if (!shared && !(value instanceof String)) entry.setValue(text);
+			return new SimpleEntry<>(entry.getKey(), text) {
+				@Override
+				public String setValue(String value) {
+					entry.setValue(value);
+					return super.setValue(value);
+				}
+			};
+		}
+
+		/**
+		 * Remove last returned entry
+		 */
+		@Override
+		public void remove() {
+			source.remove();
+		}
+
+	}
+
+}
@@ -0,0 +1,180 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32C;
+
+/**
+ * File state used to detect changes: size, modification time and content hash.
+ * <p>
+ * Size and modification time are read first. The content is hashed only when they changed, or when the
+ * file was modified so recently that other change could have the same modification time.
+ */
+final class FileFingerprint {
+
+	/**
+	 * Hash value of fingerprints without content hash
+	 */
+	static final long NO_HASH = -1;
+
+	/**
+	 * Files modified this time before they are read can change again without a new modification time
+	 * (coarse file system clocks, 2 seconds in FAT).
+	 */
+	private static final long RACY_INTERVAL = 2000;
+
+	/**
+	 * Read buffer size used to calculate the hash
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * File size in bytes
+	 */
+	final long size;
+
+	/**
+	 * Last modification time in milliseconds
+	 */
+	final long modifiedTime;
+
+	/**
+	 * Content hash (CRC32C) or {@link #NO_HASH}
+	 */
+	final long hash;
+
+	/**
+	 * File was modified just before it was read, so the modification time is not enough to detect changes
+	 */
+	final boolean racy;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Fingerprint constructor
+	 *
+	 * @param s File size
+	 * @param m Modification time
+	 * @param h Content hash or {@link #NO_HASH}
+	 * @param r File was modified just before it was read
+	 */
+	FileFingerprint(long s, long m, long h, boolean r) {
+		size = s;
+		modifiedTime = m;
+		hash = h;
+		racy = r;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Read file size and modification time. Content is not read.
+	 *
+	 * @param location Target file
+	 * @return Return a fingerprint without content hash
+	 * @throws IOException Error if file attributes cannot be read
+	 */
+	static @NotNull FileFingerprint stat(@NotNull Path location) throws IOException {
+		long now = System.currentTimeMillis();
+		BasicFileAttributes attributes = Files.readAttributes(location, BasicFileAttributes.class);
+		long modified = attributes.lastModifiedTime().toMillis();
+		return new FileFingerprint(attributes.size(), modified, NO_HASH, now - modified < RACY_INTERVAL);
+	}
+
+	/**
+	 * Calculate complete file fingerprint
+	 *
+	 * @param location Target file
+	 * @return Return file fingerprint
+	 * @throws IOException Error if file cannot be read
+	 */
+	static @NotNull FileFingerprint of(@NotNull Path location) throws IOException {
+		return stat(location).withHash(hash(location));
+	}
+
+	/**
+	 * Calculate content hash of a file
+	 *
+	 * @param location Target file
+	 * @return Return content hash
+	 * @throws IOException Error if file cannot be read
+	 */
+	static long hash(@NotNull Path location) throws IOException {
+		CRC32C crc = new CRC32C();
+		// Read all content
+		try (FileChannel channel = FileChannel.open(location, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			while (channel.read(buffer) != -1) {
+				buffer.flip();
+				crc.update(buffer);
+				buffer.clear();
+			}
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Copy this fingerprint with a content hash
+	 *
+	 * @param h Content hash
+	 * @return Return a new fingerprint
+	 */
+	@Contract(pure = true)
+	@NotNull FileFingerprint withHash(long h) {
+		return new FileFingerprint(size, modifiedTime, h, racy);
+	}
+
+	/**
+	 * Check if the file did not change without reading its content
+	 *
+	 * @param other Current file state
+	 * @return Return {@code true} if size and modification time are the same and this state is not racy
+	 */
+	@Contract(pure = true)
+	boolean sameFile(@NotNull FileFingerprint other) {
+		return !racy && size == other.size && modifiedTime == other.modifiedTime;
+	}
+
+	/**
+	 * Check if both fingerprints have the same content
+	 *
+	 * @param other Other fingerprint
+	 * @return Return {@code true} if size and hash are the same
+	 */
+	@Contract(pure = true)
+	boolean sameContent(@NotNull FileFingerprint other) {
+		return hash != NO_HASH && size == other.size && hash == other.hash;
+	}
+
+	/**
+	 * Object string representation
+	 *
+	 * @return Object string representation
+	 */
+	@Override
+	public String toString() {
+		return "FileFingerprint{" +
+			"size=" + size +
+			", modifiedTime=" + modifiedTime +
+			", hash=" + Long.toHexString(hash) +
+			", racy=" + racy +
+			'}';
+	}
+
+}
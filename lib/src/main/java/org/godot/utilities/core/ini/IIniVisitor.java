@@ -0,0 +1,80 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Event-driven INI visitor used by {@link IniReader}.
+ * <p>
+ * Every method has a default implementation, so you only need to override the events you want.
+ * The event object is reused between calls, do not keep a reference to it.
+ */
+public interface IIniVisitor {
+
+	/**
+	 * Called when a new section header is found.
+	 *
+	 * @param event Current event. Only section methods are available
+	 * @return Return the next reader action
+	 */
+	default @NotNull Result onSectionStart(@NotNull IniReader.Event event) {
+		return Result.CONTINUE;
+	}
+
+	/**
+	 * Called after {@link #onSectionStart(IniReader.Event)} only if the section was not skipped.
+	 *
+	 * @param event Current event. Only section methods are available
+	 * @return Return the next reader action
+	 */
+	default @NotNull Result onSectionAttributes(@NotNull IniReader.Event event) {
+		return Result.CONTINUE;
+	}
+
+	/**
+	 * Called for every property of a not skipped section.
+	 * Properties before the first section belong to the default section.
+	 * Multi-line values are reported once, complete, when their last line is read. Values that are
+	 * not closed are reported with the rest of the file at the end of the file.
+	 *
+	 * @param event Current event. Only property methods are available
+	 * @return Return the next reader action
+	 */
+	default @NotNull Result onProperty(@NotNull IniReader.Event event) {
+		return Result.CONTINUE;
+	}
+
+	/**
+	 * Called when the whole file was read. It is not called if reading was stopped.
+	 */
+	default void onEndOfFile() {
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Extra classes
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Reader actions
+	 */
+	enum Result {
+
+		/**
+		 * Continue with the next event
+		 */
+		CONTINUE,
+
+		/**
+		 * Ignore all the lines until the next section header
+		 */
+		SKIP_SECTION,
+
+		/**
+		 * Stop reading immediately
+		 */
+		STOP
+
+	}
+
+}
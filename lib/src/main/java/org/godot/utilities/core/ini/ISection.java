@@ -2,10 +2,12 @@ package org.godot.utilities.core.ini;
 
 import org.godot.utilities.core.error.InvalidTypeValueException;
 import org.godot.utilities.core.error.PropertyNotFoundException;
+import org.godot.utilities.core.ini.convertion.Variant;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,13 +49,48 @@ public interface ISection {
 	 * ------------------------------------------------------------------ */
 
 	/**
-	 * Get section attributes
+	 * Get section attributes. The map is read-only, use {@link #setAttribute(String, String)} and
+	 * {@link #removeAttribute(String)} to change them.
 	 *
 	 * @return Section attributes map
 	 */
 	@NotNull
 	Map<String, String> getAttributes();
 
+	/**
+	 * Get a single section attribute
+	 *
+	 * @param name Attribute name
+	 * @return Return attribute value or {@code null} if not exists
+	 */
+	@Nullable String getAttribute(@NotNull String name);
+
+	/**
+	 * Get integer attribute value (like {@code id} or {@code format}) without creating objects
+	 *
+	 * @param name     Attribute name
+	 * @param defValue Default value if attribute not exists or is not an integer
+	 * @return Return attribute value or {@code defValue}
+	 */
+	int getIntegerAttribute(@NotNull String name, int defValue);
+
+	/**
+	 * Insert or replace a section attribute. Numeric values are written without quotes.
+	 *
+	 * @param name  Attribute name
+	 * @param value New attribute value
+	 * @see Ini#save()
+	 */
+	void setAttribute(@NotNull String name, @NotNull String value);
+
+	/**
+	 * Remove a section attribute.
+	 *
+	 * @param name Attribute name
+	 * @return Return {@code true} if attribute existed
+	 */
+	boolean removeAttribute(@NotNull String name);
+
 	/**
 	 * Get all property names
 	 *
@@ -77,6 +114,25 @@ public interface ISection {
 	 */
 	String getProperty(@NotNull String name) throws PropertyNotFoundException;
 
+	/**
+	 * Insert or replace a property value. The value is saved like it is read:
+	 * plain text is quoted and Godot values ({@code 10}, {@code true}, {@code Vector2( 1, 2 )}, ...)
+	 * are written as they are.
+	 *
+	 * @param name  Target property name
+	 * @param value New property value
+	 * @see Ini#save()
+	 */
+	void setProperty(@NotNull String name, @NotNull String value);
+
+	/**
+	 * Remove a property.
+	 *
+	 * @param name Target property name
+	 * @return Return {@code true} if property existed
+	 */
+	boolean removeProperty(@NotNull String name);
+
 	/**
 	 * Get section property value or default if not exists.
 	 *
@@ -212,6 +268,25 @@ public interface ISection {
 	 */
 	long getLongPropertyOrDefault(@NotNull String name, long defValue);
 
+	/**
+	 * Get property value as a Godot value ({@code Vector2( 1, 2 )}, {@code [ 1, 2 ]}, {@code ExtResource( 3 )}, ...).
+	 *
+	 * @param name Target property name
+	 * @return Return parsed value. Plain text values are returned as strings.
+	 * @throws InvalidTypeValueException Error if property not exists
+	 * @see Variant#valueOf(String)
+	 */
+	@NotNull Variant getVariantProperty(@NotNull String name) throws InvalidTypeValueException;
+
+	/**
+	 * Get property value as a Godot value.
+	 *
+	 * @param name Target property name
+	 * @return Return parsed value or {@code null} if not exists
+	 * @see #getVariantProperty(String)
+	 */
+	@Nullable Variant getVariantPropertyOrNull(@NotNull String name);
+
 	/**
 	 * Get list property value.
 	 *
@@ -250,4 +325,46 @@ public interface ISection {
 	 */
 	@Nullable @UnmodifiableView List<String> getPropertyListOrNull(@NotNull String name);
 
+	/**
+	 * Get integer array property value ({@code PoolIntArray( 1, 2 )}, {@code PackedInt32Array( 1, 2 )},
+	 * {@code [ 1, 2 ]}). Elements are parsed directly, without creating an object per element.
+	 * A new array is returned on every call.
+	 *
+	 * @param name Target property name
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if property not exists or any element is not an integer number
+	 */
+	int @NotNull [] getIntArrayProperty(@NotNull String name) throws InvalidTypeValueException;
+
+	/**
+	 * Get float array property value ({@code PoolRealArray( 0.5, 1 )}, {@code PackedFloat32Array( 0.5, 1 )}).
+	 *
+	 * @param name Target property name
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if property not exists or any element is not a number
+	 * @see #getIntArrayProperty(String)
+	 */
+	float @NotNull [] getFloatArrayProperty(@NotNull String name) throws InvalidTypeValueException;
+
+	/**
+	 * Get double array property value.
+	 *
+	 * @param name Target property name
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if property not exists or any element is not a number
+	 * @see #getFloatArrayProperty(String)
+	 */
+	double @NotNull [] getDoubleArrayProperty(@NotNull String name) throws InvalidTypeValueException;
+
+	/**
+	 * Get byte array property value ({@code PoolByteArray( 0, 255 )}, {@code PackedByteArray( 0, 255 )}).
+	 *
+	 * @param name Target property name
+	 * @return Return a buffer with all bytes
+	 * @throws InvalidTypeValueException Error if property not exists or any element is not a number between
+	 *                                   {@code 0} and {@code 255}
+	 * @see #getIntArrayProperty(String)
+	 */
+	@NotNull ByteBuffer getByteArrayProperty(@NotNull String name) throws InvalidTypeValueException;
+
 }
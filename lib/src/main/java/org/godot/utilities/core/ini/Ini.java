@@ -1,15 +1,20 @@
 package org.godot.utilities.core.ini;
 
-import org.godot.utilities.core.ini.convertion.DataConvert;
+import org.godot.utilities.core.callback.IIniCallbacks;
 import org.godot.utilities.core.io.FileResource;
+import org.godot.utilities.utils.Arr;
 import org.godot.utilities.utils.ContentGD;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import javax.swing.event.EventListenerList;
 import java.io.*;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
 
 public class Ini {
 
@@ -31,9 +36,19 @@ public class Ini {
 	private ISection defaultSection = new SectionImpl("Default", null);
 
 	/**
-	 * All sections elements
+	 * All sections in file order. Every section knows its own position.
 	 */
-	private final Set<ISection> sectionSet = new HashSet<>();
+	private final ArrayList<SectionImpl> sectionList = new ArrayList<>();
+
+	/**
+	 * Read-only set view of {@link #sectionList}
+	 */
+	private final Set<ISection> sectionSetView = new SectionSetView();
+
+	/**
+	 * Sections grouped by name. Every list keeps the insertion order.
+	 */
+	private final Map<String, List<ISection>> sectionIndex = new HashMap<>();
 
 	/**
 	 * File resource
@@ -41,9 +56,44 @@ public class Ini {
 	private FileResource resource;
 
 	/**
-	 * Special storage used when file is reading.
+	 * Current load mode
+	 */
+	private LoadMode loadMode = LoadMode.STREAM;
+
+	/**
+	 * Names of the sections to read. It is {@code null} if all sections are read.
+	 */
+	private Set<String> sectionFilter;
+
+	/**
+	 * File state of the last read
+	 */
+	private FileFingerprint fingerprint;
+
+	/**
+	 * Content listeners
+	 */
+	private final EventListenerList listenerList = new EventListenerList();
+
+	/**
+	 * Last published snapshot. It is {@code null} if content changed after the last snapshot.
 	 */
-	private IniStorage bufferStorage;
+	private volatile IniSnapshot snapshot;
+
+	/**
+	 * Number of created snapshots
+	 */
+	private long snapshotVersion;
+
+	/**
+	 * Pool used to share parsed strings
+	 */
+	private volatile StringPool stringPool;
+
+	/**
+	 * Disk cache of parsed content
+	 */
+	private volatile IniCache cache = IniCache.getGlobal();
 
 	/* ------------------------------------------------------------------
 	 *
@@ -55,7 +105,7 @@ public class Ini {
 	 * Default constructor.
 	 */
 	public Ini() {
-		sectionSet.add(defaultSection);
+		addSection((SectionImpl) defaultSection);
 	}
 
 	/**
@@ -82,36 +132,302 @@ public class Ini {
 	 * @throws IOException Error if file not exists or is not valid
 	 */
 	public void loadFromPath(Path location) throws IOException {
-		// Check if file was initialized
-		if (initialized)
-			throw new IllegalStateException("Current object already initialized.");
+		checkNotInitialized();
 		// Load file
 		resource = new FileResource(location);
-		// Temporal storage configuration
-		bufferStorage = new IniStorage();
-		bufferStorage.section = (SectionImpl) defaultSection;
 		updateData();
-		bufferStorage = null;
 	}
 
 	/**
-	 * Update file content
+	 * Load data from a stream. The content must be UTF-8 text.
+	 * <p>
+	 * The content is parsed line by line without temporal files, so any source can be used
+	 * (zip entries, pck files, network, ...). The file extension is not checked and the stream is not closed.
+	 * Instances loaded without a file cannot be updated, saved or watched.
+	 *
+	 * @param stream Source stream
+	 * @throws IOException Error if stream cannot be read
+	 */
+	public void loadFromStream(@NotNull InputStream stream) throws IOException {
+		loadFromReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Load data from a reader. The reader is not closed.
 	 *
+	 * @param reader Source reader
+	 * @throws IOException Error if reader cannot be read
+	 * @see #loadFromStream(InputStream)
+	 */
+	public synchronized void loadFromReader(@NotNull Reader reader) throws IOException {
+		checkNotInitialized();
+		IniParser parser = new IniParser(
+			this, (SectionImpl) defaultSection, LoadMode.STREAM, stringPool, sectionFilter
+		);
+		BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		IniLines.readLines(lines, parser);
+		parser.finish();
+		initialized = true;
+	}
+
+	/**
+	 * Load data from UTF-8 bytes. Only the bytes between the buffer position and its limit are
+	 * read, and the buffer position does not change.
+	 * <p>
+	 * Bytes are tokenized directly like {@link LoadMode#MAPPED}. In {@link LoadMode#LAZY} and
+	 * {@link LoadMode#VIEW} modes the buffer is used later to parse sections or decode values, so its
+	 * content must not change.
+	 *
+	 * @param buffer Source buffer
+	 * @see #loadFromStream(InputStream)
+	 */
+	public synchronized void loadFromBuffer(@NotNull ByteBuffer buffer) {
+		checkNotInitialized();
+		IniParser parser = new IniParser(this, (SectionImpl) defaultSection, loadMode, stringPool, sectionFilter);
+		IniLines.readBytes(new Utf8CharSequence(buffer.slice()), parser);
+		parser.finish();
+		initialized = true;
+	}
+
+	/**
+	 * Load data from text. Lazy mode is not available for text.
+	 *
+	 * @param content Source text
+	 * @see #loadFromStream(InputStream)
+	 */
+	public synchronized void loadFromString(@NotNull CharSequence content) {
+		checkNotInitialized();
+		IniParser parser = new IniParser(
+			this, (SectionImpl) defaultSection, LoadMode.STREAM, stringPool, sectionFilter
+		);
+		// Skip BOM
+		IniLines.split(content, content.length() > 0 && content.charAt(0) == '\uFEFF' ? 1 : 0, parser);
+		parser.finish();
+		initialized = true;
+	}
+
+	/**
+	 * Update file content.
+	 * <p>
+	 * Nothing is read if file size and modification time did not change, so the method can be called
+	 * often. Otherwise, the file is parsed and its content hash is calculated in the same pass: nothing
+	 * changes if only the modification time changed, else only the sections that changed are replaced.
+	 * Existing {@link ISection} instances are kept and their content is updated, so all references stay valid.
+	 *
+	 * @return Return all changes. The result is empty if file did not change.
 	 * @throws IOException Error if file not exists or is not valid
 	 */
-	public void updateContent() throws IOException {
-		if (!initialized)
-			throw new IllegalStateException("Current is not initialized.");
-		// Set false state
-		initialized = false;
-		// Clear content
-		defaultSection = new SectionImpl("Default", null);
-		sectionSet.clear();
-		// Initialize buffer
-		bufferStorage = new IniStorage();
-		bufferStorage.section = (SectionImpl) defaultSection;
-		updateData();
-		bufferStorage = null;
+	public synchronized IniChanges updateContent() throws IOException {
+		checkResource();
+		checkFile();
+		// Check file state without reading it
+		FileFingerprint current = FileFingerprint.stat(resource.getResourcePath());
+		if (fingerprint != null && fingerprint.sameFile(current)) return new IniChanges();
+		// Parse new content in a temporal instance
+		Ini fresh = new Ini();
+		fresh.resource = resource;
+		fresh.loadMode = loadMode;
+		fresh.stringPool = stringPool;
+		fresh.cache = cache;
+		fresh.sectionFilter = sectionFilter;
+		FileFingerprint parsed = fresh.parseFile(sectionFilter == null ? current : null);
+		// Same content with other modification time
+		if (fingerprint != null && parsed != null && fingerprint.sameContent(parsed)) {
+			fingerprint = parsed;
+			return new IniChanges();
+		}
+		// Merge content
+		IniChanges changes = mergeFrom(fresh);
+		fingerprint = parsed;
+		// Publish new content at once
+		if (!changes.isEmpty() && snapshotVersion > 0) snapshot = createSnapshot();
+		return changes;
+	}
+
+	/**
+	 * Get an immutable copy of the current content.
+	 * <p>
+	 * Snapshots can be read from any thread without locks. The same snapshot is returned until the
+	 * content changes. When the file is reloaded a new snapshot is created and replaces the old one at
+	 * once, so readers see the old content or the new content, never a partial update.
+	 *
+	 * @return Return current snapshot
+	 */
+	public @NotNull IniSnapshot getSnapshot() {
+		IniSnapshot current = snapshot;
+		if (current != null) return current;
+		synchronized (this) {
+			if (snapshot == null) snapshot = createSnapshot();
+			return snapshot;
+		}
+	}
+
+	/**
+	 * Save all changes to the file.
+	 * <p>
+	 * Only changed lines are written: comments, blank lines and unchanged properties keep their
+	 * original format. New properties are added at the end of their section and new sections at
+	 * the end of the file. The file is replaced at once, so readers never see a partial file.
+	 *
+	 * @return Return {@code true} if file was written or {@code false} if nothing changed
+	 * @throws IOException Error if file cannot be written
+	 */
+	public synchronized boolean save() throws IOException {
+		checkResource();
+		checkComplete();
+		Path location = resource.getResourcePath();
+		boolean written = IniWriter.write(this, location, location);
+		// Saved content is already loaded
+		if (written) fingerprint = FileFingerprint.of(location);
+		return written;
+	}
+
+	/**
+	 * Save all content to other file. The current file is used as template.
+	 *
+	 * @param target Target file location
+	 * @throws IOException Error if file cannot be written
+	 * @see #save()
+	 */
+	public synchronized void save(@NotNull Path target) throws IOException {
+		checkResource();
+		checkComplete();
+		IniWriter.write(this, resource.getResourcePath(), target);
+	}
+
+	/**
+	 * Start watching the file. The content is updated automatically every time the file changes
+	 * and all content listeners are notified from the watcher thread.
+	 * <p>
+	 * The instance is referenced by the watcher until {@link #stopWatching()} is called.
+	 *
+	 * @throws IOException Error if file cannot be watched
+	 * @see IniWatcher
+	 */
+	public void startWatching() throws IOException {
+		checkResource();
+		IniWatcher.getInstance().register(this);
+	}
+
+	/**
+	 * Stop watching the file
+	 *
+	 * @throws IOException Error if watcher cannot be accessed
+	 */
+	public void stopWatching() throws IOException {
+		if (!initialized || resource == null) return;
+		IniWatcher.getInstance().unregister(this);
+	}
+
+	/**
+	 * Check if the file is watched
+	 *
+	 * @return Return {@code true} if file changes are loaded automatically
+	 * @throws IOException Error if watcher cannot be accessed
+	 */
+	public boolean isWatching() throws IOException {
+		return initialized && resource != null && IniWatcher.getInstance().isRegistered(this);
+	}
+
+	/**
+	 * Set content changed listener. Only called for watched files.
+	 *
+	 * @param callback Target callback
+	 * @see #startWatching()
+	 */
+	public void setOnContentChangedListener(IIniCallbacks.IIniContentChangedCallback callback) {
+		listenerList.add(IIniCallbacks.IIniContentChangedCallback.class, callback);
+	}
+
+	/**
+	 * Remove content changed listener
+	 *
+	 * @param callback Target callback
+	 */
+	public void removeOnContentChangedListener(IIniCallbacks.IIniContentChangedCallback callback) {
+		listenerList.remove(IIniCallbacks.IIniContentChangedCallback.class, callback);
+	}
+
+	/**
+	 * Get current load mode
+	 *
+	 * @return Return the mode used to read the file
+	 */
+	public LoadMode getLoadMode() {
+		return loadMode;
+	}
+
+	/**
+	 * Change the load mode. The new mode is used the next time the file is read.
+	 *
+	 * @param mode Target load mode
+	 */
+	public void setLoadMode(@NotNull LoadMode mode) {
+		loadMode = mode;
+	}
+
+	/**
+	 * Get names of the sections that are read
+	 *
+	 * @return Return requested section names or {@code null} if all sections are read
+	 */
+	@UnmodifiableView
+	public @Nullable Set<String> getSectionFilter() {
+		return sectionFilter;
+	}
+
+	/**
+	 * Read only some sections. The filter is used the next time the content is read.
+	 * <p>
+	 * Bodies of other sections are skipped without tokenization and reading stops at the first
+	 * section that was not requested once all the requested ones were found. The default section is
+	 * always read. The file is not hashed and the disk cache is not used, so big files are only read
+	 * until the last requested section. Partial content cannot be saved.
+	 *
+	 * @param names Names of the sections to read or {@code null} to read all sections
+	 */
+	public void setSectionFilter(@Nullable Collection<String> names) {
+		sectionFilter = names == null ? null : Collections.unmodifiableSet(new HashSet<>(names));
+	}
+
+	/**
+	 * Get current string pool
+	 *
+	 * @return Return the pool used to share parsed strings or {@code null} if strings are not shared
+	 */
+	public @Nullable StringPool getStringPool() {
+		return stringPool;
+	}
+
+	/**
+	 * Share parsed section names, keys, attribute names and short values with other instances.
+	 * The pool is used the next time the file (or a lazy section) is read.
+	 *
+	 * @param pool Target pool or {@code null} to disable it
+	 * @see StringPool#global()
+	 */
+	public void setStringPool(@Nullable StringPool pool) {
+		stringPool = pool;
+	}
+
+	/**
+	 * Get current disk cache
+	 *
+	 * @return Return the cache used to load the file or {@code null} if not exists
+	 */
+	public @Nullable IniCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Change the disk cache. Parsed content is saved in the cache and loaded from it while
+	 * the file does not change. Lazy and view modes never use the cache.
+	 * By default the value of {@link IniCache#getGlobal()} is used.
+	 *
+	 * @param c Target cache or {@code null} to always parse the file
+	 */
+	public void setCache(@Nullable IniCache c) {
+		cache = c;
 	}
 
 	/**
@@ -131,51 +447,129 @@ public class Ini {
 	 * @return Return {@code true} if section exists or {@code false} otherwise
 	 */
 	public boolean sectionExists(String name) {
-		return sectionSet.stream().anyMatch(el -> el.getSectionName().equals(name));
+		return sectionIndex.containsKey(name);
 	}
 
 	/**
 	 * Get section from name
 	 *
 	 * @param name Target section name
-	 * @return Returns a section instance with all information
+	 * @return Returns the first section with the given name or {@code null} if not exists
 	 */
 	public ISection getSection(String name) {
-		// Check if exists
-		if (!sectionExists(name))
-			return null;
-		// Get first coincidence
-		return sectionSet
-			.stream()
-			.filter(el -> el.getSectionName().equals(name))
-			.collect(Collectors.toList()).get(0);
+		List<ISection> sections = sectionIndex.get(name);
+		return sections == null ? null : sections.get(0);
 	}
 
 	/**
 	 * Get all sections with the same name
 	 *
 	 * @param name Target section name
-	 * @return Return a list with all sections
+	 * @return Return a list with all sections in insertion order or {@code null} if not exists
 	 */
+	@UnmodifiableView
 	public List<ISection> getSections(String name) {
-		// Check if exists
-		if (!sectionExists(name))
-			return null;
-		// Return all coincidences
-		return sectionSet
-			.stream()
-			.filter(el -> el.getSectionName().equals(name))
-			.collect(Collectors.toList());
+		List<ISection> sections = sectionIndex.get(name);
+		return sections == null ? null : Collections.unmodifiableList(sections);
+	}
+
+	/**
+	 * Get property value from a compiled path. The lookup uses the current snapshot and its cached values.
+	 *
+	 * @param path Target property path
+	 * @return Return property value or {@code null} if section or property not exists
+	 * @see #getSnapshot()
+	 */
+	public @Nullable String getProperty(@NotNull IniPath path) {
+		return getSnapshot().getProperty(path);
+	}
+
+	/**
+	 * Get property value from a compiled path or default if not exists
+	 *
+	 * @param path   Target property path
+	 * @param defVal Default value if property not exists
+	 * @return Return property value or {@code defVal} if section or property not exists
+	 */
+	public @Nullable String getProperty(@NotNull IniPath path, @Nullable String defVal) {
+		return getSnapshot().getProperty(path, defVal);
+	}
+
+	/**
+	 * Get section from its position in the file
+	 *
+	 * @param index Section position. The default section is always the first one.
+	 * @return Return the section at the given position
+	 * @throws IndexOutOfBoundsException Error if position is not valid
+	 */
+	public @NotNull ISection getSection(int index) {
+		return sectionList.get(index);
+	}
+
+	/**
+	 * Get number of sections
+	 *
+	 * @return Return number of sections (default section included)
+	 */
+	public int getSectionCount() {
+		return sectionList.size();
+	}
+
+	/**
+	 * Get section position in the file
+	 *
+	 * @param section Target section
+	 * @return Return section position or {@code -1} if section is not part of this ini
+	 */
+	public int indexOf(@Nullable ISection section) {
+		return section instanceof SectionImpl && ((SectionImpl) section).owner == this ?
+			((SectionImpl) section).position : -1;
+	}
+
+	/**
+	 * Create a new section. Sections with the same name are allowed.
+	 *
+	 * @param name Section name
+	 * @return Return the new section
+	 */
+	public @NotNull ISection addSection(@NotNull String name) {
+		SectionImpl section = new SectionImpl(name, defaultSection);
+		addSection(section);
+		snapshotChanged();
+		return section;
+	}
+
+	/**
+	 * Remove a section. The default section cannot be removed.
+	 *
+	 * @param section Target section
+	 * @return Return {@code true} if section was removed
+	 */
+	public boolean removeSection(@NotNull ISection section) {
+		if (section == defaultSection || indexOf(section) == -1) return false;
+		removeSection((SectionImpl) section);
+		snapshotChanged();
+		return true;
 	}
 
 	/**
 	 * Get all sections
 	 *
-	 * @return Get a set with all sections
+	 * @return Get a set with all sections in file order
 	 */
 	@UnmodifiableView
 	public Set<ISection> getAllSections() {
-		return Collections.unmodifiableSet(sectionSet);
+		return sectionSetView;
+	}
+
+	/**
+	 * Get all sections with their positions
+	 *
+	 * @return Return a list with all sections in file order
+	 */
+	@UnmodifiableView
+	public @NotNull List<ISection> getSectionList() {
+		return Collections.unmodifiableList(sectionList);
 	}
 
 	/**
@@ -195,7 +589,7 @@ public class Ini {
 	@Override
 	public String toString() {
 		return "Ini{" +
-			"sections=" + sectionSet +
+			"sections=" + sectionList +
 			'}';
 	}
 
@@ -205,6 +599,32 @@ public class Ini {
 	 *
 	 * ------------------------------------------------------------------ */
 
+	/**
+	 * Check that content was not loaded yet
+	 */
+	private void checkNotInitialized() {
+		if (initialized)
+			throw new IllegalStateException("Current object already initialized.");
+	}
+
+	/**
+	 * Check that content was loaded from a file
+	 */
+	private void checkResource() {
+		if (!initialized)
+			throw new IllegalStateException("Current is not initialized.");
+		if (resource == null)
+			throw new IllegalStateException("Current content was not loaded from a file.");
+	}
+
+	/**
+	 * Check that all sections were read
+	 */
+	private void checkComplete() {
+		if (sectionFilter != null)
+			throw new IllegalStateException("Current content was partially loaded.");
+	}
+
 	/**
 	 * Check if file extension is valid
 	 *
@@ -217,107 +637,210 @@ public class Ini {
 	}
 
 	/**
-	 * Update all ini data
+	 * Check if file exists and is valid
 	 *
 	 * @throws IOException Error if file not exists or file is not valid
 	 */
-	private synchronized void updateData() throws IOException {
+	private void checkFile() throws IOException {
 		// Check if exists
 		if (!resource.exists())
 			throw new FileNotFoundException(String.format("File location \"%s\" not exists", resource));
 		// Check extensions
 		checkExtension();
-		// Update information
-		InputStream fStream = Files.newInputStream(resource.getResourcePath());
-		BufferedReader reader = new BufferedReader(new InputStreamReader(fStream));
-		// Iterate all lines
-		while ((bufferStorage.line = reader.readLine()) != null) {
-			// Check old buffer
-			checkOldBuffer();
-			// Ignore empty and comment lines
-			if (SectionImpl.isLineComment(bufferStorage.line))
-				continue;
-			// Check if current line is a section
-			if (SectionImpl.isValidSection(bufferStorage.line)) {
-				// Create new section
-				createNewSection(bufferStorage.line);
-				continue;
+	}
+
+	/**
+	 * Update all ini data
+	 *
+	 * @throws IOException Error if file not exists or file is not valid
+	 */
+	private synchronized void updateData() throws IOException {
+		checkFile();
+		// Partial reads do not hash the file. The next update always parses it.
+		if (sectionFilter != null) {
+			fingerprint = null;
+			parseFile(null);
+			return;
+		}
+		// Read before parse, so any later change is detected by the next update
+		fingerprint = parseFile(FileFingerprint.stat(resource.getResourcePath()));
+	}
+
+	/**
+	 * Parse all file content. Cached content is used if file did not change.
+	 * The content hash is calculated while the file is parsed.
+	 *
+	 * @param state File size and modification time before parse or {@code null} to skip the cache and the hash
+	 * @return Return the complete file state or {@code null} if {@code state} is {@code null}
+	 * @throws IOException Error if file cannot be read
+	 */
+	private @Nullable FileFingerprint parseFile(@Nullable FileFingerprint state) throws IOException {
+		Path location = resource.getResourcePath();
+		boolean cacheable = loadMode != LoadMode.LAZY && loadMode != LoadMode.VIEW;
+		IniCache currentCache = cacheable && state != null ? cache : null;
+		if (currentCache != null) {
+			FileFingerprint cached = currentCache.read(location, state, this, stringPool);
+			if (cached != null) {
+				initialized = true;
+				return cached;
 			}
-			// Check if current line is a property
-			if (SectionImpl.isValidProperty(bufferStorage.line)) {
-				// Create new property
-				createNewProperty(bufferStorage.line);
-				continue;
+		}
+		IniParser parser = new IniParser(
+			this, (SectionImpl) defaultSection, loadMode, stringPool, sectionFilter
+		);
+		CRC32C crc = state == null ? null : new CRC32C();
+		IniLines.read(location, loadMode, parser, crc);
+		parser.finish();
+		initialized = true;
+		if (state == null) return null;
+		FileFingerprint parsed = state.withHash(crc.getValue());
+		if (currentCache != null) currentCache.write(location, parsed, this);
+		return parsed;
+	}
+
+	/**
+	 * Merge the content of other instance. Sections are matched by name and position.
+	 *
+	 * @param fresh Instance with new content
+	 * @return Return all changes
+	 */
+	private @NotNull IniChanges mergeFrom(@NotNull Ini fresh) {
+		IniChanges changes = new IniChanges();
+		// Modified and removed sections
+		for (String name : new ArrayList<>(sectionIndex.keySet())) {
+			List<ISection> current = new ArrayList<>(sectionIndex.get(name));
+			List<ISection> updated = fresh.sectionIndex.getOrDefault(name, Collections.emptyList());
+			for (int i = 0; i < current.size(); i++) {
+				SectionImpl section = (SectionImpl) current.get(i);
+				if (i >= updated.size()) {
+					removeSection(section);
+					changes.sectionRemoved(section);
+					continue;
+				}
+				Set<String> changed = section.updateFrom((SectionImpl) updated.get(i));
+				if (changed != null) changes.sectionModified(section, changed);
 			}
-			// Add extra data
-			if (bufferStorage.buffer == null) {
-				bufferStorage.buffer = new StringBuilder(bufferStorage.line);
+		}
+		// New sections
+		for (Map.Entry<String, List<ISection>> entry : fresh.sectionIndex.entrySet()) {
+			List<ISection> current = sectionIndex.get(entry.getKey());
+			int known = current == null ? 0 : current.size();
+			List<ISection> updated = entry.getValue();
+			for (int i = known; i < updated.size(); i++) {
+				SectionImpl section = (SectionImpl) updated.get(i);
+				section.setDefaultSection(defaultSection);
+				addSection(section);
+				changes.sectionAdded(section);
 			}
 		}
-		// Check if exists any orphan information
-		checkOldBuffer();
-		// Dispose all resources
-		reader.close();
-		fStream.close();
-		initialized = true;
+		// Use the order of the new content
+		if (restoreOrder(fresh)) snapshotChanged();
+		return changes;
 	}
 
 	/**
-	 * Check temporal buffers.
+	 * Sort sections like other instance with the same sections. Sections are matched by name and position.
+	 *
+	 * @param source Instance with the target order
+	 * @return Return {@code true} if any section was moved
 	 */
-	private void checkOldBuffer() {
-		// Check if exists any buffer and check if property exists
-		if (bufferStorage.buffer == null) return;
-		if (!bufferStorage.section.properties.containsKey(bufferStorage.lastProperty)) return;
+	private boolean restoreOrder(@NotNull Ini source) {
+		Map<String, Integer> occurrences = new HashMap<>();
+		boolean moved = false;
+		for (int i = 0; i < source.sectionList.size(); i++) {
+			String name = source.sectionList.get(i).getSectionName();
+			int occurrence = occurrences.merge(name, 1, Integer::sum) - 1;
+			SectionImpl section = (SectionImpl) sectionIndex.get(name).get(occurrence);
+			if (sectionList.get(i) == section) continue;
+			sectionList.set(i, section);
+			section.position = i;
+			moved = true;
+		}
+		return moved;
+	}
 
-		// Insert last buffer to last known location
-		String lastVal = bufferStorage.section.properties.get(bufferStorage.lastProperty).trim();
-		String bufferVal = bufferStorage.buffer.toString().trim();
-		// Replace information
-		bufferStorage.section.properties.put(
-			bufferStorage.lastProperty,
-			DataConvert.cleanString((lastVal + " " + bufferVal).trim())
-		);
-		// Clean buffer
-		bufferStorage.buffer = null;
+	/**
+	 * Create a snapshot of the current content. Unchanged sections reuse their last copy.
+	 *
+	 * @return Return new snapshot
+	 */
+	private @NotNull IniSnapshot createSnapshot() {
+		SectionImpl defaultCopy = ((SectionImpl) defaultSection).freeze(null);
+		List<SectionImpl> copies = new ArrayList<>(sectionList.size());
+		for (SectionImpl section : sectionList)
+			copies.add(section == defaultSection ? defaultCopy : section.freeze(defaultCopy));
+		return new IniSnapshot(++snapshotVersion, defaultCopy, copies);
 	}
 
 	/**
-	 * Create new section from line
+	 * Discard the current snapshot. A new one is created the next time it is requested.
+	 */
+	void snapshotChanged() {
+		snapshot = null;
+	}
+
+	/**
+	 * Get file location
 	 *
-	 * @param line Target line
+	 * @return Return file path
 	 */
-	private void createNewSection(String line) {
-		// Storage config
-		String sectionName = SectionImpl.getSectionName(line);
-		Map<String, String> attrs = SectionImpl.getSectionAttributes(line);
-		// Check section name is valid
-		if (sectionName == null) return;
-		SectionImpl section = new SectionImpl(sectionName, defaultSection);
-		// Configure section
-		if (attrs != null)
-			section.attributes.putAll(attrs);
-		// Insert to list
-		sectionSet.add(section);
-		bufferStorage.section = section;
+	@NotNull Path getPath() {
+		return resource.getResourcePath();
 	}
 
 	/**
-	 * Generate new section.
+	 * Notify all content listeners
 	 *
-	 * @param line Current line
+	 * @param changes Loaded changes
 	 */
-	private void createNewProperty(String line) {
-		// Storage elements
-		Map.Entry<String, String> property = SectionImpl.getPropertyEntry(line);
-		// Check if property is valid
-		if (property == null) return;
-		// Clean property
-		String key = DataConvert.cleanString(property.getKey());
-		String value = DataConvert.cleanString(property.getValue());
-		// Insert property
-		bufferStorage.section.properties.put(key, value);
-		bufferStorage.lastProperty = key;
+	void fireContentChanged(@NotNull IniChanges changes) {
+		IIniCallbacks.IIniContentChangedCallback[] callbacks = listenerList
+			.getListeners(IIniCallbacks.IIniContentChangedCallback.class);
+		Arr.foreach(callbacks, item -> item.onContentChanged(this, changes));
+	}
+
+	/**
+	 * Unregister a section
+	 *
+	 * @param section Target section
+	 */
+	private void removeSection(@NotNull SectionImpl section) {
+		sectionList.remove(section.position);
+		for (int i = section.position; i < sectionList.size(); i++) sectionList.get(i).position = i;
+		List<ISection> sections = sectionIndex.get(section.getSectionName());
+		if (sections != null && sections.remove(section) && sections.isEmpty())
+			sectionIndex.remove(section.getSectionName());
+		section.owner = null;
+		section.position = -1;
+	}
+
+	/**
+	 * Register a new section
+	 *
+	 * @param section Target section
+	 */
+	void addSection(@NotNull SectionImpl section) {
+		section.owner = this;
+		section.position = sectionList.size();
+		sectionList.add(section);
+		sectionIndex.computeIfAbsent(section.getSectionName(), k -> new ArrayList<>(1)).add(section);
+	}
+
+	/**
+	 * Update section index when a section changes its name
+	 *
+	 * @param section Target section
+	 * @param oldName Previous section name
+	 */
+	void sectionRenamed(@NotNull SectionImpl section, @NotNull String oldName) {
+		List<ISection> sections = sectionIndex.get(oldName);
+		if (sections == null || !sections.remove(section)) return;
+		if (sections.isEmpty()) sectionIndex.remove(oldName);
+		// Keep file order in the new group
+		List<ISection> group = sectionIndex.computeIfAbsent(section.getSectionName(), k -> new ArrayList<>(1));
+		int index = group.size();
+		while (index > 0 && ((SectionImpl) group.get(index - 1)).position > section.position) index--;
+		group.add(index, section);
 	}
 
 	/* ------------------------------------------------------------------
@@ -327,29 +850,75 @@ public class Ini {
 	 * ------------------------------------------------------------------ */
 
 	/**
-	 * Internal class used like buffer
+	 * Read-only set view of all sections in file order
+	 */
+	private final class SectionSetView extends AbstractSet<ISection> {
+
+		/**
+		 * Get sections iterator
+		 *
+		 * @return Return a read-only iterator in file order
+		 */
+		@Override
+		public @NotNull Iterator<ISection> iterator() {
+			return Collections.<ISection>unmodifiableList(sectionList).iterator();
+		}
+
+		/**
+		 * Get number of sections
+		 *
+		 * @return Return number of sections
+		 */
+		@Override
+		public int size() {
+			return sectionList.size();
+		}
+
+		/**
+		 * Check if section exists. It does not iterate over sections.
+		 *
+		 * @param o Target section
+		 * @return Return {@code true} if section is part of this ini
+		 */
+		@Override
+		public boolean contains(Object o) {
+			return o instanceof ISection && indexOf((ISection) o) != -1;
+		}
+
+	}
+
+	/**
+	 * All the ways to read a file
 	 */
-	private static class IniStorage {
+	public enum LoadMode {
 
 		/**
-		 * Current file section
+		 * Read the file line by line with a buffered reader and the platform charset
 		 */
-		volatile public SectionImpl section;
+		STREAM,
 
 		/**
-		 * Current file line
+		 * Map the file into memory and tokenize UTF-8 bytes directly.
+		 * Recommended for big scene and resource files.
 		 */
-		volatile public String line;
+		MAPPED,
 
 		/**
-		 * Buffer with old data
+		 * Read the file into memory and read only section headers and their offsets.
+		 * Section properties are parsed the first time the section is used, from a private copy
+		 * of the file, so later changes of the file are only seen after {@link #updateContent()}.
+		 * Recommended for big resource files with embedded binary data.
 		 */
-		volatile public StringBuilder buffer;
+		LAZY,
 
 		/**
-		 * Last section property
+		 * Read the file into memory and keep property values as views over its bytes.
+		 * Values are decoded to strings the first time they are requested, and typed getters
+		 * parse the bytes directly. Views use a private copy of the file, so loaded values and
+		 * snapshots never change when the file is rewritten.
+		 * Recommended for big files where only a few values are read.
 		 */
-		volatile public String lastProperty;
+		VIEW
 
 	}
 
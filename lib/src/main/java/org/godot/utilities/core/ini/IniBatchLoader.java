@@ -0,0 +1,473 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Load many ini files in parallel.
+ * <p>
+ * Files are parsed in the given executor ({@link ForkJoinPool#commonPool()} by default) and only a limited
+ * number of files are read at the same time. Worker threads are never blocked: every worker takes the next
+ * file when its previous one finishes. Every file has its own result, so one invalid file never stops the batch.
+ */
+public final class IniBatchLoader {
+
+	/**
+	 * Default number of files read at the same time
+	 */
+	public static final int DEFAULT_MAX_CONCURRENT_READS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Executor used to parse files
+	 */
+	private final Executor executor;
+
+	/**
+	 * Max number of files read at the same time
+	 */
+	private final int maxConcurrentReads;
+
+	/**
+	 * Load mode of new ini instances
+	 */
+	private volatile Ini.LoadMode loadMode = Ini.LoadMode.STREAM;
+
+	/**
+	 * String pool of new ini instances
+	 */
+	private volatile StringPool stringPool;
+
+	/**
+	 * Section filter of new ini instances
+	 */
+	private volatile Set<String> sectionFilter;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Default constructor. Files are parsed in the common pool.
+	 */
+	public IniBatchLoader() {
+		this(ForkJoinPool.commonPool(), DEFAULT_MAX_CONCURRENT_READS);
+	}
+
+	/**
+	 * Constructor with custom executor
+	 *
+	 * @param e Executor used to parse files
+	 * @param m Max number of files read at the same time
+	 */
+	public IniBatchLoader(@NotNull Executor e, int m) {
+		if (m < 1)
+			throw new IllegalArgumentException(String.format("Invalid concurrent reads \"%d\".", m));
+		executor = e;
+		maxConcurrentReads = m;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Get current load mode
+	 *
+	 * @return Return the mode used by {@link #loadPaths(Collection)}
+	 */
+	public Ini.LoadMode getLoadMode() {
+		return loadMode;
+	}
+
+	/**
+	 * Change the load mode used by {@link #loadPaths(Collection)}
+	 *
+	 * @param mode Target load mode
+	 */
+	public void setLoadMode(@NotNull Ini.LoadMode mode) {
+		loadMode = mode;
+	}
+
+	/**
+	 * Get string pool used by {@link #loadPaths(Collection)}
+	 *
+	 * @return Return current pool or {@code null} if strings are not shared
+	 */
+	public @Nullable StringPool getStringPool() {
+		return stringPool;
+	}
+
+	/**
+	 * Share parsed strings of all files loaded by {@link #loadPaths(Collection)}
+	 *
+	 * @param pool Target pool or {@code null} to disable it
+	 * @see Ini#setStringPool(StringPool)
+	 */
+	public void setStringPool(@Nullable StringPool pool) {
+		stringPool = pool;
+	}
+
+	/**
+	 * Get names of the sections read by {@link #loadPaths(Collection)}
+	 *
+	 * @return Return requested section names or {@code null} if all sections are read
+	 */
+	@UnmodifiableView
+	public @Nullable Set<String> getSectionFilter() {
+		return sectionFilter;
+	}
+
+	/**
+	 * Read only some sections of the files loaded by {@link #loadPaths(Collection)}
+	 *
+	 * @param names Names of the sections to read or {@code null} to read all sections
+	 * @see Ini#setSectionFilter(Collection)
+	 */
+	public void setSectionFilter(@Nullable Collection<String> names) {
+		sectionFilter = names == null ? null : Collections.unmodifiableSet(new HashSet<>(names));
+	}
+
+	/**
+	 * Get max number of files read at the same time
+	 *
+	 * @return Return concurrent reads limit
+	 */
+	public int getMaxConcurrentReads() {
+		return maxConcurrentReads;
+	}
+
+	/**
+	 * Load all files
+	 *
+	 * @param locations Target file locations
+	 * @return Return a future with all results in the same order as {@code locations}
+	 */
+	public @NotNull CompletableFuture<List<Result<Path>>> loadPaths(@NotNull Collection<? extends Path> locations) {
+		Ini.LoadMode mode = loadMode;
+		StringPool pool = stringPool;
+		Set<String> filter = sectionFilter;
+		return load(locations, location -> {
+			Ini ini = new Ini();
+			ini.setLoadMode(mode);
+			ini.setStringPool(pool);
+			ini.setSectionFilter(filter);
+			ini.loadFromPath(location);
+			return ini;
+		}, null);
+	}
+
+	/**
+	 * Load all sources
+	 *
+	 * @param sources Target sources
+	 * @param loader  Function used to load a single source
+	 * @param <T>     Source type
+	 * @return Return a future with all results in the same order as {@code sources}
+	 */
+	public <T> @NotNull CompletableFuture<List<Result<T>>> load(@NotNull Collection<? extends T> sources,
+		@NotNull ISourceLoader<T> loader) {
+		return load(sources, loader, null);
+	}
+
+	/**
+	 * Load all sources. Every result is also notified as soon as its file finishes, so big
+	 * batches can be processed while the rest of files are loading.
+	 *
+	 * @param sources  Target sources
+	 * @param loader   Function used to load a single source
+	 * @param onResult Function called from worker threads with every result. It can be {@code null}.
+	 * @param <T>      Source type
+	 * @return Return a future with all results in the same order as {@code sources}.
+	 * If future is cancelled no more files are loaded.
+	 */
+	public <T> @NotNull CompletableFuture<List<Result<T>>> load(@NotNull Collection<? extends T> sources,
+		@NotNull ISourceLoader<T> loader, @Nullable Consumer<Result<T>> onResult) {
+		Batch<T> batch = new Batch<>(new ArrayList<>(sources), loader, onResult);
+		batch.start();
+		return batch.future;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Extra classes
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Function used to load a single source
+	 *
+	 * @param <T> Source type
+	 */
+	@FunctionalInterface
+	public interface ISourceLoader<T> {
+
+		/**
+		 * Load source content
+		 *
+		 * @param source Target source
+		 * @return Return loaded ini
+		 * @throws IOException Error if source cannot be read
+		 */
+		@NotNull Ini load(@NotNull T source) throws IOException;
+
+	}
+
+	/**
+	 * Result of a single source
+	 *
+	 * @param <T> Source type
+	 */
+	public static final class Result<T> {
+
+		/**
+		 * Source element
+		 */
+		private final T source;
+
+		/**
+		 * Loaded ini
+		 */
+		private final Ini ini;
+
+		/**
+		 * Load error
+		 */
+		private final Exception error;
+
+		/**
+		 * Result constructor
+		 *
+		 * @param s Source element
+		 * @param i Loaded ini or {@code null} if source failed
+		 * @param e Load error or {@code null} if source was loaded
+		 */
+		Result(@NotNull T s, @Nullable Ini i, @Nullable Exception e) {
+			source = s;
+			ini = i;
+			error = e;
+		}
+
+		/**
+		 * Get source element
+		 *
+		 * @return Return source element
+		 */
+		@Contract(pure = true)
+		public @NotNull T getSource() {
+			return source;
+		}
+
+		/**
+		 * Get loaded ini
+		 *
+		 * @return Return loaded ini or {@code null} if source failed
+		 */
+		@Contract(pure = true)
+		public @Nullable Ini getIni() {
+			return ini;
+		}
+
+		/**
+		 * Get load error
+		 *
+		 * @return Return the error or {@code null} if source was loaded
+		 */
+		@Contract(pure = true)
+		public @Nullable Exception getError() {
+			return error;
+		}
+
+		/**
+		 * Check if source was loaded
+		 *
+		 * @return Return {@code true} if source was loaded
+		 */
+		@Contract(pure = true)
+		public boolean isSuccessful() {
+			return error == null;
+		}
+
+		/**
+		 * Object string representation
+		 *
+		 * @return Object string representation
+		 */
+		@Override
+		public String toString() {
+			return "Result{" +
+				"source=" + source +
+				", error=" + error +
+				'}';
+		}
+
+	}
+
+	/**
+	 * State of a single batch
+	 *
+	 * @param <T> Source type
+	 */
+	private final class Batch<T> {
+
+		/**
+		 * All sources
+		 */
+		private final List<T> sources;
+
+		/**
+		 * Source loader
+		 */
+		private final ISourceLoader<T> loader;
+
+		/**
+		 * Result listener
+		 */
+		private final Consumer<Result<T>> onResult;
+
+		/**
+		 * Results in source order
+		 */
+		private final AtomicReferenceArray<Result<T>> results;
+
+		/**
+		 * Next source index
+		 */
+		private final AtomicInteger next = new AtomicInteger();
+
+		/**
+		 * Number of sources that are not finished
+		 */
+		private final AtomicInteger remaining;
+
+		/**
+		 * Batch result
+		 */
+		private final CompletableFuture<List<Result<T>>> future = new CompletableFuture<>();
+
+		/**
+		 * Batch constructor
+		 *
+		 * @param s All sources
+		 * @param l Source loader
+		 * @param r Result listener
+		 */
+		Batch(@NotNull List<T> s, @NotNull ISourceLoader<T> l, @Nullable Consumer<Result<T>> r) {
+			sources = s;
+			loader = l;
+			onResult = r;
+			results = new AtomicReferenceArray<>(s.size());
+			remaining = new AtomicInteger(s.size());
+		}
+
+		/**
+		 * Submit one worker per concurrent read. A rejected submission is reported as the error of
+		 * the source it was claimed for, and the next source is tried.
+		 */
+		void start() {
+			if (sources.isEmpty()) {
+				future.complete(Collections.emptyList());
+				return;
+			}
+			int workers = 0;
+			while (workers < maxConcurrentReads) {
+				int index = claimNext();
+				if (index == -1) return;
+				try {
+					executor.execute(() -> drain(index));
+					workers++;
+				} catch (RejectedExecutionException e) {
+					finish(index, new Result<>(sources.get(index), null, e));
+				}
+			}
+		}
+
+		/**
+		 * Claim next pending source
+		 *
+		 * @return Return source index or {@code -1} if there are no more sources or batch was cancelled
+		 */
+		private int claimNext() {
+			if (future.isDone()) return -1;
+			int index = next.getAndIncrement();
+			return index < sources.size() ? index : -1;
+		}
+
+		/**
+		 * Worker loop. Sources are loaded one after another until no source is pending, so
+		 * executors that run tasks in the caller thread never nest calls.
+		 *
+		 * @param first First source index
+		 */
+		private void drain(int first) {
+			for (int index = first; index != -1; index = claimNext()) run(index);
+		}
+
+		/**
+		 * Load a single source
+		 *
+		 * @param index Source index
+		 */
+		private void run(int index) {
+			T source = sources.get(index);
+			Result<T> result;
+			try {
+				result = new Result<>(source, loader.load(source), null);
+			} catch (IOException | RuntimeException e) {
+				result = new Result<>(source, null, e);
+			} catch (Error e) {
+				future.completeExceptionally(e);
+				throw e;
+			}
+			finish(index, result);
+		}
+
+		/**
+		 * Save a result
+		 *
+		 * @param index  Source index
+		 * @param result Source result
+		 */
+		private void finish(int index, @NotNull Result<T> result) {
+			results.set(index, result);
+			if (onResult != null) {
+				try {
+					onResult.accept(result);
+				} catch (RuntimeException e) {
+					e.printStackTrace();
+				}
+			}
+			if (remaining.decrementAndGet() == 0) future.complete(collect());
+		}
+
+		/**
+		 * Get all results
+		 *
+		 * @return Return all results in source order
+		 */
+		@UnmodifiableView
+		private @NotNull List<Result<T>> collect() {
+			List<Result<T>> list = new ArrayList<>(results.length());
+			for (int i = 0; i < results.length(); i++) list.add(results.get(i));
+			return Collections.unmodifiableList(list);
+		}
+
+	}
+
+}
@@ -0,0 +1,636 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Disk cache of parsed ini files.
+ * <p>
+ * Every entry stores all sections of a file in a compact binary format. Repeated strings (keys,
+ * attribute names, section names, ...) are written only once per entry. An entry is used only if the
+ * file path, size, modification time and content hash are the same, otherwise the file is parsed again
+ * and the entry is replaced. When the total size is bigger than the limit, the entries not used for
+ * the longest time are removed.
+ *
+ * @see Ini#setCache(IniCache)
+ */
+public final class IniCache {
+
+	/**
+	 * Default max cache size (64 MiB)
+	 */
+	public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+	/**
+	 * Entry file extension
+	 */
+	private static final String ENTRY_EXTENSION = ".bin";
+
+	/**
+	 * Entry header
+	 */
+	private static final int MAGIC = 0x47444943;
+
+	/**
+	 * Entry format version. Entries with other version are ignored.
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * Strings longer than this are not added to the string table
+	 */
+	private static final int MAX_TABLE_STRING = 64;
+
+	/**
+	 * IO buffer size
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Cache used by all new ini instances
+	 */
+	private static volatile IniCache globalCache;
+
+	/**
+	 * Cache directory
+	 */
+	private final Path directory;
+
+	/**
+	 * Max total size in bytes
+	 */
+	private final long maxSize;
+
+	/**
+	 * Size of every entry in use order (least recently used first). The directory is read only once,
+	 * when the cache is created.
+	 */
+	private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Total size of all entries in bytes
+	 */
+	private long totalSize;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Cache constructor with default size limit
+	 *
+	 * @param d Cache directory. It is created if not exists.
+	 * @throws IOException Error if directory cannot be created
+	 */
+	public IniCache(@NotNull Path d) throws IOException {
+		this(d, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Cache constructor
+	 *
+	 * @param d Cache directory. It is created if not exists.
+	 * @param m Max total size in bytes
+	 * @throws IOException Error if directory cannot be created
+	 */
+	public IniCache(@NotNull Path d, long m) throws IOException {
+		if (m < 0)
+			throw new IllegalArgumentException(String.format("Invalid cache size \"%d\".", m));
+		directory = Files.createDirectories(d);
+		maxSize = m;
+		// Existing entries in use order
+		List<Entry> existing = listEntries();
+		existing.sort(Comparator.comparingLong(entry -> entry.lastUsed));
+		for (Entry entry : existing) {
+			entries.put(entry.location, entry.size);
+			totalSize += entry.size;
+		}
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Get the cache used by all new ini instances
+	 *
+	 * @return Return global cache or {@code null} if not exists
+	 */
+	public static @Nullable IniCache getGlobal() {
+		return globalCache;
+	}
+
+	/**
+	 * Change the cache used by all new ini instances. Useful to cache files loaded
+	 * internally, like project configurations.
+	 *
+	 * @param cache Target cache or {@code null} to disable it
+	 */
+	public static void setGlobal(@Nullable IniCache cache) {
+		globalCache = cache;
+	}
+
+	/**
+	 * Get cache directory
+	 *
+	 * @return Return cache directory
+	 */
+	@Contract(pure = true)
+	public @NotNull Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Get max total size
+	 *
+	 * @return Return max size in bytes
+	 */
+	@Contract(pure = true)
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Get current total size. Entries written by other processes after this cache was created are not included.
+	 *
+	 * @return Return the size of all entries in bytes
+	 */
+	public synchronized long getSize() {
+		return totalSize;
+	}
+
+	/**
+	 * Remove all entries
+	 *
+	 * @throws IOException Error if directory cannot be read
+	 */
+	public synchronized void clear() throws IOException {
+		for (Entry entry : listEntries()) Files.deleteIfExists(entry.location);
+		entries.clear();
+		totalSize = 0;
+	}
+
+	/**
+	 * Load cached content of a file.
+	 * Damaged or old entries are removed.
+	 *
+	 * @param location File location
+	 * @param state    Current file size and modification time
+	 * @param target   Target ini. It is only modified if the entry is valid.
+	 * @param pool     String pool or {@code null} to keep all strings
+	 * @return Return the complete file state if content was loaded from cache or {@code null} otherwise
+	 */
+	@Nullable FileFingerprint read(@NotNull Path location, @NotNull FileFingerprint state, @NotNull Ini target,
+		@Nullable StringPool pool) {
+		String key = keyOf(location);
+		Path entry = entryPath(key);
+		if (!Files.exists(entry)) return null;
+		FileFingerprint complete;
+		List<SectionImpl> sections;
+		// Entries are read at once
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(entry)))) {
+			// Header. The file is hashed only if size and modification time are the same.
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !key.equals(readRaw(in)) ||
+				in.readLong() != state.size || in.readLong() != state.modifiedTime) {
+				removeEntry(entry);
+				return null;
+			}
+			complete = state.withHash(FileFingerprint.hash(location));
+			if (in.readLong() != complete.hash) {
+				removeEntry(entry);
+				return null;
+			}
+			sections = readSections(in, pool);
+		} catch (IOException | RuntimeException e) {
+			// Damaged entry
+			removeEntry(entry);
+			return null;
+		}
+		// Recently used entries are removed last
+		entryUsed(entry);
+		try {
+			Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException ignored) {
+			// Only affects eviction order
+		}
+		// Fill target
+		SectionImpl defaultSection = (SectionImpl) target.getDefaultSection();
+		defaultSection.properties.putAll(sections.get(0).properties);
+		for (SectionImpl section : sections.subList(1, sections.size())) {
+			section.setDefaultSection(defaultSection);
+			target.addSection(section);
+		}
+		return complete;
+	}
+
+	/**
+	 * Save parsed content of a file. Errors are ignored because the cache is optional.
+	 *
+	 * @param location File location
+	 * @param state    Complete file state used to parse the content
+	 * @param source   Parsed ini
+	 */
+	void write(@NotNull Path location, @NotNull FileFingerprint state, @NotNull Ini source) {
+		String key = keyOf(location);
+		Path entry = entryPath(key);
+		Path temp = null;
+		long size;
+		try {
+			temp = Files.createTempFile(directory, entry.getFileName().toString(), ".tmp");
+			try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				writeRaw(out, key);
+				out.writeLong(state.size);
+				out.writeLong(state.modifiedTime);
+				out.writeLong(state.hash);
+				writeSections(out, source);
+				size = out.size();
+			}
+			try {
+				Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+			}
+			entryWritten(entry, size);
+		} catch (IOException | RuntimeException ignored) {
+			// Content is parsed again the next time
+		} finally {
+			if (temp != null) deleteQuietly(temp);
+		}
+	}
+
+	/**
+	 * Object string representation
+	 *
+	 * @return Object string representation
+	 */
+	@Override
+	public String toString() {
+		return "IniCache{" +
+			"directory=" + directory +
+			", maxSize=" + maxSize +
+			'}';
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Register a new or replaced entry. The oldest entries are removed if the cache is bigger than the limit.
+	 *
+	 * @param entry Entry location
+	 * @param size  Entry size in bytes
+	 */
+	private synchronized void entryWritten(@NotNull Path entry, long size) {
+		Long old = entries.put(entry, size);
+		totalSize += size - (old == null ? 0 : old);
+		Iterator<Map.Entry<Path, Long>> iterator = entries.entrySet().iterator();
+		while (totalSize > maxSize && iterator.hasNext()) {
+			Map.Entry<Path, Long> oldest = iterator.next();
+			deleteQuietly(oldest.getKey());
+			totalSize -= oldest.getValue();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Mark an entry as recently used
+	 *
+	 * @param entry Entry location
+	 */
+	private synchronized void entryUsed(@NotNull Path entry) {
+		entries.get(entry);
+	}
+
+	/**
+	 * Delete an invalid entry
+	 *
+	 * @param entry Entry location
+	 */
+	private synchronized void removeEntry(@NotNull Path entry) {
+		deleteQuietly(entry);
+		Long size = entries.remove(entry);
+		if (size != null) totalSize -= size;
+	}
+
+	/**
+	 * Get all cache entries
+	 *
+	 * @return Return all entries
+	 * @throws IOException Error if directory cannot be read
+	 */
+	private @NotNull List<Entry> listEntries() throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			Iterator<Path> iterator = files.iterator();
+			while (iterator.hasNext()) {
+				Path file = iterator.next();
+				if (!file.getFileName().toString().endsWith(ENTRY_EXTENSION)) continue;
+				try {
+					BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+					entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime().toMillis()));
+				} catch (NoSuchFileException ignored) {
+					// Removed by other thread
+				}
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Get entry location
+	 *
+	 * @param key Entry key
+	 * @return Return entry file location
+	 */
+	private @NotNull Path entryPath(@NotNull String key) {
+		return directory.resolve(digest(key) + ENTRY_EXTENSION);
+	}
+
+	/**
+	 * Get the key of a file
+	 *
+	 * @param location File location
+	 * @return Return normalized absolute path
+	 */
+	private static @NotNull String keyOf(@NotNull Path location) {
+		return location.toAbsolutePath().normalize().toString();
+	}
+
+	/**
+	 * Get a short name for a key
+	 *
+	 * @param key Target key
+	 * @return Return hexadecimal hash
+	 */
+	private static @NotNull String digest(@NotNull String key) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+			StringBuilder builder = new StringBuilder(32);
+			for (int i = 0; i < 16; i++) builder.append(String.format("%02x", hash[i]));
+			return builder.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Delete a file ignoring errors
+	 *
+	 * @param file Target file
+	 */
+	private static void deleteQuietly(@NotNull Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException ignored) {
+			// Removed later
+		}
+	}
+
+	/**
+	 * Write all sections. The default section is the first one.
+	 *
+	 * @param out    Target stream
+	 * @param source Source ini
+	 * @throws IOException Error if data cannot be written
+	 */
+	private static void writeSections(@NotNull DataOutputStream out, @NotNull Ini source) throws IOException {
+		Map<String, Integer> table = new HashMap<>();
+		Set<ISection> sections = source.getAllSections();
+		writeVarInt(out, sections.size());
+		for (ISection item : sections) {
+			SectionImpl section = (SectionImpl) item;
+			writeString(out, section.getSectionName(), table);
+			writeMap(out, section.attributes, table);
+			writeMap(out, section.properties, table);
+		}
+	}
+
+	/**
+	 * Read all sections
+	 *
+	 * @param in   Source stream
+	 * @param pool String pool
+	 * @return Return all sections. The first one is the default section.
+	 * @throws IOException Error if data is not valid
+	 */
+	private static @NotNull List<SectionImpl> readSections(@NotNull DataInputStream in, @Nullable StringPool pool)
+		throws IOException {
+		List<String> table = new ArrayList<>();
+		int count = readVarInt(in);
+		if (count < 1) throw new IOException("Invalid section count.");
+		List<SectionImpl> sections = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			SectionImpl section = new SectionImpl(readString(in, table, pool), null);
+			readMap(in, section.attributes, table, pool);
+			readMap(in, section.properties, table, pool);
+			sections.add(section);
+		}
+		return sections;
+	}
+
+	/**
+	 * Write a string map
+	 *
+	 * @param out   Target stream
+	 * @param map   Source map
+	 * @param table String table
+	 * @throws IOException Error if data cannot be written
+	 */
+	private static void writeMap(@NotNull DataOutputStream out, @NotNull Map<String, String> map,
+		@NotNull Map<String, Integer> table) throws IOException {
+		writeVarInt(out, map.size());
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			writeString(out, entry.getKey(), table);
+			writeString(out, entry.getValue(), table);
+		}
+	}
+
+	/**
+	 * Read a string map
+	 *
+	 * @param in     Source stream
+	 * @param target Target map
+	 * @param table  String table
+	 * @param pool   String pool
+	 * @throws IOException Error if data is not valid
+	 */
+	private static void readMap(@NotNull DataInputStream in, @NotNull Map<String, String> target,
+		@NotNull List<String> table, @Nullable StringPool pool) throws IOException {
+		int count = readVarInt(in);
+		for (int i = 0; i < count; i++) {
+			String key = readString(in, table, pool);
+			target.put(key, readString(in, table, pool));
+		}
+	}
+
+	/**
+	 * Write a string. Short strings already written are replaced by their table index.
+	 *
+	 * @param out   Target stream
+	 * @param value Target string
+	 * @param table String table
+	 * @throws IOException Error if data cannot be written
+	 */
+	private static void writeString(@NotNull DataOutputStream out, @NotNull String value,
+		@NotNull Map<String, Integer> table) throws IOException {
+		Integer index = table.get(value);
+		if (index != null) {
+			writeVarInt(out, index + 1);
+			return;
+		}
+		writeVarInt(out, 0);
+		writeRaw(out, value);
+		if (value.length() <= MAX_TABLE_STRING) table.put(value, table.size());
+	}
+
+	/**
+	 * Read a string
+	 *
+	 * @param in    Source stream
+	 * @param table String table
+	 * @param pool  String pool
+	 * @return Return the string
+	 * @throws IOException Error if data is not valid
+	 */
+	private static @NotNull String readString(@NotNull DataInputStream in, @NotNull List<String> table,
+		@Nullable StringPool pool) throws IOException {
+		int index = readVarInt(in);
+		if (index > 0) {
+			if (index > table.size()) throw new IOException("Invalid string reference.");
+			return table.get(index - 1);
+		}
+		String value = readRaw(in);
+		if (value.length() <= MAX_TABLE_STRING) {
+			if (pool != null) value = pool.internValue(value);
+			table.add(value);
+		}
+		return value;
+	}
+
+	/**
+	 * Write a string without table
+	 *
+	 * @param out   Target stream
+	 * @param value Target string
+	 * @throws IOException Error if data cannot be written
+	 */
+	private static void writeRaw(@NotNull DataOutputStream out, @NotNull String value) throws IOException {
+		byte[] data = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(out, data.length);
+		out.write(data);
+	}
+
+	/**
+	 * Read a string without table
+	 *
+	 * @param in Source stream
+	 * @return Return the string
+	 * @throws IOException Error if data is not valid
+	 */
+	private static @NotNull String readRaw(@NotNull DataInputStream in) throws IOException {
+		int length = readVarInt(in);
+		if (length > in.available()) throw new IOException("Invalid string length.");
+		byte[] data = new byte[length];
+		in.readFully(data);
+		return new String(data, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Write a positive number using 7 bits per byte
+	 *
+	 * @param out   Target stream
+	 * @param value Target number
+	 * @throws IOException Error if data cannot be written
+	 */
+	private static void writeVarInt(@NotNull DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	/**
+	 * Read a positive number
+	 *
+	 * @param in Source stream
+	 * @return Return the number
+	 * @throws IOException Error if data is not valid
+	 */
+	private static int readVarInt(@NotNull DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				if (value < 0) throw new IOException("Invalid number.");
+				return value;
+			}
+		}
+		throw new IOException("Invalid number.");
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Extra classes
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Entry file information
+	 */
+	private static final class Entry {
+
+		/**
+		 * Entry location
+		 */
+		final Path location;
+
+		/**
+		 * Entry size in bytes
+		 */
+		final long size;
+
+		/**
+		 * Last time the entry was used
+		 */
+		final long lastUsed;
+
+		/**
+		 * Entry constructor
+		 *
+		 * @param l Entry location
+		 * @param s Entry size
+		 * @param u Last use time
+		 */
+		Entry(@NotNull Path l, long s, long u) {
+			location = l;
+			size = s;
+			lastUsed = u;
+		}
+
+	}
+
+}
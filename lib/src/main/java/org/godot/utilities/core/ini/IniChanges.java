@@ -0,0 +1,160 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+
+/**
+ * Result of {@link Ini#updateContent()}. Contains all sections and properties that changed.
+ */
+public final class IniChanges {
+
+	/**
+	 * New sections
+	 */
+	private final List<ISection> addedSections = new ArrayList<>();
+
+	/**
+	 * Deleted sections
+	 */
+	private final List<ISection> removedSections = new ArrayList<>();
+
+	/**
+	 * Existing sections with new content
+	 */
+	private final List<ISection> modifiedSections = new ArrayList<>();
+
+	/**
+	 * Changed property names of every modified section
+	 */
+	private final Map<ISection, Set<String>> changedProperties = new HashMap<>();
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Changes are created only by {@link Ini}
+	 */
+	IniChanges() {
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Check if there is no change
+	 *
+	 * @return Return {@code true} if nothing changed
+	 */
+	@Contract(pure = true)
+	public boolean isEmpty() {
+		return addedSections.isEmpty() && removedSections.isEmpty() && modifiedSections.isEmpty();
+	}
+
+	/**
+	 * Get all new sections
+	 *
+	 * @return Return a list with all new sections
+	 */
+	public @NotNull @UnmodifiableView List<ISection> getAddedSections() {
+		return Collections.unmodifiableList(addedSections);
+	}
+
+	/**
+	 * Get all deleted sections. These instances are not part of the ini anymore.
+	 *
+	 * @return Return a list with all removed sections
+	 */
+	public @NotNull @UnmodifiableView List<ISection> getRemovedSections() {
+		return Collections.unmodifiableList(removedSections);
+	}
+
+	/**
+	 * Get all modified sections. These instances are the same that were used before the update.
+	 *
+	 * @return Return a list with all modified sections
+	 */
+	public @NotNull @UnmodifiableView List<ISection> getModifiedSections() {
+		return Collections.unmodifiableList(modifiedSections);
+	}
+
+	/**
+	 * Get all added, removed or modified property names of a modified section
+	 *
+	 * @param section Target section
+	 * @return Return all changed property names
+	 */
+	public @NotNull @UnmodifiableView Set<String> getChangedProperties(@NotNull ISection section) {
+		Set<String> result = changedProperties.get(section);
+		return result == null ? Collections.emptySet() : Collections.unmodifiableSet(result);
+	}
+
+	/**
+	 * Check if a specific section changed
+	 *
+	 * @param section Target section
+	 * @return Return {@code true} if section was added, removed or modified
+	 */
+	public boolean isChanged(@NotNull ISection section) {
+		return changedProperties.containsKey(section) || addedSections.contains(section) ||
+			removedSections.contains(section);
+	}
+
+	/**
+	 * Object string representation
+	 *
+	 * @return Object string representation
+	 */
+	@Override
+	public String toString() {
+		return "IniChanges{" +
+			"addedSections=" + addedSections.size() +
+			", removedSections=" + removedSections.size() +
+			", modifiedSections=" + modifiedSections.size() +
+			'}';
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Register new section
+	 *
+	 * @param section Target section
+	 */
+	void sectionAdded(@NotNull ISection section) {
+		addedSections.add(section);
+	}
+
+	/**
+	 * Register deleted section
+	 *
+	 * @param section Target section
+	 */
+	void sectionRemoved(@NotNull ISection section) {
+		removedSections.add(section);
+	}
+
+	/**
+	 * Register modified section
+	 *
+	 * @param section    Target section
+	 * @param properties Changed property names
+	 */
+	void sectionModified(@NotNull ISection section, @NotNull Set<String> properties) {
+		modifiedSections.add(section);
+		changedProperties.put(section, properties);
+	}
+
+}
@@ -0,0 +1,235 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Checksum;
+
+/**
+ * Line splitting shared by {@link Ini} and {@link IniReader}.
+ */
+final class IniLines {
+
+	/**
+	 * This class cannot be instantiated.
+	 */
+	private IniLines() {
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Read all file lines
+	 *
+	 * @param location Target file
+	 * @param mode     Read mode
+	 * @param consumer Line consumer
+	 * @throws IOException Error if file cannot be read
+	 */
+	static void read(@NotNull Path location, @NotNull Ini.LoadMode mode, @NotNull ILineConsumer consumer)
+		throws IOException {
+		read(location, mode, consumer, null);
+	}
+
+	/**
+	 * Read all file lines and update a checksum with the same bytes, so the file is read only once.
+	 * The checksum is only complete if the consumer reads all lines.
+	 *
+	 * @param location Target file
+	 * @param mode     Read mode
+	 * @param consumer Line consumer
+	 * @param checksum Checksum of all file bytes. It can be {@code null}.
+	 * @throws IOException Error if file cannot be read
+	 */
+	static void read(@NotNull Path location, @NotNull Ini.LoadMode mode, @NotNull ILineConsumer consumer,
+		@Nullable Checksum checksum) throws IOException {
+		if (mode == Ini.LoadMode.LAZY || mode == Ini.LoadMode.VIEW)
+			readCopy(location, consumer, checksum);
+		else if (mode != Ini.LoadMode.STREAM)
+			readMapped(location, consumer, checksum);
+		else
+			readStream(location, consumer, checksum);
+	}
+
+	/**
+	 * Read file line by line with a buffered reader
+	 *
+	 * @param location Target file
+	 * @param consumer Line consumer
+	 * @param checksum Checksum of all file bytes. It can be {@code null}.
+	 * @throws IOException Error if file cannot be read
+	 */
+	static void readStream(@NotNull Path location, @NotNull ILineConsumer consumer, @Nullable Checksum checksum)
+		throws IOException {
+		try (InputStream fStream = checked(Files.newInputStream(location), checksum);
+			 BufferedReader reader = new BufferedReader(new InputStreamReader(fStream))) {
+			readLines(reader, consumer);
+		}
+	}
+
+	/**
+	 * Read all reader lines. The reader is not closed.
+	 *
+	 * @param reader   Source reader
+	 * @param consumer Line consumer
+	 * @throws IOException Error if reader cannot be read
+	 */
+	static void readLines(@NotNull BufferedReader reader, @NotNull ILineConsumer consumer) throws IOException {
+		String line = reader.readLine();
+		// Skip UTF-8 BOM like mapped files
+		if (line != null && line.startsWith("\uFEFF")) line = line.substring(1);
+		// Iterate all lines
+		for (; line != null; line = reader.readLine()) {
+			if (!consumer.accept(line, 0, line.length())) return;
+		}
+	}
+
+	/**
+	 * Map the file into memory and read UTF-8 lines directly.
+	 *
+	 * @param location Target file
+	 * @param consumer Line consumer
+	 * @param checksum Checksum of all file bytes. It can be {@code null}.
+	 * @throws IOException Error if file cannot be mapped
+	 */
+	static void readMapped(@NotNull Path location, @NotNull ILineConsumer consumer, @Nullable Checksum checksum)
+		throws IOException {
+		ByteBuffer buffer;
+		// The mapping stays valid after the channel is closed
+		try (FileChannel channel = FileChannel.open(location, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException(String.format("File \"%s\" is too big to be mapped.", location));
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		if (checksum != null) checksum.update(buffer.duplicate());
+		readBytes(new Utf8CharSequence(buffer), consumer);
+	}
+
+	/**
+	 * Read the whole file into memory and read UTF-8 lines directly.
+	 * <p>
+	 * Used when the content is kept after the read. A mapping follows later changes of the file
+	 * (and fails if the file is truncated), so lazy sections and value views use a private copy.
+	 *
+	 * @param location Target file
+	 * @param consumer Line consumer
+	 * @param checksum Checksum of all file bytes. It can be {@code null}.
+	 * @throws IOException Error if file cannot be read
+	 */
+	static void readCopy(@NotNull Path location, @NotNull ILineConsumer consumer, @Nullable Checksum checksum)
+		throws IOException {
+		ByteBuffer content;
+		try (FileChannel channel = FileChannel.open(location, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException(String.format("File \"%s\" is too big to be read.", location));
+			// Direct buffer like mapped files, so the tokenizer always reads the same buffer type
+			content = ByteBuffer.allocateDirect((int) size);
+			// File can change while it is read
+			while (content.hasRemaining()) {
+				if (channel.read(content) < 0) break;
+			}
+		}
+		content.flip();
+		if (checksum != null) checksum.update(content.duplicate());
+		readBytes(new Utf8CharSequence(content), consumer);
+	}
+
+	/**
+	 * Update a checksum with all bytes read from a stream
+	 *
+	 * @param stream   Source stream
+	 * @param checksum Target checksum or {@code null} to return the same stream
+	 * @return Return the stream to read
+	 */
+	private static @NotNull InputStream checked(@NotNull InputStream stream, @Nullable Checksum checksum) {
+		return checksum == null ? stream : new CheckedInputStream(stream, checksum);
+	}
+
+	/**
+	 * Read UTF-8 lines of a byte sequence
+	 *
+	 * @param content  Source bytes
+	 * @param consumer Line consumer
+	 */
+	static void readBytes(@NotNull Utf8CharSequence content, @NotNull ILineConsumer consumer) {
+		int start = 0;
+		// Skip UTF-8 BOM
+		if (content.length() >= 3 && content.byteAt(0) == (byte) 0xEF && content.byteAt(1) == (byte) 0xBB &&
+			content.byteAt(2) == (byte) 0xBF)
+			start = 3;
+		split(content, start, consumer);
+	}
+
+	/**
+	 * Split sequence in lines ("\n", "\r" or "\r\n" like {@link BufferedReader#readLine()})
+	 *
+	 * @param content  Source content
+	 * @param start    First index
+	 * @param consumer Line consumer
+	 */
+	static void split(@NotNull CharSequence content, int start, @NotNull ILineConsumer consumer) {
+		split(content, start, content.length(), consumer);
+	}
+
+	/**
+	 * Split a sequence region in lines
+	 *
+	 * @param content  Source content
+	 * @param start    First index
+	 * @param length   Last index (exclusive)
+	 * @param consumer Line consumer
+	 */
+	static void split(@NotNull CharSequence content, int start, int length, @NotNull ILineConsumer consumer) {
+		int pos = start;
+		while (pos < length) {
+			char c = content.charAt(pos);
+			if (c != '\n' && c != '\r') {
+				pos++;
+				continue;
+			}
+			if (!consumer.accept(content, start, pos)) return;
+			pos += (c == '\r' && pos + 1 < length && content.charAt(pos + 1) == '\n') ? 2 : 1;
+			start = pos;
+		}
+		// Last line without terminator
+		if (start < length)
+			consumer.accept(content, start, length);
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Extra classes
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Line callback
+	 */
+	interface ILineConsumer {
+
+		/**
+		 * Called for every line
+		 *
+		 * @param src   Source sequence
+		 * @param start Line start index
+		 * @param end   Line end index (without terminator)
+		 * @return Return {@code false} to stop reading
+		 */
+		boolean accept(@NotNull CharSequence src, int start, int end);
+
+	}
+
+}
@@ -0,0 +1,395 @@
+package org.godot.utilities.core.ini;
+
+import org.godot.utilities.core.ini.convertion.DataConvert;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Line parser that fills {@link Ini} sections.
+ * <p>
+ * The same parser is used to read complete files and to materialize the body of a single lazy section.
+ * When a section filter is used, bodies of other sections are skipped without tokenization and
+ * reading stops once all the requested sections were read.
+ */
+final class IniParser implements IniLines.ILineConsumer {
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Target ini. It is {@code null} when only a section body is parsed.
+	 */
+	private final Ini ini;
+
+	/**
+	 * Only register section headers and their offsets
+	 */
+	private final boolean lazy;
+
+	/**
+	 * Store property values as views over the source
+	 */
+	private final boolean views;
+
+	/**
+	 * Line scanner
+	 */
+	private final IniScanner scanner = new IniScanner();
+
+	/**
+	 * Current file section
+	 */
+	private SectionImpl section;
+
+	/**
+	 * Orphan lines of the last property
+	 */
+	private StringBuilder buffer;
+
+	/**
+	 * Value that continues in the next lines
+	 */
+	private final ValueAccumulator value = new ValueAccumulator();
+
+	/**
+	 * Property name of the multi-line value
+	 */
+	private String pendingKey;
+
+	/**
+	 * Last section property
+	 */
+	private String lastProperty;
+
+	/**
+	 * Lazy section that is waiting for its body start
+	 */
+	private SectionImpl pendingBody;
+
+	/**
+	 * Lazy mode source
+	 */
+	private Utf8CharSequence lazySource;
+
+	/**
+	 * Pool used to share keys and values. It is {@code null} if strings are not shared.
+	 */
+	private final StringPool pool;
+
+	/**
+	 * Names of the sections to read. It is {@code null} if all sections are read.
+	 */
+	private final Set<String> filter;
+
+	/**
+	 * Requested sections already found
+	 */
+	private Set<String> found;
+
+	/**
+	 * Body of the current section is skipped
+	 */
+	private boolean skipping;
+
+	/**
+	 * Reading stopped before the end of the source
+	 */
+	private boolean stopped;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Parser constructor
+	 *
+	 * @param i Target ini or {@code null} to parse a single section body
+	 * @param s First section
+	 * @param m Load mode. In {@link Ini.LoadMode#LAZY} mode properties are not parsed, only section offsets
+	 *          are saved. In {@link Ini.LoadMode#VIEW} mode values are not decoded.
+	 * @param p String pool or {@code null} to keep all strings
+	 */
+	IniParser(@Nullable Ini i, @NotNull SectionImpl s, @NotNull Ini.LoadMode m, @Nullable StringPool p) {
+		this(i, s, m, p, null);
+	}
+
+	/**
+	 * Parser constructor
+	 *
+	 * @param i Target ini or {@code null} to parse a single section body
+	 * @param s First section
+	 * @param m Load mode. In {@link Ini.LoadMode#LAZY} mode properties are not parsed, only section offsets
+	 *          are saved. In {@link Ini.LoadMode#VIEW} mode values are not decoded.
+	 * @param p String pool or {@code null} to keep all strings
+	 * @param f Names of the sections to read or {@code null} to read all sections
+	 */
+	IniParser(@Nullable Ini i, @NotNull SectionImpl s, @NotNull Ini.LoadMode m, @Nullable StringPool p,
+		@Nullable Set<String> f) {
+		ini = i;
+		section = s;
+		lazy = m == Ini.LoadMode.LAZY;
+		views = m == Ini.LoadMode.VIEW;
+		pendingBody = lazy ? s : null;
+		pool = p;
+		filter = f;
+		found = f == null ? null : new HashSet<>(f.size() * 2);
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Parse a single line
+	 *
+	 * @param src   Source sequence
+	 * @param start Line start index
+	 * @param end   Line end index (without terminator)
+	 * @return Return {@code false} when all the requested sections were read
+	 */
+	@Override
+	public boolean accept(@NotNull CharSequence src, int start, int end) {
+		if (lazy) return acceptLazy(src, start, end);
+		// Bodies of filtered sections are not tokenized
+		if (skipping && skipLine(src, start, end)) return true;
+		// Lines of an open value are not tokenized
+		if (value.isOpen()) {
+			if (value.append(src, start, end)) storeMultiLineValue();
+			return true;
+		}
+		// Classify line only once
+		IniScanner.LineType type = scanner.scan(src, start, end);
+		if (skipping && type != IniScanner.LineType.SECTION) return true;
+		if (type != IniScanner.LineType.TEXT) checkOldBuffer();
+		switch (type) {
+			case COMMENT:
+				// Ignore empty and comment lines
+				break;
+			case SECTION:
+				// Create new section
+				if (!checkFilter()) return false;
+				if (!skipping) createNewSection();
+				break;
+			case PROPERTY:
+				// Create new property
+				createNewProperty(src);
+				break;
+			default:
+				// Add extra data
+				String text = scanner.text(start, end).trim();
+				if (buffer == null)
+					buffer = new StringBuilder(text);
+				else
+					buffer.append(' ').append(text);
+				break;
+		}
+		return true;
+	}
+
+	/**
+	 * Finish parse process
+	 */
+	void finish() {
+		if (lazy) {
+			int end = lazySource == null ? 0 : lazySource.length();
+			if (pendingBody != null) pendingBody.setLazyBody(lazySource, end, end);
+			else if (!skipping && !stopped) section.setLazyBody(lazySource, section.lazyStart, end);
+			return;
+		}
+		// Values without end are saved as they are
+		if (value.isOpen() && skipping) value.finish();
+		else if (value.isOpen()) storeMultiLineValue();
+		// Check if exists any orphan information
+		checkOldBuffer();
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Lazy line parse. Only lines that start with "[" are tokenized.
+	 *
+	 * @param src   Source sequence
+	 * @param start Line start index
+	 * @param end   Line end index
+	 * @return Return {@code false} when all the requested sections were read
+	 */
+	private boolean acceptLazy(@NotNull CharSequence src, int start, int end) {
+		lazySource = (Utf8CharSequence) src;
+		// Save body start
+		if (pendingBody != null) {
+			pendingBody.lazyStart = start;
+			pendingBody = null;
+		}
+		// Properties are parsed later
+		if (skipLine(src, start, end)) return true;
+		if (scanner.scan(src, start, end) != IniScanner.LineType.SECTION || scanner.nameStart == -1)
+			return true;
+		// Close previous body
+		if (!skipping) section.setLazyBody(lazySource, section.lazyStart, start);
+		if (!checkFilter()) return false;
+		if (skipping) return true;
+		createNewSection();
+		pendingBody = section;
+		return true;
+	}
+
+	/**
+	 * Follow a line that is not parsed. Only values that continue in the next lines are
+	 * tracked, so headers inside them are ignored.
+	 *
+	 * @param src   Source sequence
+	 * @param start Line start index
+	 * @param end   Line end index
+	 * @return Return {@code true} if line cannot be a section header
+	 */
+	private boolean skipLine(@NotNull CharSequence src, int start, int end) {
+		if (value.isOpen()) {
+			value.append(src, start, end);
+			return true;
+		}
+		if (start == end) return true;
+		if (src.charAt(start) == '[') return false;
+		if (ValueAccumulator.mayOpen(src, start, end) && scanner.scan(src, start, end) == IniScanner.LineType.PROPERTY)
+			value.open(src, scanner.valueStart, scanner.valueEnd, false);
+		return true;
+	}
+
+	/**
+	 * Check the last scanned section header with the section filter. Reading stops at the first
+	 * section that was not requested after all the requested sections were found, so groups of
+	 * sections with the same name are read completely.
+	 *
+	 * @return Return {@code false} if reading must stop
+	 */
+	private boolean checkFilter() {
+		if (filter == null) return true;
+		String name = scanner.getSectionName();
+		if (name == null) return true;
+		boolean requested = filter.contains(name);
+		if (!requested && found.size() == filter.size()) {
+			stopped = true;
+			return false;
+		}
+		skipping = !requested;
+		if (requested) found.add(name);
+		return true;
+	}
+
+	/**
+	 * Check temporal buffers. All orphan lines are added to the last property at once.
+	 */
+	private void checkOldBuffer() {
+		// Check if exists any buffer
+		if (buffer == null) return;
+		String lastVal = lastProperty == null ? null : section.properties.get(lastProperty);
+		// Insert last buffer to last known location
+		if (lastVal != null) {
+			section.putProperty(
+				lastProperty,
+				internValue(DataConvert.cleanString((lastVal.trim() + " " + buffer).trim()))
+			);
+		}
+		// Clean buffer
+		buffer = null;
+	}
+
+	/**
+	 * Save a complete multi-line value
+	 */
+	private void storeMultiLineValue() {
+		String content = internValue(DataConvert.cleanString(DataConvert.cleanString(value.finish())));
+		section.putProperty(pendingKey, content);
+		lastProperty = pendingKey;
+		pendingKey = null;
+	}
+
+	/**
+	 * Create new section from last scanned line
+	 */
+	private void createNewSection() {
+		// Storage config
+		String sectionName = scanner.getSectionName();
+		// Check section name is valid
+		if (sectionName == null || ini == null) return;
+		SectionImpl newSection = new SectionImpl(intern(sectionName), ini.getDefaultSection());
+		// Configure section
+		scanner.readAttributes(newSection.attributes, pool);
+		// Insert to list
+		ini.addSection(newSection);
+		section = newSection;
+		lastProperty = null;
+	}
+
+	/**
+	 * Generate new property from last scanned line
+	 *
+	 * @param src Line source
+	 */
+	private void createNewProperty(@NotNull CharSequence src) {
+		// Clean property
+		String key = intern(DataConvert.cleanString(scanner.getKey()));
+		// Value continues in the next lines
+		if (value.open(src, scanner.valueStart, scanner.valueEnd, true)) {
+			pendingKey = key;
+			return;
+		}
+		// Insert property
+		if (views)
+			section.putView(key, valueView(src));
+		else
+			section.putProperty(key, internValue(DataConvert.cleanString(scanner.getValue())));
+		lastProperty = key;
+	}
+
+	/**
+	 * Get a view of the last scanned value. Quotes are removed like {@link DataConvert#cleanString(String)}
+	 * does in normal mode (twice), but nothing is decoded or copied.
+	 *
+	 * @param src Line source
+	 * @return Return value view
+	 */
+	private @NotNull CharSequence valueView(@NotNull CharSequence src) {
+		int start = scanner.valueStart;
+		int end = scanner.valueEnd;
+		for (int i = 0; i < 2 && end - start >= 2 && src.charAt(start) == '"' && src.charAt(end - 1) == '"'; i++) {
+			start++;
+			end--;
+		}
+		return start == end ? "" : src.subSequence(start, end);
+	}
+
+	/**
+	 * Share a key or name
+	 *
+	 * @param name Target name
+	 * @return Return the pooled name
+	 */
+	private @NotNull String intern(@NotNull String name) {
+		return pool == null ? name : pool.intern(name);
+	}
+
+	/**
+	 * Share a short value
+	 *
+	 * @param data Target value
+	 * @return Return the pooled value
+	 */
+	private @NotNull String internValue(@NotNull String data) {
+		return pool == null ? data : pool.internValue(data);
+	}
+
+}
@@ -0,0 +1,169 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Precompiled {@code section/key} property path.
+ * <p>
+ * Paths are compiled once (usually as constants) and resolved many times with
+ * {@link IniSnapshot#getProperty(IniPath)} or {@link Ini#getProperty(IniPath)}. Every snapshot caches
+ * the values of the resolved paths. The path hash is calculated once, so after the first lookup the value
+ * is read without hashing or building strings. Snapshots are replaced when the content changes, so
+ * cached values are discarded on every reload or edit. Paths with the same section and key are equal.
+ * <p>
+ * The section name ends at the first {@code /}, the rest is the property key. An empty section name
+ * refers to the default section:
+ * <pre>
+ * IniPath.compile("rendering/quality/driver/driver_name") // [rendering] quality/driver/driver_name
+ * IniPath.compile("/config_version")                      // default section
+ * </pre>
+ */
+public final class IniPath {
+
+	/**
+	 * Section name. It is empty for the default section.
+	 */
+	private final String section;
+
+	/**
+	 * Property key
+	 */
+	private final String key;
+
+	/**
+	 * Path hash used in snapshot caches
+	 */
+	private final int hash;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Paths are created only by {@link #compile(String)} and {@link #of(String, String)}
+	 *
+	 * @param s Section name
+	 * @param k Property key
+	 */
+	private IniPath(@NotNull String s, @NotNull String k) {
+		section = s;
+		key = k;
+		hash = 31 * s.hashCode() + k.hashCode();
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Compile a {@code section/key} path
+	 *
+	 * @param path Target path
+	 * @return Return compiled path
+	 * @throws IllegalArgumentException Error if path has no section separator or key
+	 */
+	@Contract("_ -> new")
+	public static @NotNull IniPath compile(@NotNull String path) {
+		int separator = path.indexOf('/');
+		if (separator == -1 || separator == path.length() - 1)
+			throw new IllegalArgumentException(String.format("Invalid property path \"%s\".", path));
+		return new IniPath(path.substring(0, separator), path.substring(separator + 1));
+	}
+
+	/**
+	 * Create a path from its parts
+	 *
+	 * @param section Section name or empty string for the default section
+	 * @param key     Property key
+	 * @return Return compiled path
+	 * @throws IllegalArgumentException Error if key is empty
+	 */
+	@Contract("_, _ -> new")
+	public static @NotNull IniPath of(@NotNull String section, @NotNull String key) {
+		if (key.isEmpty())
+			throw new IllegalArgumentException(String.format("Invalid property key in section \"%s\".", section));
+		return new IniPath(section, key);
+	}
+
+	/**
+	 * Get section name
+	 *
+	 * @return Return section name or empty string for the default section
+	 */
+	@Contract(pure = true)
+	public @NotNull String getSectionName() {
+		return section;
+	}
+
+	/**
+	 * Get property key
+	 *
+	 * @return Return property key
+	 */
+	@Contract(pure = true)
+	public @NotNull String getKey() {
+		return key;
+	}
+
+	/**
+	 * Check if path targets the default section
+	 *
+	 * @return Return {@code true} if section name is empty
+	 */
+	@Contract(pure = true)
+	public boolean isDefaultSection() {
+		return section.isEmpty();
+	}
+
+	/**
+	 * Resolve path without cache
+	 *
+	 * @param snapshot Target snapshot
+	 * @return Return property value or {@code null} if not exists
+	 */
+	@Nullable String lookup(@NotNull IniSnapshot snapshot) {
+		ISection target = isDefaultSection() ? snapshot.getDefaultSection() : snapshot.getSection(section);
+		return target == null ? null : target.getProperty(key, null);
+	}
+
+	/**
+	 * Check if both paths have the same section and key
+	 *
+	 * @param o Other object
+	 * @return Return {@code true} if both paths are equal
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof IniPath)) return false;
+		IniPath other = (IniPath) o;
+		return hash == other.hash && section.equals(other.section) && key.equals(other.key);
+	}
+
+	/**
+	 * Get path hash. It is calculated only once.
+	 *
+	 * @return Return path hash
+	 */
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * Object string representation
+	 *
+	 * @return Object string representation
+	 */
+	@Override
+	public String toString() {
+		return section + '/' + key;
+	}
+
+}
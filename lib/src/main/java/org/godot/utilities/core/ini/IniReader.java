@@ -0,0 +1,353 @@
+package org.godot.utilities.core.ini;
+
+import org.godot.utilities.core.ini.convertion.DataConvert;
+import org.godot.utilities.core.io.FileResource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Streaming (SAX-style) INI reader.
+ * <p>
+ * This reader uses the same rules of {@link Ini} but nothing is stored. Strings are created
+ * only when the visitor asks for them through the {@link Event} methods.
+ *
+ * <pre>{@code
+ * // Count all scene nodes
+ * int[] nodes = {0};
+ * IniReader.read(location, new IIniVisitor() {
+ *     public Result onSectionStart(IniReader.Event event) {
+ *         if (event.sectionNameEquals("node")) nodes[0]++;
+ *         return Result.SKIP_SECTION;
+ *     }
+ * });
+ * }</pre>
+ */
+public final class IniReader {
+
+	/**
+	 * Current visitor
+	 */
+	private final IIniVisitor visitor;
+
+	/**
+	 * Shared event
+	 */
+	private final Event event = new Event();
+
+	/**
+	 * Ignore lines until the next section
+	 */
+	private boolean skipSection = false;
+
+	/**
+	 * Reading was stopped by the visitor
+	 */
+	private boolean stopped = false;
+
+	/**
+	 * Value that continues in the next lines
+	 */
+	private final ValueAccumulator value = new ValueAccumulator();
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Internal constructor
+	 *
+	 * @param v Target visitor
+	 */
+	private IniReader(@NotNull IIniVisitor v) {
+		visitor = v;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Read file and send all events to visitor
+	 *
+	 * @param location Target file location
+	 * @param visitor  Target visitor
+	 * @throws IOException Error if file not exists or is not valid
+	 */
+	public static void read(@NotNull Path location, @NotNull IIniVisitor visitor) throws IOException {
+		read(location, Ini.LoadMode.STREAM, visitor);
+	}
+
+	/**
+	 * Read file and send all events to visitor
+	 *
+	 * @param location Target file location
+	 * @param mode     Read mode
+	 * @param visitor  Target visitor
+	 * @throws IOException Error if file not exists or is not valid
+	 */
+	public static void read(@NotNull Path location, @NotNull Ini.LoadMode mode, @NotNull IIniVisitor visitor)
+		throws IOException {
+		FileResource resource = new FileResource(location);
+		// Check if exists
+		if (!resource.exists())
+			throw new FileNotFoundException(String.format("File location \"%s\" not exists", resource));
+		// Check extensions
+		if (!Ini.iniValidFileExtensions.contains(resource.getExtension()))
+			throw new IOException("Target file is not valid INI file.");
+		// Read all lines
+		IniReader reader = new IniReader(visitor);
+		IniLines.read(location, mode, reader::visitLine);
+		if (!reader.stopped && reader.value.isOpen())
+			reader.notifyMultiLineValue();
+		if (!reader.stopped)
+			visitor.onEndOfFile();
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Visit a single line
+	 *
+	 * @param src   Source sequence
+	 * @param start Line start index
+	 * @param end   Line end index
+	 * @return Return {@code false} if reading must stop
+	 */
+	private boolean visitLine(@NotNull CharSequence src, int start, int end) {
+		event.lineNumber++;
+		IniScanner scanner = event.scanner;
+		// Lines of multi-line values are not tokenized
+		if (value.isOpen())
+			return !value.append(src, start, end) || notifyMultiLineValue();
+		// Skipped lines are not tokenized, only headers and multi-line values are detected
+		if (skipSection && (start == end || src.charAt(start) != '[')) {
+			if (ValueAccumulator.mayOpen(src, start, end) &&
+				scanner.scan(src, start, end) == IniScanner.LineType.PROPERTY)
+				value.open(src, scanner.valueStart, scanner.valueEnd, false);
+			return true;
+		}
+		// Check line type
+		switch (scanner.scan(src, start, end)) {
+			case SECTION:
+				// Sections without name are ignored
+				if (scanner.nameStart == -1) return true;
+				skipSection = false;
+				if (!apply(visitor.onSectionStart(event)) || skipSection) return !stopped;
+				return apply(visitor.onSectionAttributes(event));
+			case PROPERTY:
+				if (skipSection) return true;
+				// Wait until the value is complete
+				if (value.open(src, scanner.valueStart, scanner.valueEnd, true)) {
+					event.multiLineKey = scanner.getKey();
+					return true;
+				}
+				return apply(visitor.onProperty(event));
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * Notify a complete multi-line value
+	 *
+	 * @return Return {@code false} if reading must stop
+	 */
+	private boolean notifyMultiLineValue() {
+		String content = value.finish();
+		if (skipSection) return true;
+		event.multiLineValue = content;
+		boolean result = apply(visitor.onProperty(event));
+		event.multiLineKey = null;
+		event.multiLineValue = null;
+		return result;
+	}
+
+	/**
+	 * Apply visitor result
+	 *
+	 * @param result Visitor result
+	 * @return Return {@code false} if reading must stop
+	 */
+	private boolean apply(@NotNull IIniVisitor.Result result) {
+		switch (result) {
+			case STOP:
+				stopped = true;
+				return false;
+			case SKIP_SECTION:
+				skipSection = true;
+				return true;
+			default:
+				return true;
+		}
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Extra classes
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Reusable reader event
+	 */
+	public static final class Event {
+
+		/**
+		 * Line scanner
+		 */
+		private final IniScanner scanner = new IniScanner();
+
+		/**
+		 * Current line number
+		 */
+		private int lineNumber = 0;
+
+		/**
+		 * Key of a complete multi-line value
+		 */
+		private String multiLineKey;
+
+		/**
+		 * Content of a complete multi-line value
+		 */
+		private String multiLineValue;
+
+		/**
+		 * Events are created only by the reader
+		 */
+		private Event() {
+		}
+
+		/**
+		 * Get current line number (starts with 1). Multi-line values use their last line.
+		 *
+		 * @return Return current line number
+		 */
+		public int getLineNumber() {
+			return lineNumber;
+		}
+
+		/**
+		 * Get current section name
+		 *
+		 * @return Return section name or {@code null} if current line is not a section
+		 */
+		public @Nullable String getSectionName() {
+			return scanner.getLineType() == IniScanner.LineType.SECTION ? scanner.getSectionName() : null;
+		}
+
+		/**
+		 * Compare section name without creating strings
+		 *
+		 * @param name Target name
+		 * @return Return {@code true} if current section has the given name
+		 */
+		public boolean sectionNameEquals(@NotNull String name) {
+			return scanner.getLineType() == IniScanner.LineType.SECTION &&
+				scanner.regionEquals(scanner.nameStart, scanner.nameEnd, name);
+		}
+
+		/**
+		 * Get a single section attribute
+		 *
+		 * @param name Attribute name
+		 * @return Return attribute value or {@code null} if not exists
+		 */
+		public @Nullable String getAttribute(@NotNull String name) {
+			return scanner.getLineType() == IniScanner.LineType.SECTION ? scanner.getAttribute(name) : null;
+		}
+
+		/**
+		 * Compare a section attribute without creating strings
+		 *
+		 * @param name  Attribute name
+		 * @param value Expected value without quotes
+		 * @return Return {@code true} if attribute exists and has the given value
+		 */
+		public boolean attributeEquals(@NotNull String name, @NotNull String value) {
+			return scanner.getLineType() == IniScanner.LineType.SECTION && scanner.attributeEquals(name, value);
+		}
+
+		/**
+		 * Get an integer section attribute (like {@code id} or {@code format}) without creating strings
+		 *
+		 * @param name     Attribute name
+		 * @param defValue Default value if attribute not exists or is not an integer
+		 * @return Return attribute value or {@code defValue}
+		 */
+		public int getIntAttribute(@NotNull String name, int defValue) {
+			return scanner.getLineType() == IniScanner.LineType.SECTION ?
+				scanner.getIntAttribute(name, defValue) : defValue;
+		}
+
+		/**
+		 * Insert all section attributes
+		 *
+		 * @param target Target map
+		 */
+		public void readAttributes(@NotNull Map<String, String> target) {
+			if (scanner.getLineType() == IniScanner.LineType.SECTION)
+				scanner.readAttributes(target);
+		}
+
+		/**
+		 * Get current property key
+		 *
+		 * @return Return property key or {@code null} if current line is not a property
+		 */
+		public @Nullable String getKey() {
+			if (multiLineValue != null) return multiLineKey;
+			return scanner.getLineType() == IniScanner.LineType.PROPERTY ? scanner.getKey() : null;
+		}
+
+		/**
+		 * Compare property key without creating strings
+		 *
+		 * @param key Target key
+		 * @return Return {@code true} if current property has the given key
+		 */
+		public boolean keyEquals(@NotNull String key) {
+			if (multiLineValue != null) return key.equals(multiLineKey);
+			return scanner.getLineType() == IniScanner.LineType.PROPERTY &&
+				scanner.regionEquals(scanner.keyStart, scanner.keyEnd, key);
+		}
+
+		/**
+		 * Get current property value. Quotes are removed.
+		 *
+		 * @return Return property value or {@code null} if current line is not a property
+		 */
+		public @Nullable String getValue() {
+			if (multiLineValue != null) return DataConvert.cleanString(multiLineValue);
+			return scanner.getLineType() == IniScanner.LineType.PROPERTY ? scanner.getValue() : null;
+		}
+
+		/**
+		 * Object string representation
+		 *
+		 * @return Object string representation
+		 */
+		@Override
+		public String toString() {
+			return "Event{" +
+				"lineNumber=" + lineNumber +
+				", lineType=" + scanner.getLineType() +
+				'}';
+		}
+
+	}
+
+}
@@ -0,0 +1,562 @@
+package org.godot.utilities.core.ini;
+
+import org.godot.utilities.core.ini.convertion.DataConvert;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Hand-written line tokenizer used by {@link Ini}.
+ * <p>
+ * A line is classified only once and all the relevant ranges (property key and value,
+ * section name and section attributes) are extracted in the same pass, without regular
+ * expressions. The rules are the same as the old regex grammar:
+ * <ul>
+ *     <li>Property: {@code ^([A-Za-z][\w/]+)\s?=\s?(.*+)$}</li>
+ *     <li>Section attribute: {@code ([\w]+)=("(.*?)"|\d+)}</li>
+ * </ul>
+ * Section headers are tokenized in a single pass: the section name and the ranges of all the attributes
+ * are saved while the header is scanned, so attributes can be read or compared later without scanning
+ * the line again. The instance is reusable and keeps the result of the last scanned line.
+ */
+final class IniScanner {
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Last scanned line
+	 */
+	private CharSequence source;
+
+	/**
+	 * Last scanned line type
+	 */
+	private LineType lineType;
+
+	/**
+	 * Property key range
+	 */
+	int keyStart, keyEnd;
+
+	/**
+	 * Property value range (already trimmed)
+	 */
+	int valueStart, valueEnd;
+
+	/**
+	 * Section content range (without brackets)
+	 */
+	int dataStart, dataEnd;
+
+	/**
+	 * Section name range. Both values are {@code -1} if section has no name
+	 */
+	int nameStart, nameEnd;
+
+	/**
+	 * Last attribute match ranges
+	 */
+	private int matchStart, matchEquals, matchEnd;
+
+	/**
+	 * Attribute ranges of the last scanned section. Every attribute uses four slots: name start,
+	 * name end, value start and value end (without quotes).
+	 */
+	private int[] attributeRanges = new int[32];
+
+	/**
+	 * Number of attributes of the last scanned section
+	 */
+	int attributeCount;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Classify a complete line
+	 *
+	 * @param line Target line
+	 * @return Return the line type
+	 */
+	@NotNull LineType scan(@NotNull CharSequence line) {
+		return scan(line, 0, line.length());
+	}
+
+	/**
+	 * Classify a line stored inside a bigger sequence
+	 *
+	 * @param src   Source sequence
+	 * @param start Line start index (inclusive)
+	 * @param end   Line end index (exclusive, without line terminator)
+	 * @return Return the line type
+	 */
+	@NotNull LineType scan(@NotNull CharSequence src, int start, int end) {
+		source = src;
+		keyStart = keyEnd = valueStart = valueEnd = -1;
+		dataStart = dataEnd = nameStart = nameEnd = -1;
+		attributeCount = 0;
+		// Trimmed bounds
+		int tStart = trimStart(src, start, end);
+		int tEnd = trimEnd(src, tStart, end);
+		// Empty lines and comments
+		if (tStart == tEnd || src.charAt(tStart) == ';')
+			return lineType = LineType.COMMENT;
+		// Sections are checked without trim
+		if (end - start >= 3 && src.charAt(start) == '[' && src.charAt(end - 1) == ']' &&
+			trimStart(src, start + 1, end - 1) != end - 1) {
+			dataStart = start + 1;
+			dataEnd = end - 1;
+			scanHeader();
+			return lineType = LineType.SECTION;
+		}
+		// Properties
+		if (scanProperty(src, tStart, tEnd))
+			return lineType = LineType.PROPERTY;
+		return lineType = LineType.TEXT;
+	}
+
+	/**
+	 * Get last line type
+	 *
+	 * @return Return the last line type or {@code null} if nothing was scanned
+	 */
+	@Nullable LineType getLineType() {
+		return lineType;
+	}
+
+	/**
+	 * Get last property key
+	 *
+	 * @return Return property key
+	 */
+	@NotNull String getKey() {
+		return text(keyStart, keyEnd);
+	}
+
+	/**
+	 * Get last property value. Quotes are removed.
+	 *
+	 * @return Return property value
+	 */
+	@NotNull String getValue() {
+		return DataConvert.cleanString(text(valueStart, valueEnd));
+	}
+
+	/**
+	 * Get last section name
+	 *
+	 * @return Return section name or {@code null} if section has no name
+	 */
+	@Nullable String getSectionName() {
+		return nameStart == -1 ? null : text(nameStart, nameEnd);
+	}
+
+	/**
+	 * Insert all attributes of the last scanned section
+	 *
+	 * @param target Target map
+	 */
+	void readAttributes(@NotNull Map<String, String> target) {
+		readAttributes(target, null);
+	}
+
+	/**
+	 * Insert all attributes of the last scanned section
+	 *
+	 * @param target Target map
+	 * @param pool   Pool used to share names and values. It can be {@code null}.
+	 */
+	void readAttributes(@NotNull Map<String, String> target, @Nullable StringPool pool) {
+		for (int i = 0; i < attributeCount; i++) {
+			String name = getAttributeName(i);
+			String value = getAttributeValue(i);
+			if (pool == null)
+				target.put(name, value);
+			else
+				target.put(pool.intern(name), pool.internValue(value));
+		}
+	}
+
+	/**
+	 * Get a single attribute of the last scanned section.
+	 * If the attribute is repeated the last one is returned.
+	 *
+	 * @param name Attribute name
+	 * @return Return attribute value or {@code null} if not exists
+	 */
+	@Nullable String getAttribute(@NotNull String name) {
+		int index = indexOfAttribute(name);
+		return index == -1 ? null : getAttributeValue(index);
+	}
+
+	/**
+	 * Get attribute name
+	 *
+	 * @param index Attribute index
+	 * @return Return attribute name
+	 */
+	@NotNull String getAttributeName(int index) {
+		return text(attributeRanges[index * 4], attributeRanges[index * 4 + 1]);
+	}
+
+	/**
+	 * Get attribute value. Quotes are removed.
+	 *
+	 * @param index Attribute index
+	 * @return Return attribute value
+	 */
+	@NotNull String getAttributeValue(int index) {
+		return text(attributeRanges[index * 4 + 2], attributeRanges[index * 4 + 3]);
+	}
+
+	/**
+	 * Find an attribute of the last scanned section without creating strings.
+	 * If the attribute is repeated the last one is returned.
+	 *
+	 * @param name Attribute name
+	 * @return Return attribute index or {@code -1} if not exists
+	 */
+	int indexOfAttribute(@NotNull String name) {
+		for (int i = attributeCount - 1; i >= 0; i--) {
+			if (regionEquals(attributeRanges[i * 4], attributeRanges[i * 4 + 1], name)) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Compare an attribute value without creating strings
+	 *
+	 * @param name  Attribute name
+	 * @param value Expected value without quotes
+	 * @return Return {@code true} if attribute exists and has the given value
+	 */
+	boolean attributeEquals(@NotNull String name, @NotNull String value) {
+		int index = indexOfAttribute(name);
+		return index != -1 && regionEquals(attributeRanges[index * 4 + 2], attributeRanges[index * 4 + 3], value);
+	}
+
+	/**
+	 * Get an integer attribute without creating strings
+	 *
+	 * @param name     Attribute name
+	 * @param defValue Default value if attribute not exists or is not an integer
+	 * @return Return attribute value or {@code defValue}
+	 */
+	int getIntAttribute(@NotNull String name, int defValue) {
+		int index = indexOfAttribute(name);
+		if (index == -1) return defValue;
+		return parseInt(source, attributeRanges[index * 4 + 2], attributeRanges[index * 4 + 3], defValue);
+	}
+
+	/**
+	 * Compare a range of the last scanned source without creating strings
+	 *
+	 * @param start Start index
+	 * @param end   End index
+	 * @param value Value to compare
+	 * @return Return {@code true} if range content is equals to {@code value}
+	 */
+	boolean regionEquals(int start, int end, @NotNull String value) {
+		if (start == -1) return false;
+		// Byte sources use byte indices, non ASCII values must be decoded
+		if (source instanceof Utf8CharSequence) {
+			for (int i = 0; i < value.length(); i++) {
+				if (value.charAt(i) >= 0x80) return text(start, end).equals(value);
+			}
+		}
+		if (end - start != value.length()) return false;
+		for (int i = 0; i < value.length(); i++) {
+			if (source.charAt(start + i) != value.charAt(i)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Materialize a range of the last scanned source.
+	 * Byte sources are decoded directly without intermediate views.
+	 *
+	 * @param start Start index
+	 * @param end   End index
+	 * @return Return a string with the range content
+	 */
+	@NotNull String text(int start, int end) {
+		if (source instanceof Utf8CharSequence)
+			return ((Utf8CharSequence) source).toString(start, end);
+		return source.subSequence(start, end).toString();
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Scan property rule
+	 *
+	 * @param src   Source sequence
+	 * @param start Trimmed start
+	 * @param end   Trimmed end
+	 * @return Return {@code true} if range is a valid property
+	 */
+	private boolean scanProperty(@NotNull CharSequence src, int start, int end) {
+		// [A-Za-z]
+		char first = src.charAt(start);
+		if (!((first >= 'A' && first <= 'Z') || (first >= 'a' && first <= 'z')))
+			return false;
+		// [\w/]+
+		int pos = start + 1;
+		while (pos < end && (isWordChar(src.charAt(pos)) || src.charAt(pos) == '/')) pos++;
+		if (pos == start + 1) return false;
+		int kEnd = pos;
+		// \s?=
+		if (pos < end && isRegexSpace(src.charAt(pos))) pos++;
+		if (pos >= end || src.charAt(pos) != '=') return false;
+		pos++;
+		// (.*+)$
+		int vEnd = pos;
+		while (vEnd < end && !isLineTerminator(src.charAt(vEnd))) vEnd++;
+		if (vEnd != end && vEnd != end - 1) return false;
+		// Save ranges
+		keyStart = start;
+		keyEnd = kEnd;
+		valueStart = trimStart(src, pos, vEnd);
+		valueEnd = trimEnd(src, valueStart, vEnd);
+		return true;
+	}
+
+	/**
+	 * Tokenize the section header in a single pass. The name is the first not empty text between
+	 * attributes. Quoted values with "=" are discarded like the old "key=value".split("=") check.
+	 */
+	private void scanHeader() {
+		int pos = dataStart;
+		while (pos < dataEnd) {
+			boolean found = findAttribute(pos, dataEnd);
+			if (nameStart == -1) {
+				int gapEnd = found ? matchStart : dataEnd;
+				int gStart = trimStart(source, pos, gapEnd);
+				if (gStart != gapEnd) {
+					nameStart = gStart;
+					nameEnd = trimEnd(source, gStart, gapEnd);
+				}
+			}
+			if (!found) return;
+			if (isSingleAssign()) addAttribute();
+			pos = matchEnd;
+		}
+	}
+
+	/**
+	 * Save the ranges of the last attribute match
+	 */
+	private void addAttribute() {
+		int slot = attributeCount * 4;
+		if (slot == attributeRanges.length) attributeRanges = Arrays.copyOf(attributeRanges, slot * 2);
+		boolean quoted = source.charAt(matchEquals + 1) == '"';
+		attributeRanges[slot] = matchStart;
+		attributeRanges[slot + 1] = matchEquals;
+		attributeRanges[slot + 2] = quoted ? matchEquals + 2 : matchEquals + 1;
+		attributeRanges[slot + 3] = quoted ? matchEnd - 1 : matchEnd;
+		attributeCount++;
+	}
+
+	/**
+	 * Find next attribute match
+	 *
+	 * @param from Start search index
+	 * @param end  End search index
+	 * @return Return {@code true} if any attribute was found
+	 */
+	private boolean findAttribute(int from, int end) {
+		int pos = from;
+		while (pos < end) {
+			if (!isWordChar(source.charAt(pos))) {
+				pos++;
+				continue;
+			}
+			// Word block
+			int wEnd = pos;
+			while (wEnd < end && isWordChar(source.charAt(wEnd))) wEnd++;
+			if (wEnd < end && source.charAt(wEnd) == '=') {
+				int vEnd = matchAttributeValue(wEnd + 1, end);
+				if (vEnd != -1) {
+					matchStart = pos;
+					matchEquals = wEnd;
+					matchEnd = vEnd;
+					return true;
+				}
+			}
+			pos = wEnd;
+		}
+		return false;
+	}
+
+	/**
+	 * Match attribute value {@code "(.*?)"|\d+}. Escaped quotes do not close quoted values.
+	 *
+	 * @param pos Value start index
+	 * @param end End index
+	 * @return Return the value end index or {@code -1} if value is not valid
+	 */
+	private int matchAttributeValue(int pos, int end) {
+		if (pos >= end) return -1;
+		char c = source.charAt(pos);
+		if (c == '"') {
+			for (int i = pos + 1; i < end; i++) {
+				char current = source.charAt(i);
+				if (current == '"') return i + 1;
+				if (isLineTerminator(current)) return -1;
+				// Escape sequence
+				if (current == '\\' && i + 1 < end && !isLineTerminator(source.charAt(i + 1))) i++;
+			}
+			return -1;
+		}
+		if (c >= '0' && c <= '9') {
+			int i = pos + 1;
+			while (i < end && source.charAt(i) >= '0' && source.charAt(i) <= '9') i++;
+			return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Check if last attribute contains only one assign symbol
+	 *
+	 * @return Return {@code true} if attribute value not contains "="
+	 */
+	private boolean isSingleAssign() {
+		for (int i = matchEquals + 1; i < matchEnd; i++) {
+			if (source.charAt(i) == '=') return false;
+		}
+		return true;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Character utilities
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Skip all leading whitespaces (the same rule of {@link String#trim()})
+	 *
+	 * @param src   Source sequence
+	 * @param start Start index
+	 * @param end   End index
+	 * @return Return first not blank index or {@code end}
+	 */
+	static int trimStart(@NotNull CharSequence src, int start, int end) {
+		while (start < end && src.charAt(start) <= ' ') start++;
+		return start;
+	}
+
+	/**
+	 * Skip all trailing whitespaces (the same rule of {@link String#trim()})
+	 *
+	 * @param src   Source sequence
+	 * @param start Start index
+	 * @param end   End index
+	 * @return Return last not blank index + 1 or {@code start}
+	 */
+	static int trimEnd(@NotNull CharSequence src, int start, int end) {
+		while (end > start && src.charAt(end - 1) <= ' ') end--;
+		return end;
+	}
+
+	/**
+	 * Parse a decimal integer range without creating strings
+	 *
+	 * @param src      Source sequence
+	 * @param start    Start index
+	 * @param end      End index
+	 * @param defValue Default value if range is not a valid integer
+	 * @return Return parsed value or {@code defValue}
+	 */
+	static int parseInt(@NotNull CharSequence src, int start, int end, int defValue) {
+		boolean negative = start < end && src.charAt(start) == '-';
+		int pos = negative ? start + 1 : start;
+		if (pos == end || end - pos > 10) return defValue;
+		long result = 0;
+		for (; pos < end; pos++) {
+			char c = src.charAt(pos);
+			if (c < '0' || c > '9') return defValue;
+			result = result * 10 + (c - '0');
+		}
+		if (negative) result = -result;
+		return result < Integer.MIN_VALUE || result > Integer.MAX_VALUE ? defValue : (int) result;
+	}
+
+	/**
+	 * Regex {@code \w} character
+	 *
+	 * @param c Target character
+	 * @return Return {@code true} if character is a word character
+	 */
+	static boolean isWordChar(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+	}
+
+	/**
+	 * Regex {@code \s} character
+	 *
+	 * @param c Target character
+	 * @return Return {@code true} if character is a whitespace
+	 */
+	static boolean isRegexSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	/**
+	 * Characters not matched by regex {@code .}
+	 *
+	 * @param c Target character
+	 * @return Return {@code true} if character is a line terminator
+	 */
+	static boolean isLineTerminator(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Extra classes
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * All line types
+	 */
+	enum LineType {
+
+		/**
+		 * Empty line or comment
+		 */
+		COMMENT,
+
+		/**
+		 * Section header. Section name can be {@code null}.
+		 */
+		SECTION,
+
+		/**
+		 * Valid property
+		 */
+		PROPERTY,
+
+		/**
+		 * Any other text. Used like extra data of the last property.
+		 */
+		TEXT
+
+	}
+
+}
@@ -0,0 +1,239 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of {@link Ini} content at a specific moment.
+ * <p>
+ * Snapshots never change, so any number of threads can read them without locks. Every time the
+ * {@link Ini} content changes a new snapshot is published and the old one stays valid.
+ * Sections that did not change are shared between snapshots.
+ *
+ * @see Ini#getSnapshot()
+ */
+public final class IniSnapshot {
+
+	/**
+	 * Value cached for paths of missing properties
+	 */
+	private static final Object MISSING = new Object();
+
+	/**
+	 * Snapshot number. Every new snapshot of the same ini has a bigger number.
+	 */
+	private final long version;
+
+	/**
+	 * Default section copy
+	 */
+	private final ISection defaultSection;
+
+	/**
+	 * All sections in file order
+	 */
+	private final List<ISection> sectionList;
+
+	/**
+	 * All sections in file order
+	 */
+	private final Set<ISection> sectionSet;
+
+	/**
+	 * Sections grouped by name
+	 */
+	private final Map<String, List<ISection>> sectionIndex;
+
+	/**
+	 * Resolved {@link IniPath} values. Missing properties are stored as {@link #MISSING}.
+	 * Only paths resolved in this snapshot are stored, and reads do not lock.
+	 */
+	private final Map<IniPath, Object> pathValues = new ConcurrentHashMap<>();
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Snapshots are created only by {@link Ini}
+	 *
+	 * @param v  Snapshot number
+	 * @param ds Default section copy
+	 * @param s  All section copies (default section included)
+	 */
+	IniSnapshot(long v, @NotNull SectionImpl ds, @NotNull List<SectionImpl> s) {
+		version = v;
+		defaultSection = ds;
+		Map<String, List<ISection>> index = new HashMap<>();
+		for (SectionImpl section : s)
+			index.computeIfAbsent(section.getSectionName(), k -> new ArrayList<>(1)).add(section);
+		index.replaceAll((k, list) -> Collections.unmodifiableList(list));
+		sectionList = Collections.unmodifiableList(new ArrayList<>(s));
+		sectionSet = Collections.unmodifiableSet(new LinkedHashSet<>(s));
+		sectionIndex = index;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Get snapshot number
+	 *
+	 * @return Return snapshot number. Newer snapshots have bigger numbers.
+	 */
+	@Contract(pure = true)
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Get ini default section
+	 *
+	 * @return Default section
+	 */
+	@Contract(pure = true)
+	public @NotNull ISection getDefaultSection() {
+		return defaultSection;
+	}
+
+	/**
+	 * Check if section exists
+	 *
+	 * @param name Target section name
+	 * @return Return {@code true} if section exists or {@code false} otherwise
+	 */
+	public boolean sectionExists(String name) {
+		return sectionIndex.containsKey(name);
+	}
+
+	/**
+	 * Get section from name
+	 *
+	 * @param name Target section name
+	 * @return Returns the first section with the given name or {@code null} if not exists
+	 */
+	public @Nullable ISection getSection(String name) {
+		List<ISection> sections = sectionIndex.get(name);
+		return sections == null ? null : sections.get(0);
+	}
+
+	/**
+	 * Get all sections with the same name
+	 *
+	 * @param name Target section name
+	 * @return Return a list with all sections in insertion order or {@code null} if not exists
+	 */
+	@UnmodifiableView
+	public @Nullable List<ISection> getSections(String name) {
+		return sectionIndex.get(name);
+	}
+
+	/**
+	 * Get property value from a compiled path. The value is cached in this snapshot.
+	 *
+	 * @param path Target property path
+	 * @return Return property value or {@code null} if section or property not exists
+	 */
+	public @Nullable String getProperty(@NotNull IniPath path) {
+		Object value = pathValues.get(path);
+		if (value == null) value = pathValues.computeIfAbsent(path, this::resolve);
+		return value == MISSING ? null : (String) value;
+	}
+
+	/**
+	 * Get property value from a compiled path or default if not exists
+	 *
+	 * @param path   Target property path
+	 * @param defVal Default value if property not exists
+	 * @return Return property value or {@code defVal} if section or property not exists
+	 */
+	public @Nullable String getProperty(@NotNull IniPath path, @Nullable String defVal) {
+		String value = getProperty(path);
+		return value == null ? defVal : value;
+	}
+
+	/**
+	 * Check if property exists
+	 *
+	 * @param path Target property path
+	 * @return Return {@code true} if property exists or {@code false} otherwise
+	 */
+	public boolean propertyExists(@NotNull IniPath path) {
+		return getProperty(path) != null;
+	}
+
+	/**
+	 * Get section from its position in the file
+	 *
+	 * @param index Section position. The default section is always the first one.
+	 * @return Return the section at the given position
+	 * @throws IndexOutOfBoundsException Error if position is not valid
+	 */
+	public @NotNull ISection getSection(int index) {
+		return sectionList.get(index);
+	}
+
+	/**
+	 * Get number of sections
+	 *
+	 * @return Return number of sections (default section included)
+	 */
+	public int getSectionCount() {
+		return sectionList.size();
+	}
+
+	/**
+	 * Get all sections
+	 *
+	 * @return Get a set with all sections in file order
+	 */
+	@UnmodifiableView
+	public @NotNull Set<ISection> getAllSections() {
+		return sectionSet;
+	}
+
+	/**
+	 * Get all sections with their positions
+	 *
+	 * @return Return a list with all sections in file order
+	 */
+	@UnmodifiableView
+	public @NotNull List<ISection> getSectionList() {
+		return sectionList;
+	}
+
+	/**
+	 * Resolve a path
+	 *
+	 * @param path Target property path
+	 * @return Return property value or {@link #MISSING}
+	 */
+	private @NotNull Object resolve(@NotNull IniPath path) {
+		String value = path.lookup(this);
+		return value == null ? MISSING : value;
+	}
+
+	/**
+	 * Object string representation
+	 *
+	 * @return Object string representation
+	 */
+	@Override
+	public String toString() {
+		return "IniSnapshot{" +
+			"version=" + version +
+			", sections=" + sectionSet +
+			'}';
+	}
+
+}
@@ -0,0 +1,258 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared file watcher used by {@link Ini#startWatching()}.
+ * <p>
+ * Only one {@link WatchService} and one daemon thread are used for all watched files.
+ * File events are grouped (debounced), so a burst of writes produces a single reload.
+ */
+public final class IniWatcher {
+
+	/**
+	 * Default time to wait after the last file event before reloading (in milliseconds)
+	 */
+	public static final long DEFAULT_DEBOUNCE_MILLIS = 250;
+
+	/**
+	 * Shared instance
+	 */
+	private static IniWatcher instance;
+
+	/**
+	 * System watch service
+	 */
+	private final WatchService watchService;
+
+	/**
+	 * Watched directories
+	 */
+	private final Map<Path, WatchKey> directories = new HashMap<>();
+
+	/**
+	 * Watched files and their ini instances
+	 */
+	private final Map<Path, Set<Ini>> files = new HashMap<>();
+
+	/**
+	 * Files waiting for reload and their reload time
+	 */
+	private final Map<Path, Long> pending = new HashMap<>();
+
+	/**
+	 * Current debounce time
+	 */
+	private volatile long debounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Private constructor. Use {@link #getInstance()}.
+	 *
+	 * @throws IOException Error if watch service cannot be created
+	 */
+	private IniWatcher() throws IOException {
+		watchService = FileSystems.getDefault().newWatchService();
+		Thread thread = new Thread(this::run, "IniWatcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Get shared watcher instance
+	 *
+	 * @return Return the shared instance
+	 * @throws IOException Error if watch service cannot be created
+	 */
+	public static synchronized @NotNull IniWatcher getInstance() throws IOException {
+		if (instance == null)
+			instance = new IniWatcher();
+		return instance;
+	}
+
+	/**
+	 * Get debounce time
+	 *
+	 * @return Return the time to wait after the last file event (in milliseconds)
+	 */
+	public long getDebounceMillis() {
+		return debounceMillis;
+	}
+
+	/**
+	 * Change debounce time
+	 *
+	 * @param millis Time to wait after the last file event (in milliseconds)
+	 */
+	public void setDebounceMillis(long millis) {
+		if (millis < 0)
+			throw new IllegalArgumentException("Debounce time cannot be negative.");
+		debounceMillis = millis;
+	}
+
+	/**
+	 * Start watching an ini file
+	 *
+	 * @param ini Target ini
+	 * @throws IOException Error if directory cannot be watched
+	 */
+	synchronized void register(@NotNull Ini ini) throws IOException {
+		Path file = ini.getPath().toAbsolutePath().normalize();
+		Path directory = file.getParent();
+		// Register directory only once
+		if (!directories.containsKey(directory)) {
+			WatchKey key = directory.register(
+				watchService,
+				StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY
+			);
+			directories.put(directory, key);
+		}
+		files.computeIfAbsent(file, k -> new HashSet<>()).add(ini);
+	}
+
+	/**
+	 * Stop watching an ini file
+	 *
+	 * @param ini Target ini
+	 */
+	synchronized void unregister(@NotNull Ini ini) {
+		Path file = ini.getPath().toAbsolutePath().normalize();
+		Set<Ini> instances = files.get(file);
+		if (instances == null || !instances.remove(ini) || !instances.isEmpty()) return;
+		files.remove(file);
+		pending.remove(file);
+		// Release directory if it has no more files
+		Path directory = file.getParent();
+		for (Path item : files.keySet()) {
+			if (item.getParent().equals(directory)) return;
+		}
+		WatchKey key = directories.remove(directory);
+		if (key != null) key.cancel();
+	}
+
+	/**
+	 * Check if an ini is watched
+	 *
+	 * @param ini Target ini
+	 * @return Return {@code true} if ini is watched
+	 */
+	synchronized boolean isRegistered(@NotNull Ini ini) {
+		Set<Ini> instances = files.get(ini.getPath().toAbsolutePath().normalize());
+		return instances != null && instances.contains(ini);
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Watcher thread loop. The thread is shared by all the instances, so errors are reported
+	 * and the loop continues.
+	 */
+	private void run() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				long wait = nextDelay();
+				WatchKey key = wait < 0 ? watchService.take() : watchService.poll(wait, TimeUnit.MILLISECONDS);
+				try {
+					if (key != null) processKey(key);
+					reloadPending();
+				} catch (ClosedWatchServiceException err) {
+					throw err;
+				} catch (RuntimeException err) {
+					// Keep the watcher alive
+					err.printStackTrace();
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException ignored) {
+			// Watcher finished
+		}
+	}
+
+	/**
+	 * Calculate the time until the next pending reload
+	 *
+	 * @return Return the time in milliseconds or {@code -1} if nothing is pending
+	 */
+	private synchronized long nextDelay() {
+		if (pending.isEmpty()) return -1;
+		long next = Collections.min(pending.values());
+		return Math.max(1, next - System.currentTimeMillis());
+	}
+
+	/**
+	 * Process all key events
+	 *
+	 * @param key Target key
+	 */
+	private synchronized void processKey(@NotNull WatchKey key) {
+		Path directory = (Path) key.watchable();
+		long reloadTime = System.currentTimeMillis() + debounceMillis;
+		try {
+			for (WatchEvent<?> event : key.pollEvents()) {
+				// Lost events, reload all directory files
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+					for (Path item : files.keySet()) {
+						if (item.getParent().equals(directory)) pending.put(item, reloadTime);
+					}
+					continue;
+				}
+				Path file = directory.resolve((Path) event.context());
+				if (files.containsKey(file)) pending.put(file, reloadTime);
+			}
+		} finally {
+			// Reset even on errors or the directory is not watched anymore.
+			// Directory is not accessible anymore if reset fails.
+			if (!key.reset()) directories.remove(directory);
+		}
+	}
+
+	/**
+	 * Reload all files that are ready
+	 */
+	private void reloadPending() {
+		List<Ini> ready = new ArrayList<>();
+		// Collect ready elements
+		synchronized (this) {
+			long now = System.currentTimeMillis();
+			Iterator<Map.Entry<Path, Long>> iterator = pending.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<Path, Long> entry = iterator.next();
+				if (entry.getValue() > now) continue;
+				iterator.remove();
+				Set<Ini> instances = files.get(entry.getKey());
+				if (instances != null) ready.addAll(instances);
+			}
+		}
+		// Reload outside the lock
+		for (Ini ini : ready) {
+			try {
+				IniChanges changes = ini.updateContent();
+				if (!changes.isEmpty()) ini.fireContentChanged(changes);
+			} catch (IOException | RuntimeException err) {
+				// Keep the watcher alive
+				err.printStackTrace();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,653 @@
+package org.godot.utilities.core.ini;
+
+import org.godot.utilities.core.ini.convertion.DataConvert;
+import org.godot.utilities.core.ini.convertion.Variant;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.*;
+
+/**
+ * Save {@link Ini} content with the minimum number of changes.
+ * <p>
+ * The original file is scanned again to know where every section and property is written.
+ * Unchanged lines are copied byte by byte (comments, blank lines, line terminators and
+ * value format are kept) and only modified, removed or new properties and sections are written.
+ * The result is written to a temporal file in the same directory and moved over the target at once,
+ * so the file is never left half written.
+ */
+final class IniWriter implements IniLines.ILineConsumer {
+
+	/**
+	 * Output buffer size
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Separator used when file has no properties
+	 */
+	private static final String DEFAULT_SEPARATOR = " = ";
+
+	/**
+	 * Characters that can follow a backslash in Godot strings
+	 */
+	private static final String ESCAPE_CHARACTERS = "btnfru\"\\";
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Line scanner
+	 */
+	private final IniScanner scanner = new IniScanner();
+
+	/**
+	 * Value that continues in the next lines
+	 */
+	private final ValueAccumulator value = new ValueAccumulator();
+
+	/**
+	 * All file sections in file order. The first one is the default section.
+	 */
+	private final List<FileSection> sections = new ArrayList<>();
+
+	/**
+	 * Current file section
+	 */
+	private FileSection section;
+
+	/**
+	 * Last section property
+	 */
+	private FileProperty lastProperty;
+
+	/**
+	 * Property of the multi-line value
+	 */
+	private FileProperty pendingProperty;
+
+	/**
+	 * Orphan lines of the last property
+	 */
+	private StringBuilder buffer;
+
+	/**
+	 * End of the last orphan line
+	 */
+	private int bufferEnd;
+
+	/**
+	 * Separator between keys and values of the first file property
+	 */
+	private String separator;
+
+	/**
+	 * File content
+	 */
+	private Utf8CharSequence content;
+
+	/**
+	 * Line terminator used by the file
+	 */
+	private String newLine = "\n";
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * This class is only used by {@link #write(Ini, Path, Path)}
+	 */
+	private IniWriter() {
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Write ini content
+	 *
+	 * @param ini    Source ini
+	 * @param source Original file. Its layout is used as template.
+	 * @param target Target file. It can be the same as {@code source}.
+	 * @return Return {@code true} if target file was written or {@code false} if content did not change
+	 * @throws IOException Error if file cannot be read or written
+	 */
+	static boolean write(@NotNull Ini ini, @NotNull Path source, @NotNull Path target) throws IOException {
+		IniWriter writer = new IniWriter();
+		byte[] data = Files.exists(source) ? Files.readAllBytes(source) : new byte[0];
+		int start = writer.scan(data);
+		List<Edit> edits = writer.diff(ini);
+		// Nothing to do
+		boolean sameFile = Files.exists(source) && Files.exists(target) && Files.isSameFile(source, target);
+		if (edits.isEmpty() && sameFile) return false;
+		writer.commit(data, start, edits, target);
+		return true;
+	}
+
+	/**
+	 * Register a single line
+	 *
+	 * @param src   Source sequence
+	 * @param start Line start index
+	 * @param end   Line end index (without terminator)
+	 * @return Always {@code true} to read all lines
+	 */
+	@Override
+	public boolean accept(@NotNull CharSequence src, int start, int end) {
+		// Lines of an open value are not tokenized
+		if (value.isOpen()) {
+			if (value.append(src, start, end)) storeMultiLineValue(end);
+			return true;
+		}
+		IniScanner.LineType type = scanner.scan(src, start, end);
+		if (type != IniScanner.LineType.TEXT) checkOldBuffer();
+		switch (type) {
+			case COMMENT:
+				break;
+			case SECTION:
+				createNewSection(start, end);
+				break;
+			case PROPERTY:
+				createNewProperty(src, start);
+				break;
+			default:
+				// Orphan lines are part of the last property value
+				String text = scanner.text(start, end).trim();
+				if (buffer == null)
+					buffer = new StringBuilder(text);
+				else
+					buffer.append(' ').append(text);
+				bufferEnd = end;
+				break;
+		}
+		return true;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Scan the original layout. The same rules of {@link IniParser} are used.
+	 *
+	 * @param data File content
+	 * @return Return the first content index (after the UTF-8 BOM)
+	 */
+	private int scan(byte @NotNull [] data) {
+		content = new Utf8CharSequence(ByteBuffer.wrap(data));
+		int start = data.length >= 3 && data[0] == (byte) 0xEF && data[1] == (byte) 0xBB &&
+			data[2] == (byte) 0xBF ? 3 : 0;
+		section = new FileSection(null, start, start);
+		section.insertAt = start;
+		sections.add(section);
+		// Keep the file line terminator
+		for (int i = start; i < data.length; i++) {
+			if (data[i] != '\n' && data[i] != '\r') continue;
+			newLine = data[i] == '\r' && i + 1 < data.length && data[i + 1] == '\n' ? "\r\n" :
+				String.valueOf((char) data[i]);
+			break;
+		}
+		IniLines.split(content, start, this);
+		if (value.isOpen()) storeMultiLineValue(content.length());
+		checkOldBuffer();
+		section.bodyEnd = content.length();
+		return start;
+	}
+
+	/**
+	 * Compare file layout with ini content
+	 *
+	 * @param ini Source ini
+	 * @return Return all changes sorted by position
+	 */
+	private @NotNull List<Edit> diff(@NotNull Ini ini) {
+		List<Edit> edits = new ArrayList<>();
+		// Group file sections by name
+		Map<String, List<FileSection>> fileIndex = new HashMap<>();
+		for (FileSection fs : sections.subList(1, sections.size()))
+			fileIndex.computeIfAbsent(fs.name, k -> new ArrayList<>(1)).add(fs);
+		Set<FileSection> matched = new HashSet<>();
+		// Default section
+		diffSection(sections.get(0), (SectionImpl) ini.getDefaultSection(), edits);
+		matched.add(sections.get(0));
+		// Sections are matched by name and position like Ini#updateContent()
+		Map<String, Integer> occurrences = new HashMap<>();
+		StringBuilder appended = new StringBuilder();
+		for (ISection item : ini.getAllSections()) {
+			if (item == ini.getDefaultSection()) continue;
+			SectionImpl memory = (SectionImpl) item;
+			int index = occurrences.merge(memory.getSectionName(), 1, Integer::sum) - 1;
+			List<FileSection> candidates = fileIndex.get(memory.getSectionName());
+			if (candidates != null && index < candidates.size()) {
+				FileSection fs = candidates.get(index);
+				matched.add(fs);
+				diffSection(fs, memory, edits);
+				continue;
+			}
+			// New section
+			appended.append(newLine).append(formatHeader(memory)).append(newLine);
+			for (String name : memory.getPropertyNames())
+				appended.append(formatProperty(name, memory.properties.get(name))).append(newLine);
+		}
+		// Removed sections
+		for (FileSection fs : sections) {
+			if (!matched.contains(fs)) edits.add(new Edit(fs.headerStart, fs.bodyEnd, ""));
+		}
+		if (appended.length() > 0) {
+			int end = content.length();
+			// Close last line before new content
+			if (end > 0 && content.charAt(end - 1) != '\n' && content.charAt(end - 1) != '\r')
+				appended.insert(0, newLine);
+			edits.add(new Edit(end, end, appended.toString()));
+		}
+		// Insertions go before any edit that starts at the same position
+		edits.sort(Comparator.comparingInt((Edit e) -> e.start).thenComparingInt(e -> e.end));
+		return edits;
+	}
+
+	/**
+	 * Compare a single section
+	 *
+	 * @param fs     File section
+	 * @param memory Ini section
+	 * @param edits  Target edit list
+	 */
+	private void diffSection(@NotNull FileSection fs, @NotNull SectionImpl memory, @NotNull List<Edit> edits) {
+		// Load lazy content
+		Set<String> names = memory.getPropertyNames();
+		// Header
+		if (fs.name != null && !fs.attributes.equals(memory.attributes))
+			edits.add(new Edit(fs.headerStart, fs.headerEnd, formatHeader(memory)));
+		// Modified and removed properties
+		for (Map.Entry<String, FileProperty> entry : fs.properties.entrySet()) {
+			FileProperty property = entry.getValue();
+			String current = memory.properties.get(entry.getKey());
+			if (current == null)
+				edits.add(new Edit(property.lineStart, lineEnd(property.valueEnd), ""));
+			else if (!current.equals(property.value))
+				edits.add(new Edit(property.valueStart, property.valueEnd, formatValue(current, property.quoted)));
+		}
+		// New properties
+		StringBuilder inserted = new StringBuilder();
+		for (String name : names) {
+			if (fs.properties.containsKey(name)) continue;
+			inserted.append(formatProperty(name, memory.properties.get(name))).append(newLine);
+		}
+		if (inserted.length() == 0) return;
+		int at = fs.insertAt;
+		// Last line without terminator
+		if (at > 0 && content.charAt(at - 1) != '\n' && content.charAt(at - 1) != '\r')
+			inserted.insert(0, newLine);
+		edits.add(new Edit(at, at, inserted.toString()));
+	}
+
+	/**
+	 * Write all changes to a temporal file and replace the target
+	 *
+	 * @param data   Original content
+	 * @param start  First content index
+	 * @param edits  Sorted changes. They must not overlap.
+	 * @param target Target file
+	 * @throws IOException           Error if file cannot be written
+	 * @throws IllegalStateException Error if two changes overlap. Target file is not modified.
+	 */
+	private void commit(byte @NotNull [] data, int start, @NotNull List<Edit> edits, @NotNull Path target)
+		throws IOException {
+		Path directory = target.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile(directory, "." + target.getFileName(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+				OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+				// BOM and unchanged regions are copied without decoding
+				out.write(data, 0, start);
+				int pos = start;
+				for (Edit edit : edits) {
+					// A skipped edit would lose a change
+					if (edit.start < pos)
+						throw new IllegalStateException(
+							String.format("Overlapping changes at %d and %d", edit.start, pos));
+					out.write(data, pos, edit.start - pos);
+					out.write(edit.text.getBytes(StandardCharsets.UTF_8));
+					pos = edit.end;
+				}
+				out.write(data, pos, data.length - pos);
+				out.flush();
+				channel.force(true);
+			}
+			copyPermissions(target, temp);
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Keep target permissions. Temporal files are only readable by the owner.
+	 *
+	 * @param target Target file
+	 * @param temp   Temporal file
+	 */
+	private static void copyPermissions(@NotNull Path target, @NotNull Path temp) {
+		if (!Files.exists(target)) return;
+		try {
+			Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(target);
+			Files.setPosixFilePermissions(temp, permissions);
+		} catch (UnsupportedOperationException | IOException ignored) {
+			// Not a POSIX file system
+		}
+	}
+
+	/**
+	 * Get the end of a line including its terminator
+	 *
+	 * @param end Line end index (without terminator)
+	 * @return Return the start of the next line
+	 */
+	private int lineEnd(int end) {
+		if (end >= content.length()) return end;
+		char c = content.charAt(end);
+		if (c == '\r' && end + 1 < content.length() && content.charAt(end + 1) == '\n') return end + 2;
+		return c == '\r' || c == '\n' ? end + 1 : end;
+	}
+
+	/**
+	 * Create new section from last scanned line
+	 *
+	 * @param start Line start index
+	 * @param end   Line end index
+	 */
+	private void createNewSection(int start, int end) {
+		String sectionName = scanner.getSectionName();
+		// Lines with invalid headers are ignored like in IniParser
+		if (sectionName == null) return;
+		section.bodyEnd = start;
+		section = new FileSection(sectionName, start, end);
+		section.insertAt = lineEnd(end);
+		scanner.readAttributes(section.attributes);
+		sections.add(section);
+		lastProperty = null;
+	}
+
+	/**
+	 * Register property from last scanned line
+	 *
+	 * @param src   Line source
+	 * @param start Line start index
+	 */
+	private void createNewProperty(@NotNull CharSequence src, int start) {
+		if (separator == null) separator = scanner.text(scanner.keyEnd, scanner.valueStart);
+		FileProperty property = new FileProperty(start, scanner.valueStart);
+		property.quoted = scanner.valueStart < scanner.valueEnd && src.charAt(scanner.valueStart) == '"';
+		// Repeated keys: only the last one is used
+		section.properties.put(DataConvert.cleanString(scanner.getKey()), property);
+		if (value.open(src, scanner.valueStart, scanner.valueEnd, true)) {
+			pendingProperty = property;
+			return;
+		}
+		property.value = DataConvert.cleanString(scanner.getValue());
+		setValueEnd(property, scanner.valueEnd);
+		lastProperty = property;
+	}
+
+	/**
+	 * Save a complete multi-line value
+	 *
+	 * @param end Value end index
+	 */
+	private void storeMultiLineValue(int end) {
+		pendingProperty.value = DataConvert.cleanString(DataConvert.cleanString(value.finish()));
+		setValueEnd(pendingProperty, end);
+		lastProperty = pendingProperty;
+		pendingProperty = null;
+	}
+
+	/**
+	 * Add orphan lines to the last property
+	 */
+	private void checkOldBuffer() {
+		if (buffer == null) return;
+		if (lastProperty != null) {
+			lastProperty.value = DataConvert.cleanString((lastProperty.value.trim() + " " + buffer).trim());
+			setValueEnd(lastProperty, bufferEnd);
+		}
+		buffer = null;
+	}
+
+	/**
+	 * Update the end of a property and the insertion point of its section
+	 *
+	 * @param property Target property
+	 * @param end      Value end index
+	 */
+	private void setValueEnd(@NotNull FileProperty property, int end) {
+		property.valueEnd = end;
+		section.insertAt = Math.max(section.insertAt, lineEnd(end));
+	}
+
+	/**
+	 * Format a property line (without terminator)
+	 *
+	 * @param name  Property name
+	 * @param value Property value
+	 * @return Return property line
+	 */
+	private @NotNull String formatProperty(@NotNull String name, @NotNull String value) {
+		return name + (separator == null ? DEFAULT_SEPARATOR : separator) + formatValue(value, false);
+	}
+
+	/**
+	 * Format a value. Values are saved like they are read, so plain text is quoted and
+	 * any other Godot value (numbers, booleans, arrays, constructors, ...) is written as is.
+	 *
+	 * @param value  Target value
+	 * @param quoted Replaced value was quoted. It is quoted again, so its Godot type does not change.
+	 * @return Return value representation
+	 */
+	private static @NotNull String formatValue(@NotNull String value, boolean quoted) {
+		if (quoted || value.isEmpty() || Variant.valueOf(value).getType() == Variant.Type.STRING)
+			return quote(value);
+		return value;
+	}
+
+	/**
+	 * Quote a value with Godot string rules. Values keep the escape sequences they are read with,
+	 * so existing sequences are kept and only quotes and backslashes that would break the string are escaped.
+	 *
+	 * @param value Value without quotes
+	 * @return Return quoted value
+	 */
+	private static @NotNull String quote(@NotNull String value) {
+		StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"') {
+				builder.append("\\\"");
+			} else if (c != '\\') {
+				builder.append(c);
+			} else if (i + 1 < value.length() && ESCAPE_CHARACTERS.indexOf(value.charAt(i + 1)) != -1) {
+				// Existing escape sequence
+				builder.append(c).append(value.charAt(++i));
+			} else {
+				builder.append("\\\\");
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+	/**
+	 * Format a section header. Numeric attributes are not quoted and quoted attributes are escaped like
+	 * values. Line terminators are escaped because headers are single lines.
+	 *
+	 * @param memory Target section
+	 * @return Return section header
+	 */
+	private static @NotNull String formatHeader(@NotNull SectionImpl memory) {
+		StringBuilder header = new StringBuilder("[").append(memory.getSectionName());
+		for (Map.Entry<String, String> entry : memory.attributes.entrySet()) {
+			header.append(' ').append(entry.getKey()).append('=');
+			String attr = entry.getValue();
+			// Same rule as the attribute grammar: digits or quoted text
+			if (!attr.isEmpty() && attr.chars().allMatch(c -> c >= '0' && c <= '9'))
+				header.append(attr);
+			else
+				header.append(quote(attr.replace("\n", "\\n").replace("\r", "\\r")));
+		}
+		return header.append(']').toString();
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Extra classes
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Section location in the original file
+	 */
+	private static final class FileSection {
+
+		/**
+		 * Section name. It is {@code null} for the default section.
+		 */
+		final @Nullable String name;
+
+		/**
+		 * Header line range (without terminator)
+		 */
+		final int headerStart, headerEnd;
+
+		/**
+		 * Position of the next section header
+		 */
+		int bodyEnd;
+
+		/**
+		 * Position used to insert new properties (after the last property)
+		 */
+		int insertAt;
+
+		/**
+		 * Header attributes
+		 */
+		final Map<String, String> attributes = new LinkedHashMap<>();
+
+		/**
+		 * Section properties
+		 */
+		final Map<String, FileProperty> properties = new HashMap<>();
+
+		/**
+		 * File section constructor
+		 *
+		 * @param n Section name
+		 * @param s Header start index
+		 * @param e Header end index
+		 */
+		FileSection(@Nullable String n, int s, int e) {
+			name = n;
+			headerStart = s;
+			headerEnd = e;
+		}
+
+	}
+
+	/**
+	 * Property location in the original file
+	 */
+	private static final class FileProperty {
+
+		/**
+		 * Property line start index
+		 */
+		final int lineStart;
+
+		/**
+		 * Value range. Multi-line values and orphan lines are included.
+		 */
+		final int valueStart;
+
+		/**
+		 * Value end index
+		 */
+		int valueEnd;
+
+		/**
+		 * Value as it is read by {@link IniParser}
+		 */
+		String value = "";
+
+		/**
+		 * Value is a quoted string in the file
+		 */
+		boolean quoted;
+
+		/**
+		 * File property constructor
+		 *
+		 * @param l Line start index
+		 * @param v Value start index
+		 */
+		FileProperty(int l, int v) {
+			lineStart = l;
+			valueStart = v;
+			valueEnd = v;
+		}
+
+	}
+
+	/**
+	 * Replacement of a file region
+	 */
+	private static final class Edit {
+
+		/**
+		 * Region range
+		 */
+		final int start, end;
+
+		/**
+		 * New region content
+		 */
+		final String text;
+
+		/**
+		 * Edit constructor
+		 *
+		 * @param s Region start index
+		 * @param e Region end index (exclusive)
+		 * @param t New content
+		 */
+		Edit(int s, int e, @NotNull String t) {
+			start = s;
+			end = e;
+			text = t;
+		}
+
+	}
+
+}
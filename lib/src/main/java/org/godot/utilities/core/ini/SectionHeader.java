@@ -0,0 +1,198 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Reusable tokenizer of section headers like {@code [ext_resource path="res://a.png" type="Texture" id=3]}.
+ * <p>
+ * The section name and the ranges of all the attributes are found in a single pass. Names and values
+ * are only materialized when they are requested, and methods like {@link #getIntAttribute(String, int)}
+ * or {@link #attributeEquals(String, String)} read the header directly without creating strings.
+ * The instance keeps the result of the last parsed header and it is not thread safe.
+ */
+public final class SectionHeader {
+
+	/**
+	 * Header scanner
+	 */
+	private final IniScanner scanner = new IniScanner();
+
+	/**
+	 * Last parsed line is a valid header
+	 */
+	private boolean valid;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Parse a header line
+	 *
+	 * @param line Target line
+	 * @return Return {@code true} if line is a valid section header
+	 */
+	public boolean parse(@NotNull CharSequence line) {
+		return parse(line, 0, line.length());
+	}
+
+	/**
+	 * Parse a header line stored inside a bigger sequence
+	 *
+	 * @param src   Source sequence
+	 * @param start Line start index (inclusive)
+	 * @param end   Line end index (exclusive, without line terminator)
+	 * @return Return {@code true} if line is a valid section header
+	 */
+	public boolean parse(@NotNull CharSequence src, int start, int end) {
+		valid = scanner.scan(src, start, end) == IniScanner.LineType.SECTION;
+		return valid;
+	}
+
+	/**
+	 * Check last parse result
+	 *
+	 * @return Return {@code true} if last parsed line is a valid section header
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * Get section name
+	 *
+	 * @return Return section name or {@code null} if header is not valid or has no name
+	 */
+	public @Nullable String getName() {
+		return valid ? scanner.getSectionName() : null;
+	}
+
+	/**
+	 * Compare section name without creating strings
+	 *
+	 * @param name Target name
+	 * @return Return {@code true} if header has the given name
+	 */
+	public boolean nameEquals(@NotNull String name) {
+		return valid && scanner.regionEquals(scanner.nameStart, scanner.nameEnd, name);
+	}
+
+	/**
+	 * Get number of attributes
+	 *
+	 * @return Return number of attributes or {@code 0} if header is not valid
+	 */
+	public int getAttributeCount() {
+		return valid ? scanner.attributeCount : 0;
+	}
+
+	/**
+	 * Get attribute name
+	 *
+	 * @param index Attribute index
+	 * @return Return attribute name
+	 * @throws IndexOutOfBoundsException Error if index is not valid
+	 */
+	public @NotNull String getAttributeName(int index) {
+		checkIndex(index);
+		return scanner.getAttributeName(index);
+	}
+
+	/**
+	 * Get attribute value. Quotes are removed.
+	 *
+	 * @param index Attribute index
+	 * @return Return attribute value
+	 * @throws IndexOutOfBoundsException Error if index is not valid
+	 */
+	public @NotNull String getAttributeValue(int index) {
+		checkIndex(index);
+		return scanner.getAttributeValue(index);
+	}
+
+	/**
+	 * Check if attribute exists
+	 *
+	 * @param name Attribute name
+	 * @return Return {@code true} if attribute exists
+	 */
+	public boolean hasAttribute(@NotNull String name) {
+		return valid && scanner.indexOfAttribute(name) != -1;
+	}
+
+	/**
+	 * Get attribute value. If the attribute is repeated the last one is returned.
+	 *
+	 * @param name Attribute name
+	 * @return Return attribute value or {@code null} if not exists
+	 */
+	public @Nullable String getAttribute(@NotNull String name) {
+		return valid ? scanner.getAttribute(name) : null;
+	}
+
+	/**
+	 * Compare attribute value without creating strings
+	 *
+	 * @param name  Attribute name
+	 * @param value Expected value without quotes
+	 * @return Return {@code true} if attribute exists and has the given value
+	 */
+	public boolean attributeEquals(@NotNull String name, @NotNull String value) {
+		return valid && scanner.attributeEquals(name, value);
+	}
+
+	/**
+	 * Get integer attribute (like {@code id} or {@code format}) without creating strings
+	 *
+	 * @param name     Attribute name
+	 * @param defValue Default value if attribute not exists or is not an integer
+	 * @return Return attribute value or {@code defValue}
+	 */
+	public int getIntAttribute(@NotNull String name, int defValue) {
+		return valid ? scanner.getIntAttribute(name, defValue) : defValue;
+	}
+
+	/**
+	 * Insert all attributes
+	 *
+	 * @param target Target map
+	 */
+	public void readAttributes(@NotNull Map<String, String> target) {
+		if (valid) scanner.readAttributes(target);
+	}
+
+	/**
+	 * Object string representation
+	 *
+	 * @return Object string representation
+	 */
+	@Override
+	public String toString() {
+		return "SectionHeader{" +
+			"name=" + getName() +
+			", attributes=" + getAttributeCount() +
+			'}';
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Check attribute index
+	 *
+	 * @param index Target index
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= getAttributeCount())
+			throw new IndexOutOfBoundsException(String.format("Invalid attribute index \"%d\".", index));
+	}
+
+}
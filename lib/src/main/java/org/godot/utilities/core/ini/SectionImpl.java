@@ -1,65 +1,89 @@
 package org.godot.utilities.core.ini;
 
 import org.godot.utilities.core.ini.convertion.DataConvert;
+import org.godot.utilities.core.ini.convertion.Variant;
 import org.godot.utilities.core.error.InvalidTypeValueException;
 import org.godot.utilities.core.error.PropertyNotFoundException;
 import org.godot.utilities.utils.MapUtils;
-import org.intellij.lang.annotations.RegExp;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 final class SectionImpl implements ISection {
 
 	/* ------------------------------------------------------------------
 	 *
-	 * Static properties
+	 * Properties
 	 *
 	 * ------------------------------------------------------------------ */
 
 	/**
-	 * Section attributes regex
+	 * Default section
 	 */
-	@RegExp
-	public static final String sectionAttributesRegex = "([\\w]+)=(\"(.*?)\"|\\d+)";
+	private ISection defaultSection;
 
 	/**
-	 * Regular expression to check if line is a valid property
+	 * Section name
 	 */
-	@RegExp
-	public static final String propertySectionRegex = "^([A-Za-z][\\w/]+)\\s?=\\s?(.*+)$";
+	private String sectionName;
 
-	/* ------------------------------------------------------------------
-	 *
-	 * Properties
-	 *
-	 * ------------------------------------------------------------------ */
+	/**
+	 * Section properties in file order. Small sections use flat arrays.
+	 * Values read in {@link Ini.LoadMode#VIEW} mode are views that are decoded on first use.
+	 */
+	final CompactMap properties = new CompactMap();
 
 	/**
-	 * Default section
+	 * Section attributes in file order
 	 */
-	private ISection defaultSection;
+	final Map<String, String> attributes = new CompactMap();
 
 	/**
-	 * Section name
+	 * Read-only view of {@link #attributes}
 	 */
-	private String sectionName;
+	private final Map<String, String> attributesView = Collections.unmodifiableMap(attributes);
 
 	/**
-	 * Section properties
+	 * Parsed values of every property. Every property keeps one value per type
+	 * (or per separator for lists).
 	 */
-	final Map<String, String> properties = new HashMap<>();
+	private final Map<String, Map<Object, Object>> valueCache = new ConcurrentHashMap<>();
 
 	/**
-	 * Section attributes
+	 * Ini that contains this section. Used to keep the name index updated.
 	 */
-	final Map<String, String> attributes = new HashMap<>();
+	Ini owner;
+
+	/**
+	 * Section position in the owner file order. It is {@code -1} if section has no owner.
+	 */
+	int position = -1;
+
+	/**
+	 * Lazy body source. It is {@code null} when properties are already parsed.
+	 */
+	private volatile Utf8CharSequence lazySource;
+
+	/**
+	 * Lazy body range
+	 */
+	int lazyStart, lazyEnd;
+
+	/**
+	 * Read-only section used by {@link IniSnapshot}
+	 */
+	private final boolean frozen;
+
+	/**
+	 * Last read-only copy. It is removed every time the content changes.
+	 */
+	private volatile SectionImpl frozenCopy;
 
 	/* ------------------------------------------------------------------
 	 *
@@ -76,6 +100,29 @@ final class SectionImpl implements ISection {
 	public SectionImpl(@NotNull String n, @Nullable ISection bs) {
 		sectionName = n;
 		defaultSection = bs;
+		frozen = false;
+	}
+
+	/**
+	 * Read-only copy constructor. Lazy sections are copied without parsing their body.
+	 *
+	 * @param source Source section
+	 * @param bs     Default section of the copy
+	 */
+	private SectionImpl(@NotNull SectionImpl source, @Nullable ISection bs) {
+		sectionName = source.sectionName;
+		defaultSection = bs;
+		frozen = true;
+		synchronized (source) {
+			attributes.putAll(source.attributes);
+			if (source.lazySource != null) {
+				setLazyBody(source.lazySource, source.lazyStart, source.lazyEnd);
+			} else {
+				properties.putAll(source.properties);
+			}
+		}
+		// Copies are read by many threads, so reads must not replace views
+		properties.markShared();
 	}
 
 	/* ------------------------------------------------------------------
@@ -84,6 +131,151 @@ final class SectionImpl implements ISection {
 	 *
 	 * ------------------------------------------------------------------ */
 
+	/**
+	 * Set the body that will be parsed the first time properties are used
+	 *
+	 * @param source Body source
+	 * @param start  Body start index
+	 * @param end    Body end index
+	 */
+	void setLazyBody(@Nullable Utf8CharSequence source, int start, int end) {
+		lazyStart = start;
+		lazyEnd = end;
+		lazySource = (source == null || start >= end) ? null : source;
+	}
+
+	/**
+	 * Parse section body if it was not parsed yet
+	 */
+	private void ensureLoaded() {
+		if (lazySource == null) return;
+		synchronized (this) {
+			Utf8CharSequence source = lazySource;
+			if (source == null) return;
+			// Parse only this section
+			IniParser parser = new IniParser(
+				null, this, Ini.LoadMode.MAPPED, owner == null ? null : owner.getStringPool()
+			);
+			IniLines.split(source, lazyStart, lazyEnd, parser);
+			parser.finish();
+			lazySource = null;
+		}
+	}
+
+	/**
+	 * Get a read-only copy of this section. The same copy is returned until the content changes.
+	 *
+	 * @param copyDefault Default section of the copy
+	 * @return Return read-only section
+	 */
+	@NotNull SectionImpl freeze(@Nullable ISection copyDefault) {
+		SectionImpl copy = frozenCopy;
+		if (copy != null && copy.defaultSection == copyDefault) return copy;
+		copy = new SectionImpl(this, copyDefault);
+		frozenCopy = copy;
+		return copy;
+	}
+
+	/**
+	 * Discard the read-only copy and notify the owner
+	 */
+	private void contentChanged() {
+		frozenCopy = null;
+		if (owner != null) owner.snapshotChanged();
+	}
+
+	/**
+	 * Check section can be modified
+	 */
+	private void checkWritable() {
+		if (frozen)
+			throw new UnsupportedOperationException(String.format("Section \"%s\" is read-only.", sectionName));
+	}
+
+	/**
+	 * Replace section content with the content of other section.
+	 * Current instance is kept, only attributes and properties change.
+	 *
+	 * @param other Section with new content
+	 * @return Return all changed property names or {@code null} if nothing changed
+	 */
+	@Nullable Set<String> updateFrom(@NotNull SectionImpl other) {
+		ensureLoaded();
+		other.ensureLoaded();
+		Set<String> changed = new HashSet<>();
+		// Removed or modified properties. Views are compared without decoding them.
+		for (String key : properties.keySet()) {
+			if (!CompactMap.sameValue(properties.getRaw(key), other.properties.getRaw(key)))
+				changed.add(key);
+		}
+		// New properties
+		for (String key : other.properties.keySet()) {
+			if (!properties.containsKey(key)) changed.add(key);
+		}
+		boolean attributesChanged = !attributes.equals(other.attributes);
+		if (changed.isEmpty() && !attributesChanged) return null;
+		// Replace content
+		properties.clear();
+		properties.putAll(other.properties);
+		for (String key : changed) valueCache.remove(key);
+		attributes.clear();
+		attributes.putAll(other.attributes);
+		contentChanged();
+		return changed;
+	}
+
+	/**
+	 * Insert or replace a property value
+	 *
+	 * @param name  Property name
+	 * @param value Property value
+	 */
+	void putProperty(@NotNull String name, @NotNull String value) {
+		properties.put(name, value);
+		valueCache.remove(name);
+	}
+
+	/**
+	 * Insert or replace a property value view. The view is decoded the first time the value is requested.
+	 *
+	 * @param name  Property name
+	 * @param value Property value view
+	 */
+	void putView(@NotNull String name, @NotNull CharSequence value) {
+		properties.putView(name, value);
+		valueCache.remove(name);
+	}
+
+	/**
+	 * Insert or replace a property value.
+	 *
+	 * @param name  Property name
+	 * @param value Property value
+	 */
+	@Override
+	public void setProperty(@NotNull String name, @NotNull String value) {
+		checkWritable();
+		ensureLoaded();
+		putProperty(name, value);
+		contentChanged();
+	}
+
+	/**
+	 * Remove a property.
+	 *
+	 * @param name Property name
+	 * @return Return {@code true} if property existed
+	 */
+	@Override
+	public boolean removeProperty(@NotNull String name) {
+		checkWritable();
+		ensureLoaded();
+		valueCache.remove(name);
+		if (properties.remove(name) == null) return false;
+		contentChanged();
+		return true;
+	}
+
 	/**
 	 * Get current section name
 	 *
@@ -107,11 +299,62 @@ final class SectionImpl implements ISection {
 	/**
 	 * Get section attributes
 	 *
-	 * @return Section attributes map
+	 * @return Read-only section attributes map
 	 */
 	@Override
 	public @NotNull Map<String, String> getAttributes() {
-		return attributes;
+		return attributesView;
+	}
+
+	/**
+	 * Get a single section attribute
+	 *
+	 * @param name Attribute name
+	 * @return Return attribute value or {@code null} if not exists
+	 */
+	@Override
+	public @Nullable String getAttribute(@NotNull String name) {
+		return attributes.get(name);
+	}
+
+	/**
+	 * Get integer attribute value without creating objects
+	 *
+	 * @param name     Attribute name
+	 * @param defValue Default value if attribute not exists or is not an integer
+	 * @return Return attribute value or {@code defValue}
+	 */
+	@Override
+	public int getIntegerAttribute(@NotNull String name, int defValue) {
+		String value = attributes.get(name);
+		return value == null ? defValue : IniScanner.parseInt(value, 0, value.length(), defValue);
+	}
+
+	/**
+	 * Insert or replace a section attribute
+	 *
+	 * @param name  Attribute name
+	 * @param value New attribute value
+	 */
+	@Override
+	public void setAttribute(@NotNull String name, @NotNull String value) {
+		checkWritable();
+		if (value.equals(attributes.put(name, value))) return;
+		contentChanged();
+	}
+
+	/**
+	 * Remove a section attribute
+	 *
+	 * @param name Attribute name
+	 * @return Return {@code true} if attribute existed
+	 */
+	@Override
+	public boolean removeAttribute(@NotNull String name) {
+		checkWritable();
+		if (attributes.remove(name) == null) return false;
+		contentChanged();
+		return true;
 	}
 
 	/**
@@ -122,7 +365,8 @@ final class SectionImpl implements ISection {
 	@Contract(pure = true)
 	@Override
 	public @NotNull Set<String> getPropertyNames() {
-		return properties.keySet();
+		ensureLoaded();
+		return frozen ? Collections.unmodifiableSet(properties.keySet()) : properties.keySet();
 	}
 
 	/**
@@ -132,7 +376,13 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public void changeName(String newName) {
+		checkWritable();
+		String oldName = sectionName;
 		sectionName = newName;
+		// Update owner index
+		if (owner != null && !oldName.equals(newName))
+			owner.sectionRenamed(this, oldName);
+		contentChanged();
 	}
 
 	/**
@@ -142,6 +392,7 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public void setDefaultSection(ISection section) {
+		checkWritable();
 		defaultSection = section;
 	}
 
@@ -154,6 +405,7 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public String getProperty(@NotNull String name) throws PropertyNotFoundException {
+		ensureLoaded();
 		if (!properties.containsKey(name))
 			throw new PropertyNotFoundException(String.format("Property \"%s\" not exists.", name));
 		return properties.get(name);
@@ -168,11 +420,9 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public @Nullable String getProperty(@NotNull String name, @Nullable String defVal) {
-		try {
-			return getProperty(name);
-		} catch (PropertyNotFoundException err) {
-			return defVal;
-		}
+		ensureLoaded();
+		String value = properties.get(name);
+		return value == null ? defVal : value;
 	}
 
 	/**
@@ -184,11 +434,7 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public boolean getBooleanProperty(@NotNull String name) throws InvalidTypeValueException {
-		try {
-			return DataConvert.parseBoolean(getProperty(name));
-		} catch (PropertyNotFoundException err) {
-			throw new InvalidTypeValueException(err);
-		}
+		return getTypedProperty(name, Boolean.class, DataConvert::parseBoolean);
 	}
 
 	/**
@@ -200,11 +446,8 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public boolean getBooleanPropertyOrDefault(@NotNull String name, boolean defValue) {
-		try {
-			return getBooleanProperty(name);
-		} catch (InvalidTypeValueException ignored) {
-			return defValue;
-		}
+		Boolean result = getTypedPropertyOrNull(name, Boolean.class, DataConvert::tryParseBoolean);
+		return result == null ? defValue : result;
 	}
 
 	/**
@@ -216,11 +459,7 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public byte getByteProperty(@NotNull String name) throws InvalidTypeValueException {
-		try {
-			return DataConvert.parseByte(getProperty(name));
-		} catch (PropertyNotFoundException err) {
-			throw new InvalidTypeValueException(err);
-		}
+		return getTypedProperty(name, Byte.class, DataConvert::parseByte);
 	}
 
 	/**
@@ -232,11 +471,8 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public byte getBytePropertyOrDefault(@NotNull String name, byte defValue) {
-		try {
-			return getByteProperty(name);
-		} catch (InvalidTypeValueException ignored) {
-			return defValue;
-		}
+		Byte result = getTypedPropertyOrNull(name, Byte.class, DataConvert::tryParseByte);
+		return result == null ? defValue : result;
 	}
 
 	/**
@@ -248,11 +484,7 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public short getShortProperty(@NotNull String name) throws InvalidTypeValueException {
-		try {
-			return DataConvert.parseShort(getProperty(name));
-		} catch (PropertyNotFoundException err) {
-			throw new InvalidTypeValueException(err);
-		}
+		return getTypedProperty(name, Short.class, DataConvert::parseShort);
 	}
 
 	/**
@@ -264,11 +496,8 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public short getShortPropertyOrDefault(@NotNull String name, short defValue) {
-		try {
-			return getShortProperty(name);
-		} catch (InvalidTypeValueException ignored) {
-			return defValue;
-		}
+		Short result = getTypedPropertyOrNull(name, Short.class, DataConvert::tryParseShort);
+		return result == null ? defValue : result;
 	}
 
 	/**
@@ -280,11 +509,7 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public int getIntegerProperty(@NotNull String name) throws InvalidTypeValueException {
-		try {
-			return DataConvert.parseInt(getProperty(name));
-		} catch (PropertyNotFoundException err) {
-			throw new InvalidTypeValueException(err);
-		}
+		return getTypedProperty(name, Integer.class, DataConvert::parseInt);
 	}
 
 	/**
@@ -296,11 +521,8 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public int getIntegerPropertyOrDefault(@NotNull String name, int defValue) {
-		try {
-			return getIntegerProperty(name);
-		} catch (InvalidTypeValueException ignored) {
-			return defValue;
-		}
+		Integer result = getTypedPropertyOrNull(name, Integer.class, DataConvert::tryParseInt);
+		return result == null ? defValue : result;
 	}
 
 	/**
@@ -312,11 +534,7 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public float getFloatProperty(@NotNull String name) throws InvalidTypeValueException {
-		try {
-			return DataConvert.parseFloat(getProperty(name));
-		} catch (PropertyNotFoundException err) {
-			throw new InvalidTypeValueException(err);
-		}
+		return getTypedProperty(name, Float.class, DataConvert::parseFloat);
 	}
 
 	/**
@@ -328,11 +546,8 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public float getFloatPropertyOrDefault(@NotNull String name, float defValue) {
-		try {
-			return getFloatProperty(name);
-		} catch (InvalidTypeValueException ignored) {
-			return defValue;
-		}
+		Float result = getTypedPropertyOrNull(name, Float.class, DataConvert::tryParseFloat);
+		return result == null ? defValue : result;
 	}
 
 	/**
@@ -344,11 +559,7 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public double getDoubleProperty(@NotNull String name) throws InvalidTypeValueException {
-		try {
-			return DataConvert.parseDouble(getProperty(name));
-		} catch (PropertyNotFoundException err) {
-			throw new InvalidTypeValueException(err);
-		}
+		return getTypedProperty(name, Double.class, DataConvert::parseDouble);
 	}
 
 	/**
@@ -360,11 +571,8 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public double getDoublePropertyOrDefault(@NotNull String name, double defValue) {
-		try {
-			return getDoubleProperty(name);
-		} catch (InvalidTypeValueException ignored) {
-			return defValue;
-		}
+		Double result = getTypedPropertyOrNull(name, Double.class, DataConvert::tryParseDouble);
+		return result == null ? defValue : result;
 	}
 
 	/**
@@ -376,11 +584,7 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public long getLongProperty(@NotNull String name) throws InvalidTypeValueException {
-		try {
-			return DataConvert.parseLong(getProperty(name));
-		} catch (PropertyNotFoundException err) {
-			throw new InvalidTypeValueException(err);
-		}
+		return getTypedProperty(name, Long.class, DataConvert::parseLong);
 	}
 
 	/**
@@ -392,11 +596,31 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public long getLongPropertyOrDefault(@NotNull String name, long defValue) {
-		try {
-			return getLongProperty(name);
-		} catch (InvalidTypeValueException ignored) {
-			return defValue;
-		}
+		Long result = getTypedPropertyOrNull(name, Long.class, DataConvert::tryParseLong);
+		return result == null ? defValue : result;
+	}
+
+	/**
+	 * Get property value as a Godot value.
+	 *
+	 * @param name Target property name
+	 * @return Return parsed value
+	 * @throws InvalidTypeValueException Error if property not exists
+	 */
+	@Override
+	public @NotNull Variant getVariantProperty(@NotNull String name) throws InvalidTypeValueException {
+		return getTypedProperty(name, Variant.class, value -> Variant.valueOf(value.toString()));
+	}
+
+	/**
+	 * Get property value as a Godot value.
+	 *
+	 * @param name Target property name
+	 * @return Return parsed value or {@code null} if not exists
+	 */
+	@Override
+	public @Nullable Variant getVariantPropertyOrNull(@NotNull String name) {
+		return getTypedPropertyOrNull(name, Variant.class, value -> Variant.valueOf(value.toString()));
 	}
 
 	/**
@@ -410,14 +634,7 @@ final class SectionImpl implements ISection {
 	@Override
 	public @NotNull @UnmodifiableView List<String> getPropertyList(@NotNull String name, @Nullable String separator)
 		throws PropertyNotFoundException {
-		// Storage
-		separator = separator == null ? DataConvert.ValueSeparators.get("listSeparator") : separator;
-		String value = getProperty(name);
-		List<String> result = new ArrayList<>();
-		// Add all elements
-		Collections.addAll(result, value.split(separator));
-		// Get result
-		return Collections.unmodifiableList(result);
+		return splitProperty(name, getProperty(name), separator);
 	}
 
 	/**
@@ -441,11 +658,9 @@ final class SectionImpl implements ISection {
 	 */
 	@Override
 	public @Nullable @UnmodifiableView List<String> getPropertyListOrNull(@NotNull String name, @Nullable String separator) {
-		try {
-			return getPropertyList(name, separator);
-		} catch (PropertyNotFoundException ignored) {
-			return null;
-		}
+		ensureLoaded();
+		String value = properties.get(name);
+		return value == null ? null : splitProperty(name, value, separator);
 	}
 
 	/**
@@ -459,6 +674,54 @@ final class SectionImpl implements ISection {
 		return getPropertyListOrNull(name, null);
 	}
 
+	/**
+	 * Get integer array property value. Elements are parsed directly from the stored value.
+	 *
+	 * @param name Target property name
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if property not exists or any element is not an integer number
+	 */
+	@Override
+	public int @NotNull [] getIntArrayProperty(@NotNull String name) throws InvalidTypeValueException {
+		return parseRawProperty(getRawProperty(name), DataConvert::parseIntArray);
+	}
+
+	/**
+	 * Get float array property value. Elements are parsed directly from the stored value.
+	 *
+	 * @param name Target property name
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if property not exists or any element is not a number
+	 */
+	@Override
+	public float @NotNull [] getFloatArrayProperty(@NotNull String name) throws InvalidTypeValueException {
+		return parseRawProperty(getRawProperty(name), DataConvert::parseFloatArray);
+	}
+
+	/**
+	 * Get double array property value. Elements are parsed directly from the stored value.
+	 *
+	 * @param name Target property name
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if property not exists or any element is not a number
+	 */
+	@Override
+	public double @NotNull [] getDoubleArrayProperty(@NotNull String name) throws InvalidTypeValueException {
+		return parseRawProperty(getRawProperty(name), DataConvert::parseDoubleArray);
+	}
+
+	/**
+	 * Get byte array property value. Elements are parsed directly from the stored value.
+	 *
+	 * @param name Target property name
+	 * @return Return a buffer with all bytes
+	 * @throws InvalidTypeValueException Error if property not exists or any element is not a byte number
+	 */
+	@Override
+	public @NotNull ByteBuffer getByteArrayProperty(@NotNull String name) throws InvalidTypeValueException {
+		return parseRawProperty(getRawProperty(name), DataConvert::parseByteArray);
+	}
+
 	/**
 	 * Object string representation
 	 *
@@ -467,6 +730,7 @@ final class SectionImpl implements ISection {
 	@Contract(pure = true)
 	@Override
 	public @NotNull String toString() {
+		ensureLoaded();
 		return "Section{" +
 			"sectionName='" + sectionName + '\'' +
 			", properties=" + properties +
@@ -474,6 +738,147 @@ final class SectionImpl implements ISection {
 			'}';
 	}
 
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Get a typed property value. The value is parsed only the first time.
+	 *
+	 * @param name   Target property name
+	 * @param type   Value type
+	 * @param parser Value parser
+	 * @param <T>    Value type
+	 * @return Return the parsed value
+	 * @throws InvalidTypeValueException Error if property not exists or casting value is not possible
+	 */
+	private <T> @NotNull T getTypedProperty(@NotNull String name, @NotNull Class<T> type,
+		@NotNull IValueParser<T> parser) throws InvalidTypeValueException {
+		T cached = getCachedValue(name, type);
+		if (cached != null) return cached;
+		// Parse raw value
+		CharSequence value = getRawProperty(name);
+		T result = parseRawProperty(value, parser);
+		putCachedValue(name, type, value, result);
+		return result;
+	}
+
+	/**
+	 * Get a property value without decoding it
+	 *
+	 * @param name Target property name
+	 * @return Return the stored string or value view
+	 * @throws InvalidTypeValueException Error if property not exists
+	 */
+	private @NotNull CharSequence getRawProperty(@NotNull String name) throws InvalidTypeValueException {
+		ensureLoaded();
+		CharSequence value = properties.getRaw(name);
+		if (value == null) {
+			throw new InvalidTypeValueException(
+				new PropertyNotFoundException(String.format("Property \"%s\" not exists.", name))
+			);
+		}
+		return value;
+	}
+
+	/**
+	 * Parse a stored value. Value views are parsed directly; they are decoded only if they have
+	 * non ASCII characters and cannot be parsed.
+	 *
+	 * @param value  Stored value
+	 * @param parser Value parser
+	 * @param <T>    Value type
+	 * @return Return the parsed value
+	 * @throws InvalidTypeValueException Error if casting value is not possible
+	 */
+	private static <T> @NotNull T parseRawProperty(@NotNull CharSequence value, @NotNull IValueParser<T> parser)
+		throws InvalidTypeValueException {
+		try {
+			return parser.parse(value);
+		} catch (InvalidTypeValueException err) {
+			if (value instanceof String) throw err;
+			return parser.parse(value.toString());
+		}
+	}
+
+	/**
+	 * Get a typed property value without exceptions. Invalid values are not cached.
+	 *
+	 * @param name   Target property name
+	 * @param type   Value type
+	 * @param parser Value parser that returns {@code null} if value is not valid
+	 * @param <T>    Value type
+	 * @return Return the parsed value or {@code null} if property not exists or is not valid
+	 */
+	private <T> @Nullable T getTypedPropertyOrNull(@NotNull String name, @NotNull Class<T> type,
+		@NotNull Function<CharSequence, T> parser) {
+		T cached = getCachedValue(name, type);
+		if (cached != null) return cached;
+		// Check raw value
+		ensureLoaded();
+		CharSequence value = properties.getRaw(name);
+		if (value == null) return null;
+		T result = parser.apply(value);
+		if (result == null && !(value instanceof String)) result = parser.apply(value.toString());
+		if (result != null) putCachedValue(name, type, value, result);
+		return result;
+	}
+
+	/**
+	 * Split a property value. The result is cached for every separator.
+	 *
+	 * @param name      Property name
+	 * @param value     Raw property value
+	 * @param separator List separator or {@code null} to use the default separator
+	 * @return Return a list with all elements
+	 */
+	private @NotNull @UnmodifiableView List<String> splitProperty(@NotNull String name, @NotNull String value,
+		@Nullable String separator) {
+		// Storage
+		separator = separator == null ? DataConvert.ValueSeparators.get("listSeparator") : separator;
+		List<String> cached = getCachedValue(name, separator);
+		if (cached != null) return cached;
+		List<String> result = new ArrayList<>();
+		// Add all elements
+		Collections.addAll(result, value.split(separator));
+		// Get result
+		result = Collections.unmodifiableList(result);
+		putCachedValue(name, separator, value, result);
+		return result;
+	}
+
+	/**
+	 * Get cached value
+	 *
+	 * @param name Target property name
+	 * @param type Value type
+	 * @param <T>  Value type
+	 * @return Return cached value or {@code null} if value is not cached
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> @Nullable T getCachedValue(@NotNull String name, @NotNull Object type) {
+		Map<Object, Object> values = valueCache.get(name);
+		return values == null ? null : (T) values.get(type);
+	}
+
+	/**
+	 * Save a parsed value. Nothing is saved if the property changed while the value was parsed.
+	 *
+	 * @param name  Target property name
+	 * @param type  Value type
+	 * @param raw   Raw value used to parse
+	 * @param value Parsed value
+	 */
+	private void putCachedValue(@NotNull String name, @NotNull Object type, @NotNull CharSequence raw,
+		@NotNull Object value) {
+		Map<Object, Object> values = valueCache.computeIfAbsent(name, k -> new ConcurrentHashMap<>(4));
+		values.put(type, value);
+		// Discard if value was replaced
+		if (properties.getRaw(name) != raw) values.remove(type);
+	}
+
 	/* ------------------------------------------------------------------
 	 *
 	 * Utilities
@@ -487,7 +892,7 @@ final class SectionImpl implements ISection {
 	 * @return Return {@code true} if line is a comment or {@code false} otherwise
 	 */
 	public static boolean isLineComment(@NotNull String line) {
-		return line.trim().startsWith(";") || line.trim().length() == 0;
+		return new IniScanner().scan(line) == IniScanner.LineType.COMMENT;
 	}
 
 	/**
@@ -497,25 +902,7 @@ final class SectionImpl implements ISection {
 	 * @return Return {@code true} if line is a valid section or {@code false} otherwise
 	 */
 	public static boolean isValidSection(@NotNull String line) {
-		// Storage result
-		boolean result = true;
-		String sectionData = line;
-		// Check if starts with [
-		if (!line.startsWith("[")) {
-			result = false;
-		} else {
-			sectionData = sectionData.substring(1);
-		}
-		if (!line.endsWith("]")) {
-			result = false;
-		} else {
-			sectionData = sectionData.substring(0, sectionData.length() - 1);
-		}
-		// Check if section data is valid
-		if (sectionData.trim().length() == 0) {
-			result = false;
-		}
-		return result;
+		return new IniScanner().scan(line) == IniScanner.LineType.SECTION;
 	}
 
 	/**
@@ -525,12 +912,7 @@ final class SectionImpl implements ISection {
 	 * @return Return {@code true} if line is a valid property or {@code false} otherwise
 	 */
 	public static boolean isValidProperty(@NotNull String line) {
-		line = line.trim();
-		// Create pattern
-		Pattern pattern = Pattern.compile(propertySectionRegex);
-		Matcher matcher = pattern.matcher(line);
-		// Check if matcher has any result
-		return matcher.find();
+		return new IniScanner().scan(line) == IniScanner.LineType.PROPERTY;
 	}
 
 	/**
@@ -540,20 +922,10 @@ final class SectionImpl implements ISection {
 	 * @return Return an entry with property name and value or {@code null} if property is not valid
 	 */
 	public static @Nullable Map.Entry<String, String> getPropertyEntry(@NotNull String line) {
-		line = line.trim();
+		IniScanner scanner = new IniScanner();
 		// Check if is a valid property
-		if (!isValidProperty(line)) return null;
-		// Get a pattern
-		Pattern pattern = Pattern.compile(propertySectionRegex);
-		Matcher matcher = pattern.matcher(line);
-		// Get the unique group
-		if (matcher.find()) {
-			return MapUtils.entry(
-				DataConvert.cleanString(matcher.group(1).trim()),
-				DataConvert.cleanString(matcher.group(2).trim())
-			);
-		}
-		return null;
+		if (scanner.scan(line) != IniScanner.LineType.PROPERTY) return null;
+		return MapUtils.entry(scanner.getKey(), scanner.getValue());
 	}
 
 	/**
@@ -563,22 +935,10 @@ final class SectionImpl implements ISection {
 	 * @return Return a section name or {@code null} if section is not valid
 	 */
 	public static @Nullable String getSectionName(@NotNull String line) {
+		IniScanner scanner = new IniScanner();
 		// Check if is valid
-		if (!isValidSection(line)) return null;
-		// Storage partial result
-		line = line.trim();
-		String data = line.substring(1, line.length() - 1);
-		// Discard attributes
-		List<String> nameElements = Arrays.stream(data.split(sectionAttributesRegex))
-			.map(String::trim)
-			.filter(trim -> trim.length() != 0)
-			.collect(Collectors.toList());
-		String sectionName = null;
-		// Get the first one element
-		if (nameElements.size() != 0) {
-			sectionName = nameElements.get(0);
-		}
-		return sectionName;
+		if (scanner.scan(line) != IniScanner.LineType.SECTION) return null;
+		return scanner.getSectionName();
 	}
 
 	/**
@@ -589,28 +949,36 @@ final class SectionImpl implements ISection {
 	 * @return Returns all section attributes
 	 */
 	public static @Nullable Map<String, String> getSectionAttributes(@NotNull String line) {
+		IniScanner scanner = new IniScanner();
 		// Check if section is valid
-		if (!isValidSection(line)) return null;
-		// Storage partial result
-		line = line.trim();
-		String data = line.substring(1, line.length() - 1);
-		// Discard attributes
-		Pattern pattern = Pattern.compile(sectionAttributesRegex);
-		Matcher matcher = pattern.matcher(data);
+		if (scanner.scan(line) != IniScanner.LineType.SECTION) return null;
 		Map<String, String> attributes = new HashMap<>();
-		// Find all attributes
-		while (matcher.find()) {
-			String group = matcher.group();
-			String[] assignGroup = group.split(DataConvert.ValueSeparators.get("assignSeparator"));
-			// Check if group are two members
-			if (assignGroup.length == 2) {
-				attributes.put(
-					DataConvert.cleanString(assignGroup[0]),
-					DataConvert.cleanString(assignGroup[1])
-				);
-			}
-		}
+		scanner.readAttributes(attributes);
 		return attributes;
 	}
 
+	/* ------------------------------------------------------------------
+	 *
+	 * Extra classes
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Raw value parser
+	 *
+	 * @param <T> Value type
+	 */
+	private interface IValueParser<T> {
+
+		/**
+		 * Parse raw value
+		 *
+		 * @param value Raw property value
+		 * @return Return parsed value
+		 * @throws InvalidTypeValueException Error if casting value is not possible
+		 */
+		@NotNull T parse(@NotNull CharSequence value) throws InvalidTypeValueException;
+
+	}
+
 }
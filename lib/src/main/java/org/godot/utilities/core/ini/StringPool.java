@@ -0,0 +1,186 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pool used to share equal strings between parsed files.
+ * <p>
+ * Keys like {@code type}, {@code path} or {@code script} and short values like {@code ExtResource( 1 )}
+ * are repeated in every scene. When a pool is assigned to {@link Ini#setStringPool(StringPool)} all
+ * section names, property keys, attribute names and short values use the same instance.
+ * <p>
+ * A pool created with {@link #StringPool()} keeps its strings until it is cleared or discarded, so it is
+ * recommended to use one pool per project. The {@link #global()} pool uses weak references and
+ * strings are released when no ini uses them.
+ */
+public final class StringPool {
+
+	/**
+	 * Values longer than this are not added to the pool
+	 */
+	public static final int DEFAULT_MAX_VALUE_LENGTH = 48;
+
+	/**
+	 * Number of locks used by weak pools
+	 */
+	private static final int SEGMENTS = 16;
+
+	/**
+	 * Global pool
+	 */
+	private static final StringPool GLOBAL = new StringPool(true, DEFAULT_MAX_VALUE_LENGTH);
+
+	/**
+	 * Values longer than this are not added to the pool
+	 */
+	private final int maxValueLength;
+
+	/**
+	 * Strong pool content. It is {@code null} for weak pools.
+	 */
+	private final Map<String, String> strongPool;
+
+	/**
+	 * Weak pool content. Every segment has its own lock.
+	 */
+	private final List<Map<String, WeakReference<String>>> weakPool;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Create a pool that keeps all its strings
+	 */
+	public StringPool() {
+		this(false, DEFAULT_MAX_VALUE_LENGTH);
+	}
+
+	/**
+	 * Create a pool that keeps all its strings
+	 *
+	 * @param m Values longer than this are not added to the pool
+	 */
+	public StringPool(int m) {
+		this(false, m);
+	}
+
+	/**
+	 * Pool constructor
+	 *
+	 * @param w Use weak references
+	 * @param m Max value length
+	 */
+	private StringPool(boolean w, int m) {
+		if (m < 0)
+			throw new IllegalArgumentException(String.format("Invalid max value length \"%d\".", m));
+		maxValueLength = m;
+		if (w) {
+			strongPool = null;
+			weakPool = new ArrayList<>(SEGMENTS);
+			for (int i = 0; i < SEGMENTS; i++) weakPool.add(new WeakHashMap<>());
+		} else {
+			strongPool = new ConcurrentHashMap<>();
+			weakPool = null;
+		}
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Get global pool. Strings are weak referenced.
+	 *
+	 * @return Return global pool
+	 */
+	@Contract(pure = true)
+	public static @NotNull StringPool global() {
+		return GLOBAL;
+	}
+
+	/**
+	 * Get the pooled instance of a string. Used for keys and names.
+	 *
+	 * @param value Target string
+	 * @return Return the pooled string equals to {@code value}
+	 */
+	public @NotNull String intern(@NotNull String value) {
+		if (strongPool != null) {
+			String current = strongPool.putIfAbsent(value, value);
+			return current == null ? value : current;
+		}
+		Map<String, WeakReference<String>> segment = weakPool.get((value.hashCode() & 0x7fffffff) % SEGMENTS);
+		synchronized (segment) {
+			WeakReference<String> reference = segment.get(value);
+			String current = reference == null ? null : reference.get();
+			if (current != null) return current;
+			segment.put(value, new WeakReference<>(value));
+			return value;
+		}
+	}
+
+	/**
+	 * Get the pooled instance of a value. Long values are returned as they are.
+	 *
+	 * @param value Target value
+	 * @return Return the pooled string or {@code value} if it is too long
+	 */
+	public @NotNull String internValue(@NotNull String value) {
+		return value.length() > maxValueLength ? value : intern(value);
+	}
+
+	/**
+	 * Get max length of pooled values
+	 *
+	 * @return Return max value length
+	 */
+	@Contract(pure = true)
+	public int getMaxValueLength() {
+		return maxValueLength;
+	}
+
+	/**
+	 * Get number of pooled strings. Weak pools may count released strings.
+	 *
+	 * @return Return pool size
+	 */
+	public int size() {
+		if (strongPool != null) return strongPool.size();
+		int size = 0;
+		for (Map<String, WeakReference<String>> segment : weakPool) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Remove all pooled strings. Strings already used by ini instances are not affected.
+	 */
+	public void clear() {
+		if (strongPool != null) {
+			strongPool.clear();
+			return;
+		}
+		for (Map<String, WeakReference<String>> segment : weakPool) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+}
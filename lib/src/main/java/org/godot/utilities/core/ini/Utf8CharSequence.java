@@ -0,0 +1,154 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only {@link CharSequence} view over UTF-8 bytes.
+ * <p>
+ * Every index is a byte index. ASCII bytes are returned like characters and any other
+ * byte is returned as {@code U+FFFD}, so the scanner never confuse multibyte characters
+ * with syntax characters. Real text is decoded only when {@link #toString(int, int)} is called.
+ */
+final class Utf8CharSequence implements CharSequence {
+
+	/**
+	 * Placeholder used for all non ASCII bytes
+	 */
+	static final char NON_ASCII = '\uFFFD';
+
+	/**
+	 * Source bytes
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * First byte index (absolute)
+	 */
+	private final int offset;
+
+	/**
+	 * Total bytes
+	 */
+	private final int length;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Create a view of all the buffer content
+	 *
+	 * @param b Source buffer
+	 */
+	Utf8CharSequence(@NotNull ByteBuffer b) {
+		this(b, 0, b.limit());
+	}
+
+	/**
+	 * Create a view of a buffer region
+	 *
+	 * @param b Source buffer
+	 * @param o Absolute start index
+	 * @param l Region length
+	 */
+	Utf8CharSequence(@NotNull ByteBuffer b, int o, int l) {
+		buffer = b;
+		offset = o;
+		length = l;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Get sequence length (in bytes)
+	 *
+	 * @return Return the length of this sequence
+	 */
+	@Override
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Get character at specific index
+	 *
+	 * @param index Target byte index
+	 * @return Return the ASCII character or {@link #NON_ASCII}
+	 */
+	@Override
+	public char charAt(int index) {
+		byte b = buffer.get(offset + index);
+		return b >= 0 ? (char) b : NON_ASCII;
+	}
+
+	/**
+	 * Get raw byte at specific index
+	 *
+	 * @param index Target byte index
+	 * @return Return the raw byte
+	 */
+	byte byteAt(int index) {
+		return buffer.get(offset + index);
+	}
+
+	/**
+	 * Get a region view. Content is not copied.
+	 *
+	 * @param start the start index, inclusive
+	 * @param end   the end index, exclusive
+	 * @return Return a new view of the same bytes
+	 */
+	@Override
+	public @NotNull CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end)
+			throw new IndexOutOfBoundsException(String.format("Invalid range [%d, %d)", start, end));
+		return new Utf8CharSequence(buffer, offset + start, end - start);
+	}
+
+	/**
+	 * Compare the bytes of two views
+	 *
+	 * @param other Other view
+	 * @return Return {@code true} if both views have the same bytes
+	 */
+	boolean contentEquals(@NotNull Utf8CharSequence other) {
+		if (length != other.length) return false;
+		for (int i = 0; i < length; i++) {
+			if (byteAt(i) != other.byteAt(i)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Decode a region
+	 *
+	 * @param start the start index, inclusive
+	 * @param end   the end index, exclusive
+	 * @return Return decoded region text
+	 */
+	@NotNull String toString(int start, int end) {
+		byte[] data = new byte[end - start];
+		buffer.duplicate().position(offset + start).get(data);
+		return new String(data, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Decode all content
+	 *
+	 * @return Return decoded text
+	 */
+	@Override
+	public @NotNull String toString() {
+		return toString(0, length);
+	}
+
+}
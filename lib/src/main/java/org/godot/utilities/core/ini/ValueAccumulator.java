@@ -0,0 +1,197 @@
+package org.godot.utilities.core.ini;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Join property values that continue in the next lines, like multi-line dictionaries,
+ * arrays and strings. A value is complete when all brackets, braces, parentheses and strings are closed.
+ * <p>
+ * Every line is scanned only once and all lines are joined in the same buffer.
+ */
+final class ValueAccumulator {
+
+	/**
+	 * Number of open brackets, braces and parentheses
+	 */
+	private int depth;
+
+	/**
+	 * Check if current position is inside a string
+	 */
+	private boolean inString;
+
+	/**
+	 * Check if next character is escaped
+	 */
+	private boolean escaped;
+
+	/**
+	 * Check if a value is open
+	 */
+	private boolean open;
+
+	/**
+	 * Value content. It is {@code null} when lines are only tracked.
+	 */
+	private StringBuilder builder;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Check if there is a value waiting for more lines
+	 *
+	 * @return Return {@code true} if current value is not complete
+	 */
+	boolean isOpen() {
+		return open;
+	}
+
+	/**
+	 * Start a new value. Only values with Godot syntax (strings, arrays, dictionaries and
+	 * constructors) can continue in the next lines.
+	 *
+	 * @param src     Source sequence
+	 * @param start   Value start index
+	 * @param end     Value end index
+	 * @param collect Save value content. If it is {@code false} lines are only tracked.
+	 * @return Return {@code true} if value continues in the next lines
+	 */
+	boolean open(@NotNull CharSequence src, int start, int end, boolean collect) {
+		depth = 0;
+		inString = false;
+		escaped = false;
+		if (!isStructured(src, start, end)) return false;
+		scan(src, start, end);
+		open = depth > 0 || inString;
+		if (!open) return false;
+		builder = collect ? new StringBuilder() : null;
+		if (collect) appendText(src, start, end);
+		return true;
+	}
+
+	/**
+	 * Add next line to current value
+	 *
+	 * @param src   Source sequence
+	 * @param start Line start index
+	 * @param end   Line end index
+	 * @return Return {@code true} if value is complete
+	 */
+	boolean append(@NotNull CharSequence src, int start, int end) {
+		scan(src, start, end);
+		if (builder != null) {
+			builder.append('\n');
+			appendText(src, start, end);
+		}
+		open = depth > 0 || inString;
+		return !open;
+	}
+
+	/**
+	 * Get complete value and release the buffer
+	 *
+	 * @return Return value content
+	 */
+	@NotNull String finish() {
+		String result = builder == null ? "" : builder.toString();
+		builder = null;
+		open = false;
+		return result;
+	}
+
+	/**
+	 * Quick check used to avoid line tokenization
+	 *
+	 * @param src   Source sequence
+	 * @param start Line start index
+	 * @param end   Line end index
+	 * @return Return {@code true} if line contains any character that can open a value
+	 */
+	static boolean mayOpen(@NotNull CharSequence src, int start, int end) {
+		for (int i = start; i < end; i++) {
+			char c = src.charAt(i);
+			if (c == '"' || c == '[' || c == '{' || c == '(') return true;
+		}
+		return false;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Check if value starts like a Godot value: {@code "..."}, {@code [...]}, {@code {...}},
+	 * {@code &"..."}, {@code ^"..."} or {@code Name(...)}. Plain text like {@code :-(} is never joined.
+	 *
+	 * @param src   Source sequence
+	 * @param start Value start index
+	 * @param end   Value end index
+	 * @return Return {@code true} if value can continue in the next lines
+	 */
+	private static boolean isStructured(@NotNull CharSequence src, int start, int end) {
+		if (start >= end) return false;
+		char c = src.charAt(start);
+		if (c == '"' || c == '[' || c == '{' || c == '&' || c == '^') return true;
+		if (!Character.isLetter(c) && c != '_') return false;
+		// Constructor name
+		int pos = start + 1;
+		while (pos < end && (Character.isLetterOrDigit(src.charAt(pos)) || src.charAt(pos) == '_')) pos++;
+		while (pos < end && src.charAt(pos) == ' ') pos++;
+		return pos < end && (src.charAt(pos) == '(' || src.charAt(pos) == '[');
+	}
+
+	/**
+	 * Update depth and string state
+	 *
+	 * @param src   Source sequence
+	 * @param start First index
+	 * @param end   Last index (exclusive)
+	 */
+	private void scan(@NotNull CharSequence src, int start, int end) {
+		for (int i = start; i < end; i++) {
+			char c = src.charAt(i);
+			if (inString) {
+				if (escaped) escaped = false;
+				else if (c == '\\') escaped = true;
+				else if (c == '"') inString = false;
+				continue;
+			}
+			switch (c) {
+				case '"':
+					inString = true;
+					break;
+				case '[':
+				case '{':
+				case '(':
+					depth++;
+					break;
+				case ']':
+				case '}':
+				case ')':
+					if (depth > 0) depth--;
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Append text. Mapped sources are decoded as UTF-8.
+	 *
+	 * @param src   Source sequence
+	 * @param start First index
+	 * @param end   Last index (exclusive)
+	 */
+	private void appendText(@NotNull CharSequence src, int start, int end) {
+		if (src instanceof Utf8CharSequence)
+			builder.append(((Utf8CharSequence) src).toString(start, end));
+		else
+			builder.append(src, start, end);
+	}
+
+}
@@ -4,7 +4,9 @@ import org.godot.utilities.core.error.InvalidTypeValueException;
 import org.godot.utilities.utils.Arr;
 import org.godot.utilities.utils.MapUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 public final class DataConvert {
@@ -76,17 +78,11 @@ public final class DataConvert {
 	 * @return Return a valid boolean value
 	 * @throws InvalidTypeValueException Error if data is not a valid boolean value
 	 */
-	public static boolean parseBoolean(@NotNull String data) throws InvalidTypeValueException {
-		// Convert to lower
-		data = data.trim().toLowerCase();
-		// Check if exists in valid values
-		int trueIdx = Arr.indexOf(BooleanValidValues.get("trueValues"), data);
-		int falseIdx = Arr.indexOf(BooleanValidValues.get("falseValues"), data);
-		// Check if exists in any of two
-		if (trueIdx == -1 && falseIdx == -1)
+	public static boolean parseBoolean(@NotNull CharSequence data) throws InvalidTypeValueException {
+		Boolean result = tryParseBoolean(data);
+		if (result == null)
 			throw new InvalidTypeValueException("Invalid boolean data.");
-		// Determine boolean result
-		return (trueIdx != -1) && falseIdx == -1;
+		return result;
 	}
 
 	/**
@@ -96,16 +92,9 @@ public final class DataConvert {
 	 * @return Return a byte value
 	 * @throws InvalidTypeValueException Error if data is not a valid byte number
 	 */
-	public static byte parseByte(@NotNull String data) throws InvalidTypeValueException {
-		// Clean data
-		data = data.trim();
-		byte result;
-		// Check for errors
-		try {
-			result = Byte.parseByte(data);
-		} catch (NumberFormatException err) {
-			throw new InvalidTypeValueException(err);
-		}
+	public static byte parseByte(@NotNull CharSequence data) throws InvalidTypeValueException {
+		Byte result = tryParseByte(data);
+		if (result == null) throw invalidNumber(data);
 		return result;
 	}
 
@@ -116,17 +105,9 @@ public final class DataConvert {
 	 * @return Return a short value
 	 * @throws InvalidTypeValueException Error if data is not a valid short number
 	 */
-	public static short parseShort(@NotNull String data) throws InvalidTypeValueException {
-		// Clean data
-		data = data.trim();
-		short result;
-		// Check for errors
-		try {
-			result = Short.parseShort(data);
-		} catch (NumberFormatException err) {
-			throw new InvalidTypeValueException(err);
-		}
-
+	public static short parseShort(@NotNull CharSequence data) throws InvalidTypeValueException {
+		Short result = tryParseShort(data);
+		if (result == null) throw invalidNumber(data);
 		return result;
 	}
 
@@ -137,17 +118,9 @@ public final class DataConvert {
 	 * @return Return an integer value
 	 * @throws InvalidTypeValueException Error if data is not a valid number
 	 */
-	public static int parseInt(@NotNull String data) throws InvalidTypeValueException {
-		// Clean data
-		data = data.trim();
-		int result;
-		// Check for errors
-		try {
-			result = Integer.parseInt(data);
-		} catch (NumberFormatException err) {
-			throw new InvalidTypeValueException(err);
-		}
-
+	public static int parseInt(@NotNull CharSequence data) throws InvalidTypeValueException {
+		Integer result = tryParseInt(data);
+		if (result == null) throw invalidNumber(data);
 		return result;
 	}
 
@@ -158,17 +131,9 @@ public final class DataConvert {
 	 * @return Return a float value
 	 * @throws InvalidTypeValueException Error if data is not a valid float number
 	 */
-	public static float parseFloat(@NotNull String data) throws InvalidTypeValueException {
-		// Clean data
-		data = data.trim();
-		float result;
-		// Check for errors
-		try {
-			result = Float.parseFloat(data);
-		} catch (NumberFormatException err) {
-			throw new InvalidTypeValueException(err);
-		}
-
+	public static float parseFloat(@NotNull CharSequence data) throws InvalidTypeValueException {
+		Float result = tryParseFloat(data);
+		if (result == null) throw invalidNumber(data);
 		return result;
 	}
 
@@ -179,16 +144,9 @@ public final class DataConvert {
 	 * @return Return a double value
 	 * @throws InvalidTypeValueException Error if data is not a valid double number
 	 */
-	public static double parseDouble(@NotNull String data) throws InvalidTypeValueException {
-		// Clean data
-		data = data.trim();
-		double result;
-		// Check for errors
-		try {
-			result = Double.parseDouble(data);
-		} catch (NumberFormatException err) {
-			throw new InvalidTypeValueException(err);
-		}
+	public static double parseDouble(@NotNull CharSequence data) throws InvalidTypeValueException {
+		Double result = tryParseDouble(data);
+		if (result == null) throw invalidNumber(data);
 		return result;
 	}
 
@@ -199,18 +157,332 @@ public final class DataConvert {
 	 * @return Return a long value
 	 * @throws InvalidTypeValueException Error if data is not a valid long number
 	 */
-	public static long parseLong(@NotNull String data) throws InvalidTypeValueException {
-		// Clean data
-		data = data.trim();
-		long result;
-		// Check for errors
-		try {
-			result = Long.parseLong(data);
-		} catch (NumberFormatException err) {
-			throw new InvalidTypeValueException(err);
+	public static long parseLong(@NotNull CharSequence data) throws InvalidTypeValueException {
+		Long result = tryParseLong(data);
+		if (result == null) throw invalidNumber(data);
+		return result;
+	}
+
+	/**
+	 * Decode a numeric array ({@code PoolIntArray( 1, 2 )}, {@code PackedInt32Array( 1, 2 )}, {@code [ 1, 2 ]})
+	 * without creating an object per element
+	 *
+	 * @param data Target data to convert
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if data is not an array or any element is not an integer number
+	 */
+	public static int @NotNull [] parseIntArray(@NotNull CharSequence data) throws InvalidTypeValueException {
+		return NumberScanner.ofValue(data).parseInts();
+	}
+
+	/**
+	 * Decode a numeric array ({@code PoolRealArray( 0.5, 1 )}, {@code PackedFloat32Array( 0.5, 1 )}, ...)
+	 * without creating an object per element
+	 *
+	 * @param data Target data to convert
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if data is not an array or any element is not a number
+	 */
+	public static float @NotNull [] parseFloatArray(@NotNull CharSequence data) throws InvalidTypeValueException {
+		return NumberScanner.ofValue(data).parseFloats();
+	}
+
+	/**
+	 * Decode a numeric array without creating an object per element
+	 *
+	 * @param data Target data to convert
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if data is not an array or any element is not a number
+	 * @see #parseFloatArray(CharSequence)
+	 */
+	public static double @NotNull [] parseDoubleArray(@NotNull CharSequence data) throws InvalidTypeValueException {
+		return NumberScanner.ofValue(data).parseDoubles();
+	}
+
+	/**
+	 * Decode a byte array ({@code PoolByteArray( 0, 255 )}, {@code PackedByteArray( 0, 255 )})
+	 *
+	 * @param data Target data to convert
+	 * @return Return a buffer with all bytes
+	 * @throws InvalidTypeValueException Error if data is not an array or any element is not a number between
+	 *                                   {@code 0} and {@code 255}
+	 */
+	public static @NotNull ByteBuffer parseByteArray(@NotNull CharSequence data) throws InvalidTypeValueException {
+		return NumberScanner.ofValue(data).parseBytes();
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Try methods (never throw, return null if data is not valid)
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Try to convert string to boolean
+	 *
+	 * @param data Target data to convert
+	 * @return Return a boolean value or {@code null} if data is not a valid boolean value
+	 */
+	public static @Nullable Boolean tryParseBoolean(@NotNull CharSequence data) {
+		// Compare without case and surrounding whitespace
+		int start = trimStart(data);
+		int end = trimEnd(data, start);
+		// Check if exists in valid values
+		boolean isTrue = containsIgnoreCase(BooleanValidValues.get("trueValues"), data, start, end);
+		boolean isFalse = containsIgnoreCase(BooleanValidValues.get("falseValues"), data, start, end);
+		// Check if exists in any of two
+		if (!isTrue && !isFalse) return null;
+		// Determine boolean result
+		return isTrue && !isFalse;
+	}
+
+	/**
+	 * Try to convert string data to byte
+	 *
+	 * @param data Target data to convert
+	 * @return Return a byte value or {@code null} if data is not a valid byte number
+	 */
+	public static @Nullable Byte tryParseByte(@NotNull CharSequence data) {
+		Long result = tryParseInteger(data, Byte.MIN_VALUE, Byte.MAX_VALUE);
+		return result == null ? null : result.byteValue();
+	}
+
+	/**
+	 * Try to convert string data to short
+	 *
+	 * @param data Target data to convert
+	 * @return Return a short value or {@code null} if data is not a valid short number
+	 */
+	public static @Nullable Short tryParseShort(@NotNull CharSequence data) {
+		Long result = tryParseInteger(data, Short.MIN_VALUE, Short.MAX_VALUE);
+		return result == null ? null : result.shortValue();
+	}
+
+	/**
+	 * Try to convert string data to integer
+	 *
+	 * @param data Target data to convert
+	 * @return Return an integer value or {@code null} if data is not a valid number
+	 */
+	public static @Nullable Integer tryParseInt(@NotNull CharSequence data) {
+		Long result = tryParseInteger(data, Integer.MIN_VALUE, Integer.MAX_VALUE);
+		return result == null ? null : result.intValue();
+	}
+
+	/**
+	 * Try to convert string data to long
+	 *
+	 * @param data Target data to convert
+	 * @return Return a long value or {@code null} if data is not a valid long number
+	 */
+	public static @Nullable Long tryParseLong(@NotNull CharSequence data) {
+		return tryParseInteger(data, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Try to convert string data to float
+	 *
+	 * @param data Target data to convert
+	 * @return Return a float value or {@code null} if data is not a valid float number
+	 */
+	public static @Nullable Float tryParseFloat(@NotNull CharSequence data) {
+		int start = trimStart(data);
+		int end = trimEnd(data, start);
+		// Only valid numbers reach the JDK parser, so it never throws
+		return isFloatingPoint(data, start, end) ? Float.parseFloat(data.subSequence(start, end).toString()) : null;
+	}
+
+	/**
+	 * Try to convert string data to double
+	 *
+	 * @param data Target data to convert
+	 * @return Return a double value or {@code null} if data is not a valid double number
+	 */
+	public static @Nullable Double tryParseDouble(@NotNull CharSequence data) {
+		int start = trimStart(data);
+		int end = trimEnd(data, start);
+		// Only valid numbers reach the JDK parser, so it never throws
+		return isFloatingPoint(data, start, end) ? Double.parseDouble(data.subSequence(start, end).toString()) : null;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Create number error
+	 *
+	 * @param data Invalid data
+	 * @return Return a new error
+	 */
+	private static @NotNull InvalidTypeValueException invalidNumber(@NotNull CharSequence data) {
+		return new InvalidTypeValueException(String.format("Invalid number data \"%s\".", data));
+	}
+
+	/**
+	 * Parse a decimal integer with the same rules of {@link Long#parseLong(String)}.
+	 * Surrounding whitespace is ignored and no strings are created.
+	 *
+	 * @param data Target data to convert
+	 * @param min  Minimum valid value
+	 * @param max  Maximum valid value
+	 * @return Return the value or {@code null} if data is not valid or is out of range
+	 */
+	private static @Nullable Long tryParseInteger(@NotNull CharSequence data, long min, long max) {
+		int pos = trimStart(data);
+		int end = trimEnd(data, pos);
+		if (pos == end) return null;
+		boolean negative = false;
+		// Check sign
+		char first = data.charAt(pos);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			if (++pos == end) return null;
 		}
+		// Accumulate negatively to support the minimum value
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multMin = limit / 10;
+		long result = 0;
+		for (; pos < end; pos++) {
+			int digit = Character.digit(data.charAt(pos), 10);
+			if (digit < 0 || result < multMin) return null;
+			result *= 10;
+			if (result < limit + digit) return null;
+			result -= digit;
+		}
+		result = negative ? result : -result;
+		// Check type range
+		return result < min || result > max ? null : result;
+	}
 
-		return result;
+	/**
+	 * Check if a range is a valid number for {@link Double#parseDouble(String)}
+	 *
+	 * @param data  Source data
+	 * @param start Trimmed range start
+	 * @param end   Trimmed range end
+	 * @return Return {@code true} if range can be parsed
+	 */
+	private static boolean isFloatingPoint(@NotNull CharSequence data, int start, int end) {
+		int pos = start;
+		// Check sign
+		if (pos < end && (data.charAt(pos) == '-' || data.charAt(pos) == '+')) pos++;
+		// Special values
+		if (regionEquals(data, pos, end, "NaN")) return pos + 3 == end;
+		if (regionEquals(data, pos, end, "Infinity")) return pos + 8 == end;
+		// Hexadecimal numbers
+		boolean hex = pos + 1 < end && data.charAt(pos) == '0' &&
+			(data.charAt(pos + 1) == 'x' || data.charAt(pos + 1) == 'X');
+		if (hex) pos += 2;
+		int radix = hex ? 16 : 10;
+		// Integer and fraction parts
+		int digits = 0;
+		while (pos < end && isDigit(data.charAt(pos), radix)) {
+			pos++;
+			digits++;
+		}
+		if (pos < end && data.charAt(pos) == '.') {
+			pos++;
+			while (pos < end && isDigit(data.charAt(pos), radix)) {
+				pos++;
+				digits++;
+			}
+		}
+		if (digits == 0) return false;
+		// Exponent, required for hexadecimal numbers
+		char exponent = hex ? 'p' : 'e';
+		if (pos < end && Character.toLowerCase(data.charAt(pos)) == exponent) {
+			pos++;
+			if (pos < end && (data.charAt(pos) == '-' || data.charAt(pos) == '+')) pos++;
+			int expDigits = 0;
+			while (pos < end && isDigit(data.charAt(pos), 10)) {
+				pos++;
+				expDigits++;
+			}
+			if (expDigits == 0) return false;
+		} else if (hex) {
+			return false;
+		}
+		// Type suffix
+		if (pos < end && "fFdD".indexOf(data.charAt(pos)) != -1) pos++;
+		return pos == end;
+	}
+
+	/**
+	 * Find the first character that is not whitespace like {@link String#trim()}
+	 *
+	 * @param data Source data
+	 * @return Return the trimmed start index
+	 */
+	private static int trimStart(@NotNull CharSequence data) {
+		int pos = 0;
+		int length = data.length();
+		while (pos < length && data.charAt(pos) <= ' ') pos++;
+		return pos;
+	}
+
+	/**
+	 * Find the end of the last character that is not whitespace like {@link String#trim()}
+	 *
+	 * @param data  Source data
+	 * @param start Trimmed start index
+	 * @return Return the trimmed end index
+	 */
+	private static int trimEnd(@NotNull CharSequence data, int start) {
+		int end = data.length();
+		while (end > start && data.charAt(end - 1) <= ' ') end--;
+		return end;
+	}
+
+	/**
+	 * Check if a range starts with a text
+	 *
+	 * @param data  Source data
+	 * @param start Range start
+	 * @param end   Range end
+	 * @param text  Expected text
+	 * @return Return {@code true} if range starts with {@code text}
+	 */
+	private static boolean regionEquals(@NotNull CharSequence data, int start, int end, @NotNull String text) {
+		if (end - start < text.length()) return false;
+		for (int i = 0; i < text.length(); i++) {
+			if (data.charAt(start + i) != text.charAt(i)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Check if a range is equal to any lower case value without case
+	 *
+	 * @param values Lower case values
+	 * @param data   Source data
+	 * @param start  Range start
+	 * @param end    Range end
+	 * @return Return {@code true} if range is equal to any value
+	 */
+	private static boolean containsIgnoreCase(@NotNull String[] values, @NotNull CharSequence data, int start,
+		int end) {
+		for (String value : values) {
+			if (value.length() != end - start) continue;
+			int i = 0;
+			while (i < value.length() && Character.toLowerCase(data.charAt(start + i)) == value.charAt(i)) i++;
+			if (i == value.length()) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Check if character is an ASCII digit
+	 *
+	 * @param c     Target character
+	 * @param radix Number radix (10 or 16)
+	 * @return Return {@code true} if character is a digit
+	 */
+	private static boolean isDigit(char c, int radix) {
+		if (c >= '0' && c <= '9') return true;
+		return radix == 16 && ((c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'));
 	}
 
 }
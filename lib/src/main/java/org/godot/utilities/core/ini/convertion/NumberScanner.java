@@ -0,0 +1,443 @@
+package org.godot.utilities.core.ini.convertion;
+
+import org.godot.utilities.core.error.InvalidTypeValueException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Fast scanner of numeric arrays like {@code PoolIntArray( 1, 2 )}, {@code PoolRealArray( 0.5, 1 )}
+ * or {@code [ 1, 2 ]}.
+ * <p>
+ * Numbers are parsed in place from the source sequence, so no strings or boxed values are created.
+ * Decimal numbers with up to 15 significant digits and small exponents are converted with exact
+ * arithmetic; any other number uses {@link Double#parseDouble(String)}.
+ */
+final class NumberScanner {
+
+	/**
+	 * Powers of ten that are exact doubles
+	 */
+	private static final double[] POWERS = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/**
+	 * Max mantissa that is converted with exact arithmetic (2^53)
+	 */
+	private static final long MAX_EXACT = 1L << 53;
+
+	/**
+	 * Max accumulated mantissa. Next digits are dropped and the number is parsed by the JDK.
+	 */
+	private static final long MAX_MANTISSA = 100_000_000_000_000_000L;
+
+	/**
+	 * Source sequence
+	 */
+	private final CharSequence source;
+
+	/**
+	 * Last valid index (exclusive)
+	 */
+	private final int end;
+
+	/**
+	 * Current index
+	 */
+	private int pos;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Scanner constructor
+	 *
+	 * @param s     Source sequence
+	 * @param start First element index
+	 * @param e     Last index (exclusive)
+	 */
+	NumberScanner(@NotNull CharSequence s, int start, int e) {
+		source = s;
+		pos = start;
+		end = e;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Create a scanner over the elements of a complete value. Constructors ({@code PoolIntArray( 1 )},
+	 * {@code Array[int]([ 1 ])}) and lists ({@code [ 1 ]}) are supported.
+	 *
+	 * @param value Complete value
+	 * @return Return a scanner over all elements
+	 * @throws InvalidTypeValueException Error if value is not an array
+	 */
+	static @NotNull NumberScanner ofValue(@NotNull CharSequence value) throws InvalidTypeValueException {
+		int start = skipSpaces(value, 0, value.length());
+		int stop = trimEnd(value, start, value.length());
+		// Constructor name and array type
+		int pos = start;
+		while (pos < stop && isIdentifierPart(value.charAt(pos))) pos++;
+		if (pos > start) {
+			pos = skipSpaces(value, pos, stop);
+			if (pos < stop && value.charAt(pos) == VariantParser.LIST_START) {
+				while (pos < stop && value.charAt(pos) != VariantParser.LIST_END) pos++;
+				pos = skipSpaces(value, pos + 1, stop);
+			}
+			if (pos >= stop || value.charAt(pos) != '(' || value.charAt(stop - 1) != ')') throw invalidArray(value);
+			start = skipSpaces(value, pos + 1, stop - 1);
+			stop = trimEnd(value, start, stop - 1);
+		}
+		// List, alone or as the only constructor argument
+		if (start < stop && value.charAt(start) == VariantParser.LIST_START) {
+			if (value.charAt(stop - 1) != VariantParser.LIST_END) throw invalidArray(value);
+			start++;
+			stop--;
+		} else if (pos == start) {
+			throw invalidArray(value);
+		}
+		return new NumberScanner(value, start, stop);
+	}
+
+	/**
+	 * Parse all elements as integer numbers
+	 *
+	 * @return Return all numbers
+	 * @throws InvalidTypeValueException Error if any element is not an integer number
+	 */
+	int @NotNull [] parseInts() throws InvalidTypeValueException {
+		int[] result = new int[countElements()];
+		int count = 0;
+		while (nextNumber()) {
+			long value = readLong();
+			if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) throw error("Integer number out of range");
+			result[count++] = (int) value;
+			skipSeparator();
+		}
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Parse all elements as integer numbers
+	 *
+	 * @return Return all numbers
+	 * @throws InvalidTypeValueException Error if any element is not an integer number
+	 */
+	long @NotNull [] parseLongs() throws InvalidTypeValueException {
+		long[] result = new long[countElements()];
+		int count = 0;
+		while (nextNumber()) {
+			result[count++] = readLong();
+			skipSeparator();
+		}
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Parse all elements as numbers. Values are rounded like {@code (float) double}.
+	 *
+	 * @return Return all numbers
+	 * @throws InvalidTypeValueException Error if any element is not a number
+	 */
+	float @NotNull [] parseFloats() throws InvalidTypeValueException {
+		float[] result = new float[countElements()];
+		int count = 0;
+		while (nextNumber()) {
+			result[count++] = (float) readDouble();
+			skipSeparator();
+		}
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Parse all elements as numbers
+	 *
+	 * @return Return all numbers
+	 * @throws InvalidTypeValueException Error if any element is not a number
+	 */
+	double @NotNull [] parseDoubles() throws InvalidTypeValueException {
+		double[] result = new double[countElements()];
+		int count = 0;
+		while (nextNumber()) {
+			result[count++] = readDouble();
+			skipSeparator();
+		}
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Parse all elements as unsigned bytes ({@code 0} to {@code 255})
+	 *
+	 * @return Return a buffer with all bytes. Buffer position is {@code 0} and its limit is the number of bytes.
+	 * @throws InvalidTypeValueException Error if any element is not a byte number
+	 */
+	@NotNull ByteBuffer parseBytes() throws InvalidTypeValueException {
+		byte[] result = new byte[countElements()];
+		int count = 0;
+		while (nextNumber()) {
+			long value = readLong();
+			if (value < 0 || value > 255) throw error("Byte number out of range");
+			result[count++] = (byte) value;
+			skipSeparator();
+		}
+		return ByteBuffer.wrap(result, 0, count).slice();
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Read an integer number
+	 *
+	 * @return Return number value
+	 * @throws InvalidTypeValueException Error if number is not a valid long number
+	 */
+	private long readLong() throws InvalidTypeValueException {
+		int i = pos;
+		skipNumber();
+		// Check sign
+		boolean negative = false;
+		char first = source.charAt(i);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			i++;
+		}
+		if (i == pos) throw error("Integer number expected");
+		// Accumulate negatively to support the minimum value
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multMin = limit / 10;
+		long result = 0;
+		for (; i < pos; i++) {
+			char c = source.charAt(i);
+			if (!isDigit(c)) throw error("Integer number expected");
+			int digit = c - '0';
+			if (result < multMin) throw error("Integer number out of range");
+			result *= 10;
+			if (result < limit + digit) throw error("Integer number out of range");
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	/**
+	 * Read a number. Godot {@code inf} and {@code nan} values are supported.
+	 *
+	 * @return Return number value
+	 * @throws InvalidTypeValueException Error if number is not valid
+	 */
+	private double readDouble() throws InvalidTypeValueException {
+		int start = pos;
+		skipNumber();
+		int i = start;
+		// Check sign
+		boolean negative = false;
+		char first = source.charAt(i);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			i++;
+		}
+		// Godot special values
+		if (regionEquals(i, "inf")) return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		if (regionEquals(i, "nan")) return Double.NaN;
+		// Integer and fraction parts
+		long mantissa = 0;
+		int scale = 0;
+		int digits = 0;
+		boolean exact = true;
+		boolean fraction = false;
+		for (; i < pos; i++) {
+			char c = source.charAt(i);
+			if (c == '.' && !fraction) {
+				fraction = true;
+				continue;
+			}
+			if (!isDigit(c)) break;
+			digits++;
+			if (mantissa < MAX_MANTISSA) {
+				mantissa = mantissa * 10 + (c - '0');
+				if (fraction) scale--;
+			} else {
+				exact = false;
+				if (!fraction) scale++;
+			}
+		}
+		if (digits == 0) throw error("Invalid number");
+		// Exponent
+		if (i < pos && (source.charAt(i) == 'e' || source.charAt(i) == 'E')) {
+			i++;
+			boolean negativeExp = i < pos && source.charAt(i) == '-';
+			if (i < pos && (source.charAt(i) == '-' || source.charAt(i) == '+')) i++;
+			int exponent = 0;
+			int expStart = i;
+			for (; i < pos && isDigit(source.charAt(i)); i++) {
+				if (exponent < 100_000) exponent = exponent * 10 + (source.charAt(i) - '0');
+			}
+			if (i == expStart) throw error("Invalid number");
+			scale += negativeExp ? -exponent : exponent;
+		}
+		if (i != pos) throw error("Invalid number");
+		// Exact conversion: both operands are exact doubles, so the result is correctly rounded
+		if (exact && mantissa <= MAX_EXACT && scale >= -22 && scale <= 22) {
+			double value = scale >= 0 ? mantissa * POWERS[scale] : mantissa / POWERS[-scale];
+			return negative ? -value : value;
+		}
+		return Double.parseDouble(source.subSequence(start, pos).toString());
+	}
+
+	/**
+	 * Move to the end of current number
+	 *
+	 * @throws InvalidTypeValueException Error if there is no number
+	 */
+	private void skipNumber() throws InvalidTypeValueException {
+		int start = pos;
+		if (pos < end && (source.charAt(pos) == '-' || source.charAt(pos) == '+')) pos++;
+		// Infinite and not a number
+		if (regionEquals(pos, "inf") || regionEquals(pos, "nan")) {
+			pos += 3;
+			return;
+		}
+		while (pos < end) {
+			char c = source.charAt(pos);
+			if (isDigit(c) || c == '.') {
+				pos++;
+			} else if ((c == 'e' || c == 'E') && pos > start) {
+				pos++;
+				if (pos < end && (source.charAt(pos) == '-' || source.charAt(pos) == '+')) pos++;
+			} else {
+				break;
+			}
+		}
+		if (pos == start) throw error("Number expected");
+	}
+
+	/**
+	 * Count top level elements
+	 *
+	 * @return Return the maximum number of elements
+	 */
+	private int countElements() {
+		int count = 1;
+		for (int i = pos; i < end; i++) {
+			if (source.charAt(i) == ',') count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Move to the next number
+	 *
+	 * @return Return {@code true} if there is a number
+	 */
+	private boolean nextNumber() {
+		pos = skipSpaces(source, pos, end);
+		return pos < end;
+	}
+
+	/**
+	 * Skip the separator after a number
+	 *
+	 * @throws InvalidTypeValueException Error if there is no separator
+	 */
+	private void skipSeparator() throws InvalidTypeValueException {
+		pos = skipSpaces(source, pos, end);
+		if (pos >= end) return;
+		if (source.charAt(pos) != ',') throw error("\",\" expected");
+		pos++;
+	}
+
+	/**
+	 * Check if source contains a text at specific index
+	 *
+	 * @param index Start index
+	 * @param text  Expected text
+	 * @return Return {@code true} if text is found before the end
+	 */
+	private boolean regionEquals(int index, @NotNull String text) {
+		if (end - index < text.length()) return false;
+		for (int i = 0; i < text.length(); i++) {
+			if (source.charAt(index + i) != text.charAt(i)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Create parse error
+	 *
+	 * @param message Error message
+	 * @return Return a new error
+	 */
+	private @NotNull InvalidTypeValueException error(@NotNull String message) {
+		return new InvalidTypeValueException(String.format("%s at position %d in \"%s\".", message, pos, source));
+	}
+
+	/**
+	 * Create invalid array error
+	 *
+	 * @param value Invalid value
+	 * @return Return a new error
+	 */
+	private static @NotNull InvalidTypeValueException invalidArray(@NotNull CharSequence value) {
+		return new InvalidTypeValueException(String.format("Value \"%s\" is not a valid array.", value));
+	}
+
+	/**
+	 * Skip all white spaces
+	 *
+	 * @param src   Source sequence
+	 * @param start Start index
+	 * @param stop  End index
+	 * @return Return the index of the first character that is not a white space
+	 */
+	private static int skipSpaces(@NotNull CharSequence src, int start, int stop) {
+		while (start < stop && Character.isWhitespace(src.charAt(start))) start++;
+		return start;
+	}
+
+	/**
+	 * Remove white spaces at the end of a range
+	 *
+	 * @param src   Source sequence
+	 * @param start Start index
+	 * @param stop  End index
+	 * @return Return the end index without white spaces
+	 */
+	private static int trimEnd(@NotNull CharSequence src, int start, int stop) {
+		while (stop > start && Character.isWhitespace(src.charAt(stop - 1))) stop--;
+		return stop;
+	}
+
+	/**
+	 * Check if character is an ASCII digit
+	 *
+	 * @param c Target character
+	 * @return Return {@code true} if is a digit
+	 */
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Check if character can be part of a constructor name
+	 *
+	 * @param c Target character
+	 * @return Return {@code true} if character is valid
+	 */
+	private static boolean isIdentifierPart(char c) {
+		return Character.isLetterOrDigit(c) || c == '_';
+	}
+
+}
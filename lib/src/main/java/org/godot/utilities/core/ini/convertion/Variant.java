@@ -0,0 +1,556 @@
+package org.godot.utilities.core.ini.convertion;
+
+import org.godot.utilities.core.error.InvalidTypeValueException;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Godot value like {@code Vector2( 1, 2 )}, {@code [ 1, 2 ]}, {@code { "a": 1 }} or {@code ExtResource( 3 )}.
+ * <p>
+ * Arrays, dictionaries and constructor arguments are parsed the first time they are used.
+ * Numeric arrays can be decoded directly into primitive arrays with {@link #toIntArray()},
+ * {@link #toLongArray()}, {@link #toFloatArray()}, {@link #toDoubleArray()} and {@link #toByteBuffer()}.
+ */
+public final class Variant {
+
+	/**
+	 * Value type
+	 */
+	private final Type type;
+
+	/**
+	 * Constructor name ({@code Vector2}, {@code ExtResource}, ...)
+	 */
+	private final String name;
+
+	/**
+	 * Text value of strings and identifiers
+	 */
+	private final String text;
+
+	/**
+	 * Integer value
+	 */
+	private final long longValue;
+
+	/**
+	 * Floating point value
+	 */
+	private final double doubleValue;
+
+	/**
+	 * Source text
+	 */
+	private final String source;
+
+	/**
+	 * Value range in source text
+	 */
+	private final int start, end;
+
+	/**
+	 * Container delimiter position
+	 */
+	private final int blockStart;
+
+	/**
+	 * Container elements. Parsed the first time they are used.
+	 */
+	private volatile List<Variant> elements;
+
+	/**
+	 * Dictionary entries or constructor named arguments. Parsed the first time they are used.
+	 */
+	private volatile Map<String, Variant> entries;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Variant constructor
+	 *
+	 * @param t  Value type
+	 * @param n  Constructor name
+	 * @param tx Text value
+	 * @param l  Integer value
+	 * @param d  Floating point value
+	 * @param s  Source text
+	 * @param st Value start
+	 * @param bs Container delimiter position
+	 * @param e  Value end
+	 */
+	private Variant(@NotNull Type t, String n, String tx, long l, double d, @NotNull String s, int st, int bs, int e) {
+		type = t;
+		name = n;
+		text = tx;
+		longValue = l;
+		doubleValue = d;
+		source = s;
+		start = st;
+		blockStart = bs;
+		end = e;
+	}
+
+	/**
+	 * Create null value
+	 *
+	 * @param source Source text
+	 * @param start  Value start
+	 * @param end    Value end
+	 * @return Return a new value
+	 */
+	static @NotNull Variant ofNull(@NotNull String source, int start, int end) {
+		return new Variant(Type.NULL, null, null, 0, 0, source, start, start, end);
+	}
+
+	/**
+	 * Create boolean value
+	 *
+	 * @param value  Boolean value
+	 * @param source Source text
+	 * @param start  Value start
+	 * @param end    Value end
+	 * @return Return a new value
+	 */
+	static @NotNull Variant ofBoolean(boolean value, @NotNull String source, int start, int end) {
+		return new Variant(Type.BOOLEAN, null, null, value ? 1 : 0, value ? 1 : 0, source, start, start, end);
+	}
+
+	/**
+	 * Create number value
+	 *
+	 * @param type   Number type
+	 * @param l      Integer value
+	 * @param d      Floating point value
+	 * @param source Source text
+	 * @param start  Value start
+	 * @param end    Value end
+	 * @return Return a new value
+	 */
+	static @NotNull Variant ofNumber(@NotNull Type type, long l, double d, @NotNull String source, int start, int end) {
+		return new Variant(type, null, null, l, d, source, start, start, end);
+	}
+
+	/**
+	 * Create text value
+	 *
+	 * @param type   Text type
+	 * @param text   Text without quotes
+	 * @param source Source text
+	 * @param start  Value start
+	 * @param end    Value end
+	 * @return Return a new value
+	 */
+	static @NotNull Variant ofText(@NotNull Type type, @NotNull String text, @NotNull String source, int start, int end) {
+		return new Variant(type, null, text, 0, 0, source, start, start, end);
+	}
+
+	/**
+	 * Create container value
+	 *
+	 * @param type       Container type
+	 * @param name       Constructor name
+	 * @param source     Source text
+	 * @param start      Value start
+	 * @param blockStart Container delimiter position
+	 * @param end        Value end
+	 * @return Return a new value
+	 */
+	static @NotNull Variant ofContainer(@NotNull Type type, @Nullable String name, @NotNull String source, int start,
+		int blockStart, int end) {
+		return new Variant(type, name, null, 0, 0, source, start, blockStart, end);
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Parse variant text
+	 *
+	 * @param data Target data to parse
+	 * @return Return parsed value
+	 * @throws InvalidTypeValueException Error if data is not a valid variant
+	 */
+	public static @NotNull Variant parse(@NotNull String data) throws InvalidTypeValueException {
+		return new VariantParser(data, 0, data.length()).parseAll();
+	}
+
+	/**
+	 * Parse an ini property value. Ini values do not have quotes, so plain text
+	 * and identifiers that are not keywords are returned as strings.
+	 *
+	 * @param data Target data to parse
+	 * @return Return parsed value. This method never fails.
+	 */
+	public static @NotNull Variant valueOf(@NotNull String data) {
+		try {
+			Variant result = new VariantParser(data, 0, data.length()).quiet().parseAll();
+			if (result.type != Type.IDENTIFIER) return result;
+		} catch (InvalidTypeValueException ignored) {
+			// Plain text
+		}
+		return ofText(Type.STRING, data, data, 0, data.length());
+	}
+
+	/**
+	 * Get value type
+	 *
+	 * @return Return value type
+	 */
+	@Contract(pure = true)
+	public @NotNull Type getType() {
+		return type;
+	}
+
+	/**
+	 * Get constructor name
+	 *
+	 * @return Return constructor name ({@code Vector2}, {@code ExtResource}, ...) or {@code null} if value is not a
+	 * constructor
+	 */
+	@Contract(pure = true)
+	public @Nullable String getName() {
+		return name;
+	}
+
+	/**
+	 * Check if value is {@code null}
+	 *
+	 * @return Return {@code true} if value is null
+	 */
+	@Contract(pure = true)
+	public boolean isNull() {
+		return type == Type.NULL;
+	}
+
+	/**
+	 * Get boolean value
+	 *
+	 * @return Return boolean value
+	 * @throws InvalidTypeValueException Error if value is not a boolean
+	 */
+	public boolean asBoolean() throws InvalidTypeValueException {
+		checkType(type == Type.BOOLEAN, "boolean");
+		return longValue != 0;
+	}
+
+	/**
+	 * Get integer value
+	 *
+	 * @return Return integer value
+	 * @throws InvalidTypeValueException Error if value is not an integer number
+	 */
+	public int asInt() throws InvalidTypeValueException {
+		long value = asLong();
+		checkType(value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE, "integer");
+		return (int) value;
+	}
+
+	/**
+	 * Get long value
+	 *
+	 * @return Return long value
+	 * @throws InvalidTypeValueException Error if value is not an integer number
+	 */
+	public long asLong() throws InvalidTypeValueException {
+		checkType(type == Type.INTEGER, "integer");
+		return longValue;
+	}
+
+	/**
+	 * Get float value
+	 *
+	 * @return Return float value
+	 * @throws InvalidTypeValueException Error if value is not a number
+	 */
+	public float asFloat() throws InvalidTypeValueException {
+		return (float) asDouble();
+	}
+
+	/**
+	 * Get double value
+	 *
+	 * @return Return double value
+	 * @throws InvalidTypeValueException Error if value is not a number
+	 */
+	public double asDouble() throws InvalidTypeValueException {
+		checkType(type == Type.INTEGER || type == Type.FLOAT, "number");
+		return doubleValue;
+	}
+
+	/**
+	 * Get text value of strings, string names, node paths and identifiers
+	 *
+	 * @return Return text value
+	 * @throws InvalidTypeValueException Error if value is not a text
+	 */
+	public @NotNull String asString() throws InvalidTypeValueException {
+		checkType(text != null, "string");
+		return text;
+	}
+
+	/**
+	 * Get the number of elements of an array or the number of constructor arguments
+	 *
+	 * @return Return number of elements
+	 * @throws InvalidTypeValueException Error if value is not an array or a constructor
+	 */
+	public int size() throws InvalidTypeValueException {
+		return getElements().size();
+	}
+
+	/**
+	 * Get array element or constructor argument
+	 *
+	 * @param index Element index
+	 * @return Return the element
+	 * @throws InvalidTypeValueException Error if value is not an array or a constructor
+	 */
+	public @NotNull Variant get(int index) throws InvalidTypeValueException {
+		return getElements().get(index);
+	}
+
+	/**
+	 * Get all array elements or constructor arguments
+	 *
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if value is not an array or a constructor, or if any element is not valid
+	 */
+	public @NotNull @UnmodifiableView List<Variant> getElements() throws InvalidTypeValueException {
+		checkType(type == Type.ARRAY || type == Type.CONSTRUCTOR, "array");
+		if (elements == null) parseContainer();
+		return elements;
+	}
+
+	/**
+	 * Get dictionary value or constructor named argument ({@code Object(InputEventKey,"scancode":65)})
+	 *
+	 * @param key Entry key
+	 * @return Return entry value or {@code null} if not exists
+	 * @throws InvalidTypeValueException Error if value is not a dictionary or a constructor
+	 */
+	public @Nullable Variant get(@NotNull String key) throws InvalidTypeValueException {
+		return getEntries().get(key);
+	}
+
+	/**
+	 * Get all dictionary entries or constructor named arguments. String keys are used without quotes.
+	 *
+	 * @return Return all entries in file order
+	 * @throws InvalidTypeValueException Error if value is not a dictionary or a constructor, or if any entry is not
+	 *                                   valid
+	 */
+	public @NotNull @UnmodifiableView Map<String, Variant> getEntries() throws InvalidTypeValueException {
+		checkType(type == Type.DICTIONARY || type == Type.CONSTRUCTOR, "dictionary");
+		if (entries == null) parseContainer();
+		return entries;
+	}
+
+	/**
+	 * Decode a numeric array ({@code [ 1, 2 ]}, {@code PoolIntArray( 1, 2 )}, {@code Array[int]([ 1, 2 ])})
+	 *
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if value is not an array or any element is not an integer number
+	 */
+	public int @NotNull [] toIntArray() throws InvalidTypeValueException {
+		return numberScanner().parseInts();
+	}
+
+	/**
+	 * Decode a numeric array
+	 *
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if value is not an array or any element is not an integer number
+	 * @see #toIntArray()
+	 */
+	public long @NotNull [] toLongArray() throws InvalidTypeValueException {
+		return numberScanner().parseLongs();
+	}
+
+	/**
+	 * Decode a numeric array
+	 *
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if value is not an array or any element is not a number
+	 * @see #toIntArray()
+	 */
+	public float @NotNull [] toFloatArray() throws InvalidTypeValueException {
+		return numberScanner().parseFloats();
+	}
+
+	/**
+	 * Decode a numeric array. {@code Vector2}, {@code Color} and other constructors with numeric arguments are
+	 * supported too.
+	 *
+	 * @return Return all elements
+	 * @throws InvalidTypeValueException Error if value is not an array or any element is not a number
+	 * @see #toIntArray()
+	 */
+	public double @NotNull [] toDoubleArray() throws InvalidTypeValueException {
+		return numberScanner().parseDoubles();
+	}
+
+	/**
+	 * Decode a byte array ({@code PoolByteArray( 0, 255 )}, {@code PackedByteArray( 0, 255 )})
+	 *
+	 * @return Return a buffer with all bytes
+	 * @throws InvalidTypeValueException Error if value is not an array or any element is not a number between
+	 *                                   {@code 0} and {@code 255}
+	 * @see #toIntArray()
+	 */
+	public @NotNull ByteBuffer toByteBuffer() throws InvalidTypeValueException {
+		return numberScanner().parseBytes();
+	}
+
+	/**
+	 * Object string representation
+	 *
+	 * @return Return source text of this value
+	 */
+	@Override
+	public @NotNull String toString() {
+		return source.substring(start, end);
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Get dictionary key text
+	 *
+	 * @return Return text without quotes or source text
+	 */
+	@NotNull String getKeyString() {
+		return text != null ? text : toString();
+	}
+
+	/**
+	 * Parse container content
+	 *
+	 * @throws InvalidTypeValueException Error if any element is not valid
+	 */
+	private synchronized void parseContainer() throws InvalidTypeValueException {
+		if (elements != null && entries != null) return;
+		List<Variant> items = new ArrayList<>();
+		Map<String, Variant> named = new LinkedHashMap<>();
+		VariantParser parser = new VariantParser(source, blockStart + 1, end - 1);
+		if (type == Type.DICTIONARY)
+			parser.parseEntries(named);
+		else
+			parser.parseElements(items, type == Type.CONSTRUCTOR ? named : null);
+		entries = Collections.unmodifiableMap(named);
+		elements = Collections.unmodifiableList(items);
+	}
+
+	/**
+	 * Create a scanner for numeric elements
+	 *
+	 * @return Return a scanner over all elements
+	 * @throws InvalidTypeValueException Error if value is not an array
+	 */
+	private @NotNull NumberScanner numberScanner() throws InvalidTypeValueException {
+		checkType(type == Type.ARRAY || type == Type.CONSTRUCTOR, "array");
+		// Constructor with a single array: Array[int]([ 1, 2 ])
+		if (type == Type.CONSTRUCTOR) {
+			List<Variant> args = getElements();
+			if (args.size() == 1 && args.get(0).type == Type.ARRAY)
+				return args.get(0).numberScanner();
+		}
+		return new NumberScanner(source, blockStart + 1, end - 1);
+	}
+
+	/**
+	 * Check value type
+	 *
+	 * @param valid    Type condition
+	 * @param expected Expected type name
+	 * @throws InvalidTypeValueException Error if condition is {@code false}
+	 */
+	private void checkType(boolean valid, @NotNull String expected) throws InvalidTypeValueException {
+		if (!valid)
+			throw new InvalidTypeValueException(String.format("Value \"%s\" is not a valid %s.", this, expected));
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Extra classes
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * All variant types
+	 */
+	public enum Type {
+
+		/**
+		 * {@code null} value
+		 */
+		NULL,
+
+		/**
+		 * {@code true} or {@code false}
+		 */
+		BOOLEAN,
+
+		/**
+		 * Integer number
+		 */
+		INTEGER,
+
+		/**
+		 * Floating point number, including {@code inf} and {@code nan}
+		 */
+		FLOAT,
+
+		/**
+		 * Quoted string
+		 */
+		STRING,
+
+		/**
+		 * String name ({@code &"name"})
+		 */
+		STRING_NAME,
+
+		/**
+		 * Node path ({@code ^"path"})
+		 */
+		NODE_PATH,
+
+		/**
+		 * Unquoted name, like the class of {@code Object(InputEventKey, ...)}
+		 */
+		IDENTIFIER,
+
+		/**
+		 * List of values ({@code [ 1, 2 ]})
+		 */
+		ARRAY,
+
+		/**
+		 * Map of values ({@code { "a": 1 }})
+		 */
+		DICTIONARY,
+
+		/**
+		 * Constructor call ({@code Vector2( 1, 2 )}, {@code ExtResource( 3 )}, {@code PoolIntArray( 1, 2 )}, ...)
+		 */
+		CONSTRUCTOR
+
+	}
+
+}
@@ -0,0 +1,461 @@
+package org.godot.utilities.core.ini.convertion;
+
+import org.godot.utilities.core.error.InvalidTypeValueException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recursive descent parser for Godot variant values.
+ * <p>
+ * Containers (arrays, dictionaries and constructor arguments) are only delimited when they are
+ * found. Their elements are parsed the first time they are used.
+ */
+final class VariantParser {
+
+	/**
+	 * List start character
+	 */
+	static final char LIST_START = DataConvert.ListDelimiters.get("start").charAt(0);
+
+	/**
+	 * List end character
+	 */
+	static final char LIST_END = DataConvert.ListDelimiters.get("end").charAt(0);
+
+	/**
+	 * Map start character
+	 */
+	static final char MAP_START = DataConvert.MapDelimiters.get("start").charAt(0);
+
+	/**
+	 * Map end character
+	 */
+	static final char MAP_END = DataConvert.MapDelimiters.get("end").charAt(0);
+
+	/**
+	 * Source text
+	 */
+	private final String source;
+
+	/**
+	 * Last valid index (exclusive)
+	 */
+	private final int end;
+
+	/**
+	 * Current index
+	 */
+	private int pos;
+
+	/**
+	 * Create light errors without message and stack trace
+	 */
+	private boolean quiet = false;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Parser constructor
+	 *
+	 * @param s     Source text
+	 * @param start First index
+	 * @param e     Last index (exclusive)
+	 */
+	VariantParser(@NotNull String s, int start, int e) {
+		source = s;
+		pos = start;
+		end = e;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Create errors without message and stack trace. Used when errors are expected and ignored.
+	 *
+	 * @return Return current parser
+	 */
+	@NotNull VariantParser quiet() {
+		quiet = true;
+		return this;
+	}
+
+	/**
+	 * Parse a complete value. Only spaces are allowed after the value.
+	 *
+	 * @return Return parsed value
+	 * @throws InvalidTypeValueException Error if text is not a valid value
+	 */
+	@NotNull Variant parseAll() throws InvalidTypeValueException {
+		Variant result = parseValue();
+		skipSpaces();
+		if (pos != end) throw error("Unexpected character");
+		return result;
+	}
+
+	/**
+	 * Parse all elements separated by commas
+	 *
+	 * @param elements Element storage
+	 * @param named    Named elements storage ({@code "key": value}). If it is {@code null} named
+	 *                 elements are not allowed.
+	 * @throws InvalidTypeValueException Error if any element is not valid
+	 */
+	void parseElements(@NotNull List<Variant> elements, Map<String, Variant> named) throws InvalidTypeValueException {
+		while (true) {
+			skipSpaces();
+			if (pos >= end) return;
+			Variant value = parseValue();
+			skipSpaces();
+			// Check named element
+			if (named != null && pos < end && source.charAt(pos) == ':') {
+				pos++;
+				named.put(value.getKeyString(), parseValue());
+				skipSpaces();
+			} else {
+				elements.add(value);
+			}
+			if (pos >= end) return;
+			expect(',');
+		}
+	}
+
+	/**
+	 * Parse all dictionary entries
+	 *
+	 * @param entries Entries storage
+	 * @throws InvalidTypeValueException Error if any entry is not valid
+	 */
+	void parseEntries(@NotNull Map<String, Variant> entries) throws InvalidTypeValueException {
+		while (true) {
+			skipSpaces();
+			if (pos >= end) return;
+			Variant key = parseValue();
+			skipSpaces();
+			expect(':');
+			entries.put(key.getKeyString(), parseValue());
+			skipSpaces();
+			if (pos >= end) return;
+			expect(',');
+		}
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Parse next value
+	 *
+	 * @return Return parsed value
+	 * @throws InvalidTypeValueException Error if value is not valid
+	 */
+	private @NotNull Variant parseValue() throws InvalidTypeValueException {
+		skipSpaces();
+		if (pos >= end) throw error("Value expected");
+		int start = pos;
+		char c = source.charAt(pos);
+		// Strings
+		if (c == '"')
+			return Variant.ofText(Variant.Type.STRING, readString(), source, start, pos);
+		if ((c == '&' || c == '^') && pos + 1 < end && source.charAt(pos + 1) == '"') {
+			pos++;
+			String text = readString();
+			return Variant.ofText(c == '&' ? Variant.Type.STRING_NAME : Variant.Type.NODE_PATH, text, source, start, pos);
+		}
+		// Containers
+		if (c == LIST_START) {
+			skipBlock();
+			return Variant.ofContainer(Variant.Type.ARRAY, null, source, start, start, pos);
+		}
+		if (c == MAP_START) {
+			skipBlock();
+			return Variant.ofContainer(Variant.Type.DICTIONARY, null, source, start, start, pos);
+		}
+		// Numbers
+		if (c == '-' || c == '+' || c == '.' || isDigit(c))
+			return readNumber();
+		if (!isIdentifierStart(c)) throw error("Unexpected character");
+		return readIdentifier();
+	}
+
+	/**
+	 * Read a keyword, an identifier or a constructor
+	 *
+	 * @return Return parsed value
+	 * @throws InvalidTypeValueException Error if value is not valid
+	 */
+	private @NotNull Variant readIdentifier() throws InvalidTypeValueException {
+		int start = pos;
+		while (pos < end && isIdentifierPart(source.charAt(pos))) pos++;
+		String name = source.substring(start, pos);
+		// Keywords
+		switch (name) {
+			case "true":
+			case "false":
+				return Variant.ofBoolean(name.equals("true"), source, start, pos);
+			case "null":
+			case "nil":
+				return Variant.ofNull(source, start, pos);
+			case "inf":
+			case "nan":
+				return Variant.ofNumber(Variant.Type.FLOAT, 0, name.equals("inf") ? Double.POSITIVE_INFINITY : Double.NaN,
+					source, start, pos);
+		}
+		int nameEnd = pos;
+		skipSpaces();
+		// Typed arrays: Array[int]([ 1, 2 ])
+		if (pos < end && source.charAt(pos) == LIST_START) {
+			skipBlock();
+			nameEnd = pos;
+			name = source.substring(start, pos);
+			skipSpaces();
+			if (pos >= end || source.charAt(pos) != '(') throw error("Constructor arguments expected");
+		}
+		// Constructors
+		if (pos < end && source.charAt(pos) == '(') {
+			int argsStart = pos;
+			skipBlock();
+			return Variant.ofContainer(Variant.Type.CONSTRUCTOR, name, source, start, argsStart, pos);
+		}
+		pos = nameEnd;
+		return Variant.ofText(Variant.Type.IDENTIFIER, name, source, start, pos);
+	}
+
+	/**
+	 * Read a number
+	 *
+	 * @return Return parsed number
+	 * @throws InvalidTypeValueException Error if number is not valid
+	 */
+	private @NotNull Variant readNumber() throws InvalidTypeValueException {
+		int start = pos;
+		skipNumber();
+		boolean decimal = false;
+		for (int i = start; i < pos; i++) {
+			char c = source.charAt(i);
+			if (c == '.' || c == 'e' || c == 'E' || c == 'i' || c == 'n') decimal = true;
+		}
+		// Integer numbers
+		if (!decimal) {
+			Long value = DataConvert.tryParseLong(source.substring(start, pos));
+			if (value != null)
+				return Variant.ofNumber(Variant.Type.INTEGER, value, value, source, start, pos);
+		}
+		double value = toDouble(start, pos);
+		return Variant.ofNumber(Variant.Type.FLOAT, (long) value, value, source, start, pos);
+	}
+
+	/**
+	 * Move to the end of current number
+	 *
+	 * @throws InvalidTypeValueException Error if there is no number
+	 */
+	private void skipNumber() throws InvalidTypeValueException {
+		int start = pos;
+		if (pos < end && (source.charAt(pos) == '-' || source.charAt(pos) == '+')) pos++;
+		// Infinite and not a number
+		if (source.startsWith("inf", pos) || source.startsWith("nan", pos)) {
+			pos += 3;
+			return;
+		}
+		while (pos < end) {
+			char c = source.charAt(pos);
+			if (isDigit(c) || c == '.') {
+				pos++;
+			} else if ((c == 'e' || c == 'E') && pos > start) {
+				pos++;
+				if (pos < end && (source.charAt(pos) == '-' || source.charAt(pos) == '+')) pos++;
+			} else {
+				break;
+			}
+		}
+		if (pos == start) throw error("Number expected");
+	}
+
+	/**
+	 * Convert number text to double
+	 *
+	 * @param start Number start
+	 * @param stop  Number end
+	 * @return Return number value
+	 * @throws InvalidTypeValueException Error if number is not valid
+	 */
+	private double toDouble(int start, int stop) throws InvalidTypeValueException {
+		String text = source.substring(start, stop);
+		// Godot special values
+		int sign = text.startsWith("-") ? -1 : 1;
+		String unsigned = text.startsWith("-") || text.startsWith("+") ? text.substring(1) : text;
+		if (unsigned.equals("inf")) return sign * Double.POSITIVE_INFINITY;
+		if (unsigned.equals("nan")) return Double.NaN;
+		Double value = DataConvert.tryParseDouble(text);
+		if (value == null) throw error("Invalid number");
+		return value;
+	}
+
+	/**
+	 * Read a quoted string
+	 *
+	 * @return Return string content without escape sequences
+	 * @throws InvalidTypeValueException Error if string is not closed
+	 */
+	private @NotNull String readString() throws InvalidTypeValueException {
+		StringBuilder builder = new StringBuilder();
+		pos++;
+		while (pos < end) {
+			char c = source.charAt(pos++);
+			if (c == '"') return builder.toString();
+			if (c != '\\') {
+				builder.append(c);
+				continue;
+			}
+			if (pos >= end) break;
+			// Escape sequences
+			char escaped = source.charAt(pos++);
+			switch (escaped) {
+				case 'n':
+					builder.append('\n');
+					break;
+				case 't':
+					builder.append('\t');
+					break;
+				case 'r':
+					builder.append('\r');
+					break;
+				case 'b':
+					builder.append('\b');
+					break;
+				case 'f':
+					builder.append('\f');
+					break;
+				case 'u':
+					if (pos + 4 > end) throw error("Invalid unicode escape");
+					Integer code = parseHex(pos, pos + 4);
+					if (code == null) throw error("Invalid unicode escape");
+					builder.append((char) code.intValue());
+					pos += 4;
+					break;
+				default:
+					builder.append(escaped);
+			}
+		}
+		throw error("Unterminated string");
+	}
+
+	/**
+	 * Move after the block that starts in current position. Strings and nested blocks are skipped.
+	 *
+	 * @throws InvalidTypeValueException Error if block is not closed
+	 */
+	private void skipBlock() throws InvalidTypeValueException {
+		StringBuilder closers = new StringBuilder();
+		do {
+			if (pos >= end) throw error("Unterminated block");
+			char c = source.charAt(pos);
+			if (c == '"') {
+				readString();
+				continue;
+			}
+			if (c == '(') closers.append(')');
+			else if (c == LIST_START) closers.append(LIST_END);
+			else if (c == MAP_START) closers.append(MAP_END);
+			else if (c == ')' || c == LIST_END || c == MAP_END) {
+				if (closers.length() == 0 || closers.charAt(closers.length() - 1) != c)
+					throw error("Unbalanced block");
+				closers.setLength(closers.length() - 1);
+			}
+			pos++;
+		} while (closers.length() > 0);
+	}
+
+	/**
+	 * Skip all white spaces
+	 */
+	private void skipSpaces() {
+		while (pos < end && Character.isWhitespace(source.charAt(pos))) pos++;
+	}
+
+	/**
+	 * Check current character and move to the next one
+	 *
+	 * @param c Expected character
+	 * @throws InvalidTypeValueException Error if current character is not the expected one
+	 */
+	private void expect(char c) throws InvalidTypeValueException {
+		if (pos >= end || source.charAt(pos) != c)
+			throw error(String.format("\"%s\" expected", c));
+		pos++;
+	}
+
+	/**
+	 * Parse hexadecimal number
+	 *
+	 * @param start First index
+	 * @param stop  Last index (exclusive)
+	 * @return Return number or {@code null} if is not valid
+	 */
+	private Integer parseHex(int start, int stop) {
+		int result = 0;
+		for (int i = start; i < stop; i++) {
+			int digit = Character.digit(source.charAt(i), 16);
+			if (digit < 0) return null;
+			result = result * 16 + digit;
+		}
+		return result;
+	}
+
+	/**
+	 * Create parse error
+	 *
+	 * @param message Error message
+	 * @return Return a new error
+	 */
+	private @NotNull InvalidTypeValueException error(@NotNull String message) {
+		if (quiet) return new InvalidTypeValueException(message, null, false, false);
+		return new InvalidTypeValueException(
+			String.format("%s at position %d in \"%s\".", message, pos, source)
+		);
+	}
+
+	/**
+	 * Check if character is an ASCII digit
+	 *
+	 * @param c Target character
+	 * @return Return {@code true} if is a digit
+	 */
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Check if character can start an identifier
+	 *
+	 * @param c Target character
+	 * @return Return {@code true} if character is valid
+	 */
+	private static boolean isIdentifierStart(char c) {
+		return Character.isLetter(c) || c == '_';
+	}
+
+	/**
+	 * Check if character can be part of an identifier
+	 *
+	 * @param c Target character
+	 * @return Return {@code true} if character is valid
+	 */
+	private static boolean isIdentifierPart(char c) {
+		return Character.isLetterOrDigit(c) || c == '_';
+	}
+
+}
@@ -3,7 +3,6 @@ package org.godot.utilities.engine;
 import org.godot.utilities.core.Version;
 import org.godot.utilities.core.error.InvalidEngineException;
 import org.godot.utilities.core.ini.convertion.DataConvert;
-import org.godot.utilities.core.error.InvalidTypeValueException;
 import org.godot.utilities.utils.Arr;
 import org.godot.utilities.utils.ContentGD;
 import org.jetbrains.annotations.Contract;
@@ -221,12 +220,8 @@ public final class Engine extends BaseEngine {
 		else
 			rv = rv.substring(0, 1);
 
-		try {
-			int code = DataConvert.parseInt(rv);
-			engineVersion = Version.getFromCode(code);
-		} catch (InvalidTypeValueException err) {
-			engineVersion = Version.UNKNOWN;
-		}
+		Integer code = DataConvert.tryParseInt(rv);
+		engineVersion = code == null ? Version.UNKNOWN : Version.getFromCode(code);
 	}
 
 	/**
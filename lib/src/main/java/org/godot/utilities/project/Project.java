@@ -4,6 +4,8 @@ import org.godot.utilities.core.Version;
 import org.godot.utilities.core.VideoDriver;
 import org.godot.utilities.core.ini.ISection;
 import org.godot.utilities.core.ini.Ini;
+import org.godot.utilities.core.ini.IniPath;
+import org.godot.utilities.core.ini.StringPool;
 import org.godot.utilities.project.resources.ProjectResource;
 import org.godot.utilities.project.scene.Scene;
 import org.godot.utilities.project.scene.SceneInspector;
@@ -23,6 +25,16 @@ import java.util.List;
 @SuppressWarnings("deprecation")
 public final class Project extends BaseProject implements IProjectInfo {
 
+	/**
+	 * Video driver property in old projects
+	 */
+	private static final IniPath LEGACY_VIDEO_DRIVER = IniPath.compile("display/driver");
+
+	/**
+	 * Video driver property
+	 */
+	private static final IniPath VIDEO_DRIVER = IniPath.compile("rendering/quality/driver/driver_name");
+
 	/**
 	 * Project configuration file
 	 */
@@ -33,6 +45,11 @@ public final class Project extends BaseProject implements IProjectInfo {
 	 */
 	private final SceneInspector sceneInspector;
 
+	/**
+	 * Pool shared by all project files
+	 */
+	private volatile StringPool stringPool;
+
 	/**
 	 * Project constructor.
 	 *
@@ -75,6 +92,26 @@ public final class Project extends BaseProject implements IProjectInfo {
 		return projectConfig;
 	}
 
+	/**
+	 * Get the string pool shared by project files
+	 *
+	 * @return Return current pool or {@code null} if strings are not shared
+	 */
+	public @Nullable StringPool getStringPool() {
+		return stringPool;
+	}
+
+	/**
+	 * Share parsed strings between all project files. Only resources created after this
+	 * call use the pool. Recommended when many scenes are loaded at the same time.
+	 *
+	 * @param pool Target pool or {@code null} to disable it
+	 */
+	public void setStringPool(@Nullable StringPool pool) {
+		stringPool = pool;
+		projectConfig.setStringPool(pool);
+	}
+
 	/**
 	 * Get current scene inspector
 	 *
@@ -94,11 +131,11 @@ public final class Project extends BaseProject implements IProjectInfo {
 	@Contract(pure = true)
 	@Override
 	public @Nullable String getProjectName() {
-		// Check if section exists
-		if (!projectConfig.sectionExists("application"))
-			return null;
 		// Storage section
 		ISection applicationSection = projectConfig.getSection("application");
+		// Check if section exists
+		if (applicationSection == null)
+			return null;
 		// Check project version
 		switch (projectVersion) {
 			case V1:
@@ -120,11 +157,11 @@ public final class Project extends BaseProject implements IProjectInfo {
 	@Contract(pure = true)
 	@Override
 	public @Nullable String getProjectDescription() {
-		// Check if section exists
-		if (!projectConfig.sectionExists("application"))
-			return null;
 		// Storage section
 		ISection applicationSection = projectConfig.getSection("application");
+		// Check if section exists
+		if (applicationSection == null)
+			return null;
 		// Check project version
 		switch (projectVersion) {
 			case V3:
@@ -142,11 +179,11 @@ public final class Project extends BaseProject implements IProjectInfo {
 	 */
 	@Override
 	public @Nullable Scene getMainScene() {
-		// Check if scene exists
-		if (!projectConfig.sectionExists("application"))
-			return null;
 		// Storage section
 		ISection applicationSection = projectConfig.getSection("application");
+		// Check if section exists
+		if (applicationSection == null)
+			return null;
 		String sceneResource;
 
 		// Check project version
@@ -176,11 +213,11 @@ public final class Project extends BaseProject implements IProjectInfo {
 	 */
 	@Override
 	public @Nullable ProjectResource getProjectIcon() {
-		// Check if scene exists
-		if (!projectConfig.sectionExists("application"))
-			return null;
 		// Storage section
 		ISection applicationSection = projectConfig.getSection("application");
+		// Check if section exists
+		if (applicationSection == null)
+			return null;
 		String resourceString;
 
 		// Check project version
@@ -212,26 +249,17 @@ public final class Project extends BaseProject implements IProjectInfo {
 	 */
 	@Override
 	public @Nullable VideoDriver getProjectVideoDriver() {
-		// Storage section
-		ISection renderingSection;
+		// Storage driver name
 		String driverName;
 		// Check project version
 		switch (projectVersion) {
 			case V1:
 			case V2:
-				// Check if section exists
-				if (!projectConfig.sectionExists("display")) return VideoDriver.GLES2;
-				// Set section
-				renderingSection = projectConfig.getSection("display");
-				driverName = renderingSection.getProperty("driver", "GLES2");
+				driverName = projectConfig.getProperty(LEGACY_VIDEO_DRIVER, "GLES2");
 				break;
 			case V3:
 			case V4:
-				// Check if section exists
-				if (!projectConfig.sectionExists("rendering")) return VideoDriver.GLES3;
-				// Set section
-				renderingSection = projectConfig.getSection("rendering");
-				driverName = renderingSection.getProperty("quality/driver/driver_name", "GLES3");
+				driverName = projectConfig.getProperty(VIDEO_DRIVER, "GLES3");
 				break;
 			default:
 				return null;
@@ -2,6 +2,7 @@ package org.godot.utilities.project.resources;
 
 import org.godot.utilities.core.Version;
 import org.godot.utilities.core.ini.Ini;
+import org.godot.utilities.core.ini.IniBatchLoader;
 import org.godot.utilities.core.io.FileResource;
 import org.godot.utilities.project.Project;
 import org.godot.utilities.utils.Arr;
@@ -10,7 +11,10 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class ProjectResource extends FileResource {
 
@@ -45,6 +49,11 @@ public class ProjectResource extends FileResource {
 	 */
 	protected Ini contentFile;
 
+	/**
+	 * Check if content file must be updated automatically
+	 */
+	private boolean watchContent = false;
+
 	/* ------------------------------------------------------------------
 	 *
 	 * Constructors
@@ -75,6 +84,8 @@ public class ProjectResource extends FileResource {
 	 */
 	public ProjectResource(@NotNull Path l, @NotNull Project p) {
 		this(l, p.projectVersion);
+		// Share strings with all project files
+		if (contentFile != null) contentFile.setStringPool(p.getStringPool());
 	}
 
 	/**
@@ -95,7 +106,7 @@ public class ProjectResource extends FileResource {
 	 * @throws UnsupportedOperationException Error if operation is not supported
 	 * @throws IOException                   Error if file not exists or is not a valid file
 	 */
-	public void updateContent() throws IOException {
+	public synchronized void updateContent() throws IOException {
 		if (!isReadable)
 			throw new UnsupportedOperationException(
 				String.format("This operation is not available for \"%s\" class.", this.getClass().getName())
@@ -103,6 +114,49 @@ public class ProjectResource extends FileResource {
 		// Load information
 		if (!contentFile.isInitialized())
 			contentFile.loadFromPath(location);
+		// Start watching after the first load
+		if (watchContent && !contentFile.isWatching())
+			contentFile.startWatching();
+	}
+
+	/**
+	 * Load the content of many resources in parallel.
+	 * Resources that are not readable are reported as failed results.
+	 *
+	 * @param resources Target resources
+	 * @param loader    Loader used to parse files
+	 * @return Return a future with the result of every resource in the same order
+	 * @see #getFileContent()
+	 */
+	public static @NotNull CompletableFuture<List<IniBatchLoader.Result<ProjectResource>>> loadAll(
+		@NotNull Collection<? extends ProjectResource> resources, @NotNull IniBatchLoader loader) {
+		return loader.load(resources, ProjectResource::getFileContent);
+	}
+
+	/**
+	 * Enable or disable automatic content updates. When enabled, the ini returned by
+	 * {@link #getFileContent()} is reloaded every time the file changes.
+	 *
+	 * @param watch Watching state
+	 * @throws UnsupportedOperationException Error if operation is not supported
+	 * @throws IOException                   Error if file not exists or cannot be watched
+	 * @see Ini#startWatching()
+	 */
+	public void setContentWatching(boolean watch) throws IOException {
+		watchContent = watch;
+		if (watch)
+			updateContent();
+		else if (contentFile != null)
+			contentFile.stopWatching();
+	}
+
+	/**
+	 * Check if content is updated automatically
+	 *
+	 * @return Return {@code true} if content file is watched
+	 */
+	public boolean isContentWatching() {
+		return watchContent;
 	}
 
 	/* ------------------------------------------------------------------
@@ -1,15 +1,22 @@
 package org.godot.utilities.project.scene;
 
 import org.godot.utilities.core.Version;
+import org.godot.utilities.core.ini.IniSnapshot;
 import org.godot.utilities.project.Project;
 import org.godot.utilities.project.resources.ProjectResource;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
 public final class Scene extends ProjectResource {
 
+	/**
+	 * Tree of the last loaded content
+	 */
+	private volatile SceneTree sceneTree;
+
 	/**
 	 * ProjectResource constructor.
 	 *
@@ -30,6 +37,23 @@ public final class Scene extends ProjectResource {
 		super(l, p);
 	}
 
+	/**
+	 * Get scene node tree. The tree is built again only when the content changes.
+	 *
+	 * @return Return the tree of the current content
+	 * @throws UnsupportedOperationException Error if scene file is not readable
+	 * @throws IOException                   Error if file not exists or is not a valid file
+	 */
+	public @NotNull SceneTree getSceneTree() throws IOException {
+		IniSnapshot snapshot = getFileContent().getSnapshot();
+		SceneTree current = sceneTree;
+		if (current == null || current.getSnapshot() != snapshot) {
+			current = SceneTree.build(snapshot);
+			sceneTree = current;
+		}
+		return current;
+	}
+
 	/**
 	 * Object string representation
 	 *
@@ -0,0 +1,285 @@
+package org.godot.utilities.project.scene;
+
+import org.godot.utilities.core.ini.ISection;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Single {@code [node]} section of a {@link SceneTree}.
+ * <p>
+ * Nodes are immutable. Children are stored in a compact array in file order.
+ */
+public final class SceneNode {
+
+	/**
+	 * Array used by nodes without children
+	 */
+	private static final SceneNode[] NO_CHILDREN = new SceneNode[0];
+
+	/**
+	 * Tree that contains this node
+	 */
+	private final SceneTree tree;
+
+	/**
+	 * Node section
+	 */
+	private final ISection section;
+
+	/**
+	 * Node name
+	 */
+	private final String name;
+
+	/**
+	 * Node path relative to the root node
+	 */
+	private final String path;
+
+	/**
+	 * Parent node
+	 */
+	private final SceneNode parent;
+
+	/**
+	 * Node position in file order
+	 */
+	private final int index;
+
+	/**
+	 * Child nodes. The array is trimmed when the tree is built.
+	 */
+	private SceneNode[] children = NO_CHILDREN;
+
+	/**
+	 * Number of child nodes
+	 */
+	private int childCount;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Nodes are created only by {@link SceneTree}
+	 *
+	 * @param t  Tree that contains this node
+	 * @param s  Node section
+	 * @param n  Node name
+	 * @param pt Node path
+	 * @param p  Parent node
+	 * @param i  Node position
+	 */
+	SceneNode(@NotNull SceneTree t, @NotNull ISection s, @NotNull String n, @NotNull String pt,
+		@Nullable SceneNode p, int i) {
+		tree = t;
+		section = s;
+		name = n;
+		path = pt;
+		parent = p;
+		index = i;
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Get node tree
+	 *
+	 * @return Return the tree that contains this node
+	 */
+	@Contract(pure = true)
+	public @NotNull SceneTree getTree() {
+		return tree;
+	}
+
+	/**
+	 * Get node section
+	 *
+	 * @return Return the {@code [node]} section
+	 */
+	@Contract(pure = true)
+	public @NotNull ISection getSection() {
+		return section;
+	}
+
+	/**
+	 * Get node name
+	 *
+	 * @return Return node name
+	 */
+	@Contract(pure = true)
+	public @NotNull String getName() {
+		return name;
+	}
+
+	/**
+	 * Get node type
+	 *
+	 * @return Return node class or {@code null} if node is an instance
+	 */
+	public @Nullable String getType() {
+		return section.getAttribute("type");
+	}
+
+	/**
+	 * Get node path relative to the root node
+	 *
+	 * @return Return node path. The root node path is {@link SceneTree#ROOT_PATH}.
+	 */
+	@Contract(pure = true)
+	public @NotNull String getPath() {
+		return path;
+	}
+
+	/**
+	 * Get parent node
+	 *
+	 * @return Return parent node or {@code null} if this is the root node or the parent is not part of
+	 * this scene (children of instanced scenes)
+	 */
+	@Contract(pure = true)
+	public @Nullable SceneNode getParent() {
+		return parent;
+	}
+
+	/**
+	 * Get node position in the file
+	 *
+	 * @return Return node position. The root node is the first one.
+	 */
+	@Contract(pure = true)
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Get number of children
+	 *
+	 * @return Return number of child nodes
+	 */
+	@Contract(pure = true)
+	public int getChildCount() {
+		return childCount;
+	}
+
+	/**
+	 * Get a child node
+	 *
+	 * @param i Child position
+	 * @return Return the child at the given position
+	 * @throws IndexOutOfBoundsException Error if position is not valid
+	 */
+	public @NotNull SceneNode getChild(int i) {
+		if (i < 0 || i >= childCount)
+			throw new IndexOutOfBoundsException(String.format("Invalid child index \"%d\".", i));
+		return children[i];
+	}
+
+	/**
+	 * Get all children
+	 *
+	 * @return Return a list with all children in file order
+	 */
+	@UnmodifiableView
+	public @NotNull List<SceneNode> getChildren() {
+		return Collections.unmodifiableList(Arrays.asList(children));
+	}
+
+	/**
+	 * Get a node relative to this node
+	 *
+	 * @param relativePath Target path without {@code ..} elements
+	 * @return Return target node or {@code null} if not exists
+	 */
+	public @Nullable SceneNode getNode(@NotNull String relativePath) {
+		if (relativePath.isEmpty() || relativePath.equals(SceneTree.ROOT_PATH)) return this;
+		return tree.getNode(this == tree.getRoot() ? relativePath : path + '/' + relativePath);
+	}
+
+	/**
+	 * Get the resource used by a property ({@code ExtResource( 1 )} or {@code SubResource( 1 )})
+	 *
+	 * @param property Target property name
+	 * @return Return the resource or {@code null} if property is not a resource of this scene
+	 */
+	public @Nullable SceneTree.Resource getResource(@NotNull String property) {
+		return tree.resolveResource(section.getProperty(property, null));
+	}
+
+	/**
+	 * Get instanced scene
+	 *
+	 * @return Return the resource of the {@code instance} attribute or {@code null} if node is not an instance
+	 */
+	public @Nullable SceneTree.Resource getInstance() {
+		return tree.resolveResource(section.getAttribute("instance"));
+	}
+
+	/**
+	 * Visit this node and all its descendants in depth-first order
+	 *
+	 * @param visitor Function called with every node
+	 */
+	public void walk(@NotNull Consumer<SceneNode> visitor) {
+		ArrayDeque<SceneNode> pending = new ArrayDeque<>();
+		pending.push(this);
+		while (!pending.isEmpty()) {
+			SceneNode node = pending.pop();
+			visitor.accept(node);
+			for (int i = node.childCount - 1; i >= 0; i--) pending.push(node.children[i]);
+		}
+	}
+
+	/**
+	 * Object string representation
+	 *
+	 * @return Object string representation
+	 */
+	@Override
+	public String toString() {
+		return "SceneNode{" +
+			"path='" + path + '\'' +
+			", type=" + getType() +
+			", children=" + childCount +
+			'}';
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Append a child node
+	 *
+	 * @param child Target child
+	 */
+	void addChild(@NotNull SceneNode child) {
+		if (childCount == children.length)
+			children = Arrays.copyOf(children, Math.max(2, childCount * 2));
+		children[childCount++] = child;
+	}
+
+	/**
+	 * Remove unused array capacity
+	 */
+	void trimChildren() {
+		if (children.length != childCount) children = Arrays.copyOf(children, childCount);
+	}
+
+}
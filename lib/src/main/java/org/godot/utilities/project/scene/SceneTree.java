@@ -0,0 +1,511 @@
+package org.godot.utilities.project.scene;
+
+import org.godot.utilities.core.error.InvalidTypeValueException;
+import org.godot.utilities.core.ini.ISection;
+import org.godot.utilities.core.ini.Ini;
+import org.godot.utilities.core.ini.IniSnapshot;
+import org.godot.utilities.core.ini.convertion.Variant;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+
+/**
+ * Node tree of a scene file.
+ * <p>
+ * The tree is built in a single pass over the {@code node}, {@code ext_resource}, {@code sub_resource}
+ * and {@code connection} sections of an {@link IniSnapshot}. Nodes are indexed by their path, so a lookup
+ * like {@code getNode("Camera2D/Label")} never scans the scene, and resource ids are resolved to their
+ * sections. Trees are immutable: a new tree must be built when the content changes.
+ *
+ * @see Scene#getSceneTree()
+ */
+public final class SceneTree {
+
+	/**
+	 * Path of the root node
+	 */
+	public static final String ROOT_PATH = ".";
+
+	/**
+	 * Content used to build the tree
+	 */
+	private final IniSnapshot snapshot;
+
+	/**
+	 * All nodes in file order
+	 */
+	private final List<SceneNode> nodes;
+
+	/**
+	 * Nodes indexed by path
+	 */
+	private final Map<String, SceneNode> nodeIndex;
+
+	/**
+	 * External resources indexed by id
+	 */
+	private final Map<String, Resource> extResources = new LinkedHashMap<>();
+
+	/**
+	 * Internal resources indexed by id
+	 */
+	private final Map<String, Resource> subResources = new LinkedHashMap<>();
+
+	/**
+	 * All signal connections in file order
+	 */
+	private final List<Connection> connections = new ArrayList<>();
+
+	/**
+	 * Root node
+	 */
+	private SceneNode root;
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Trees are created only by {@link #build(IniSnapshot)}
+	 *
+	 * @param s Scene content
+	 */
+	private SceneTree(@NotNull IniSnapshot s) {
+		snapshot = s;
+		nodes = new ArrayList<>();
+		nodeIndex = new HashMap<>(Math.max(16, s.getSectionCount() * 2));
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Build the tree of a scene content
+	 *
+	 * @param snapshot Scene content
+	 * @return Return a new tree
+	 */
+	public static @NotNull SceneTree build(@NotNull IniSnapshot snapshot) {
+		SceneTree tree = new SceneTree(snapshot);
+		for (ISection section : snapshot.getSectionList()) {
+			switch (section.getSectionName()) {
+				case "node":
+					tree.addNode(section);
+					break;
+				case "ext_resource":
+					tree.addResource(tree.extResources, section, true);
+					break;
+				case "sub_resource":
+					tree.addResource(tree.subResources, section, false);
+					break;
+				case "connection":
+					tree.connections.add(tree.new Connection(section));
+					break;
+				default:
+					break;
+			}
+		}
+		for (SceneNode node : tree.nodes) node.trimChildren();
+		return tree;
+	}
+
+	/**
+	 * Build the tree of the current ini content
+	 *
+	 * @param content Scene content
+	 * @return Return a new tree
+	 * @see Ini#getSnapshot()
+	 */
+	public static @NotNull SceneTree build(@NotNull Ini content) {
+		return build(content.getSnapshot());
+	}
+
+	/**
+	 * Get tree content
+	 *
+	 * @return Return the snapshot used to build the tree
+	 */
+	@Contract(pure = true)
+	public @NotNull IniSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Get root node
+	 *
+	 * @return Return root node or {@code null} if scene has no nodes
+	 */
+	@Contract(pure = true)
+	public @Nullable SceneNode getRoot() {
+		return root;
+	}
+
+	/**
+	 * Get a node from its path
+	 *
+	 * @param path Node path relative to the root node (like {@code Camera2D/Label}) or {@link #ROOT_PATH}.
+	 *             Paths that start with the root node name ({@code Player/Camera2D/Label}) are also accepted.
+	 * @return Return target node or {@code null} if not exists
+	 */
+	public @Nullable SceneNode getNode(@NotNull String path) {
+		SceneNode node = nodeIndex.get(path);
+		if (node != null || root == null || !path.startsWith(root.getName())) return node;
+		// Path with root name
+		int length = root.getName().length();
+		if (path.length() == length) return root;
+		return path.charAt(length) == '/' ? nodeIndex.get(path.substring(length + 1)) : null;
+	}
+
+	/**
+	 * Get a node from its position in the file
+	 *
+	 * @param index Node position
+	 * @return Return the node at the given position
+	 * @throws IndexOutOfBoundsException Error if position is not valid
+	 */
+	public @NotNull SceneNode getNode(int index) {
+		return nodes.get(index);
+	}
+
+	/**
+	 * Get number of nodes
+	 *
+	 * @return Return number of nodes
+	 */
+	public int getNodeCount() {
+		return nodes.size();
+	}
+
+	/**
+	 * Get all nodes
+	 *
+	 * @return Return a list with all nodes in file order
+	 */
+	@UnmodifiableView
+	public @NotNull List<SceneNode> getNodes() {
+		return Collections.unmodifiableList(nodes);
+	}
+
+	/**
+	 * Get an external resource
+	 *
+	 * @param id Resource id
+	 * @return Return the resource or {@code null} if not exists
+	 */
+	public @Nullable Resource getExtResource(@NotNull String id) {
+		return extResources.get(id);
+	}
+
+	/**
+	 * Get an internal resource
+	 *
+	 * @param id Resource id
+	 * @return Return the resource or {@code null} if not exists
+	 */
+	public @Nullable Resource getSubResource(@NotNull String id) {
+		return subResources.get(id);
+	}
+
+	/**
+	 * Get all external resources
+	 *
+	 * @return Return all external resources in file order
+	 */
+	@UnmodifiableView
+	public @NotNull Collection<Resource> getExtResources() {
+		return Collections.unmodifiableCollection(extResources.values());
+	}
+
+	/**
+	 * Get all internal resources
+	 *
+	 * @return Return all internal resources in file order
+	 */
+	@UnmodifiableView
+	public @NotNull Collection<Resource> getSubResources() {
+		return Collections.unmodifiableCollection(subResources.values());
+	}
+
+	/**
+	 * Get all signal connections
+	 *
+	 * @return Return all connections in file order
+	 */
+	@UnmodifiableView
+	public @NotNull List<Connection> getConnections() {
+		return Collections.unmodifiableList(connections);
+	}
+
+	/**
+	 * Resolve a resource reference like {@code ExtResource( 1 )}, {@code ExtResource("1_abc")}
+	 * or {@code SubResource( 2 )}
+	 *
+	 * @param value Property or attribute value
+	 * @return Return the resource or {@code null} if value is not a resource of this scene
+	 */
+	public @Nullable Resource resolveResource(@Nullable String value) {
+		if (value == null || (!value.startsWith("ExtResource") && !value.startsWith("SubResource"))) return null;
+		try {
+			Variant reference = Variant.parse(value);
+			if (reference.getType() != Variant.Type.CONSTRUCTOR || reference.size() != 1) return null;
+			Variant argument = reference.get(0);
+			String id = argument.getType() == Variant.Type.INTEGER ?
+				Long.toString(argument.asLong()) : argument.asString();
+			return "ExtResource".equals(reference.getName()) ? extResources.get(id) : subResources.get(id);
+		} catch (InvalidTypeValueException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Object string representation
+	 *
+	 * @return Object string representation
+	 */
+	@Override
+	public String toString() {
+		return "SceneTree{" +
+			"root=" + root +
+			", nodes=" + nodes.size() +
+			", extResources=" + extResources.size() +
+			", subResources=" + subResources.size() +
+			", connections=" + connections.size() +
+			'}';
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Register a node. Parents are always declared before their children.
+	 *
+	 * @param section Node section
+	 */
+	private void addNode(@NotNull ISection section) {
+		String name = section.getAttribute("name");
+		if (name == null) return;
+		String parentPath = section.getAttribute("parent");
+		String path;
+		if (parentPath == null)
+			path = root == null ? ROOT_PATH : name;
+		else
+			path = ROOT_PATH.equals(parentPath) ? name : parentPath + '/' + name;
+		SceneNode parent = parentPath == null ? null : nodeIndex.get(parentPath);
+		SceneNode node = new SceneNode(this, section, name, path, parent, nodes.size());
+		if (root == null && parentPath == null) root = node;
+		if (parent != null) parent.addChild(node);
+		nodes.add(node);
+		nodeIndex.putIfAbsent(path, node);
+	}
+
+	/**
+	 * Register a resource
+	 *
+	 * @param target   Resource index
+	 * @param section  Resource section
+	 * @param external Resource is an external file
+	 */
+	private void addResource(@NotNull Map<String, Resource> target, @NotNull ISection section, boolean external) {
+		String id = section.getAttribute("id");
+		if (id != null) target.putIfAbsent(id, new Resource(section, id, external));
+	}
+
+	/* ------------------------------------------------------------------
+	 *
+	 * Extra classes
+	 *
+	 * ------------------------------------------------------------------ */
+
+	/**
+	 * Resource declared by an {@code ext_resource} or {@code sub_resource} section
+	 */
+	public static final class Resource {
+
+		/**
+		 * Resource section
+		 */
+		private final ISection section;
+
+		/**
+		 * Resource id
+		 */
+		private final String id;
+
+		/**
+		 * Resource is an external file
+		 */
+		private final boolean external;
+
+		/**
+		 * Resource constructor
+		 *
+		 * @param s Resource section
+		 * @param i Resource id
+		 * @param e Resource is an external file
+		 */
+		Resource(@NotNull ISection s, @NotNull String i, boolean e) {
+			section = s;
+			id = i;
+			external = e;
+		}
+
+		/**
+		 * Get resource section
+		 *
+		 * @return Return the resource section
+		 */
+		@Contract(pure = true)
+		public @NotNull ISection getSection() {
+			return section;
+		}
+
+		/**
+		 * Get resource id
+		 *
+		 * @return Return resource id
+		 */
+		@Contract(pure = true)
+		public @NotNull String getId() {
+			return id;
+		}
+
+		/**
+		 * Check if resource is an external file
+		 *
+		 * @return Return {@code true} for {@code ext_resource} sections
+		 */
+		@Contract(pure = true)
+		public boolean isExternal() {
+			return external;
+		}
+
+		/**
+		 * Get resource type
+		 *
+		 * @return Return resource class or {@code null} if not defined
+		 */
+		public @Nullable String getType() {
+			return section.getAttribute("type");
+		}
+
+		/**
+		 * Get resource location
+		 *
+		 * @return Return resource path (like {@code res://icon.png}) or {@code null} for internal resources
+		 */
+		public @Nullable String getPath() {
+			return section.getAttribute("path");
+		}
+
+		/**
+		 * Object string representation
+		 *
+		 * @return Object string representation
+		 */
+		@Override
+		public String toString() {
+			return "Resource{" +
+				"id='" + id + '\'' +
+				", external=" + external +
+				", type=" + getType() +
+				'}';
+		}
+
+	}
+
+	/**
+	 * Signal connection declared by a {@code connection} section
+	 */
+	public final class Connection {
+
+		/**
+		 * Connection section
+		 */
+		private final ISection section;
+
+		/**
+		 * Connection constructor
+		 *
+		 * @param s Connection section
+		 */
+		Connection(@NotNull ISection s) {
+			section = s;
+		}
+
+		/**
+		 * Get connection section
+		 *
+		 * @return Return the connection section
+		 */
+		@Contract(pure = true)
+		public @NotNull ISection getSection() {
+			return section;
+		}
+
+		/**
+		 * Get signal name
+		 *
+		 * @return Return signal name or {@code null} if not defined
+		 */
+		public @Nullable String getSignal() {
+			return section.getAttribute("signal");
+		}
+
+		/**
+		 * Get method name
+		 *
+		 * @return Return target method or {@code null} if not defined
+		 */
+		public @Nullable String getMethod() {
+			return section.getAttribute("method");
+		}
+
+		/**
+		 * Get node that emits the signal
+		 *
+		 * @return Return source node or {@code null} if not exists
+		 */
+		public @Nullable SceneNode getFrom() {
+			String path = section.getAttribute("from");
+			return path == null ? null : getNode(path);
+		}
+
+		/**
+		 * Get node that receives the signal
+		 *
+		 * @return Return target node or {@code null} if not exists
+		 */
+		public @Nullable SceneNode getTo() {
+			String path = section.getAttribute("to");
+			return path == null ? null : getNode(path);
+		}
+
+		/**
+		 * Object string representation
+		 *
+		 * @return Object string representation
+		 */
+		@Override
+		public String toString() {
+			return "Connection{" +
+				"signal=" + getSignal() +
+				", from=" + section.getAttribute("from") +
+				", to=" + section.getAttribute("to") +
+				", method=" + getMethod() +
+				'}';
+		}
+
+	}
+
+}
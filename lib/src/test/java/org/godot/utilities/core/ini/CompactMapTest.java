@@ -0,0 +1,67 @@
+package org.godot.utilities.core.ini;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CompactMapTest {
+
+	@Test
+	public void arrayStorageTest() {
+		Map<String, String> map = new CompactMap();
+		map.put("name", "Root");
+		map.put("type", "Node2D");
+		map.put("parent", ".");
+		Assert.assertEquals("Node2D", map.put("type", "Sprite"));
+		Assert.assertEquals(List.of("name", "type", "parent"), new ArrayList<>(map.keySet()));
+		Assert.assertEquals("Sprite", map.get("type"));
+		Assert.assertEquals("Root", map.remove("name"));
+		Assert.assertFalse(map.containsKey("name"));
+		Assert.assertEquals(Map.of("type", "Sprite", "parent", "."), map);
+		// Iterator changes
+		Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
+		iterator.next().setValue("Node");
+		iterator.remove();
+		Assert.assertEquals(Map.of("parent", "."), map);
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void hashStorageTest() {
+		Map<String, String> map = new CompactMap();
+		Map<String, String> expected = new LinkedHashMap<>();
+		for (int i = 0; i < CompactMap.HASH_THRESHOLD * 3; i++) {
+			map.put("key" + i, "value" + i);
+			expected.put("key" + i, "value" + i);
+			// Same content and order before and after the change of storage
+			Assert.assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+		}
+		map.keySet().remove("key3");
+		Assert.assertNull(map.get("key3"));
+		Assert.assertEquals(CompactMap.HASH_THRESHOLD * 3 - 1, map.size());
+	}
+
+	@Test
+	public void sharedViewTest() {
+		// Array and hash layouts
+		for (int size : new int[]{CompactMap.HASH_THRESHOLD, CompactMap.HASH_THRESHOLD * 3 / 2}) {
+			CompactMap map = new CompactMap();
+			for (int i = 0; i < size; i++) map.putView("key" + i, new StringBuilder("value" + i));
+			map.markShared();
+			// Reads decode the views without replacing them
+			Assert.assertEquals("value0", map.get("key0"));
+			for (Map.Entry<String, String> entry : map.entrySet())
+				Assert.assertEquals("value" + entry.getKey().substring(3), entry.getValue());
+			Assert.assertTrue(map.toString().contains("key1=value1"));
+			for (int i = 0; i < size; i++)
+				Assert.assertTrue(map.getRaw("key" + i) instanceof StringBuilder);
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+package org.godot.utilities.core.ini;
+
+import org.godot.utilities.R;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IniBatchLoaderTest {
+
+	@Test
+	public void loadPathsTest() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		IniBatchLoader loader = new IniBatchLoader(executor, 2);
+		loader.setLoadMode(Ini.LoadMode.MAPPED);
+		List<Path> locations = List.of(
+			R.getPath("ini/example.ini"),
+			R.getPath("ini").resolve("missing.ini"),
+			R.getPath("ini/scene.tscn")
+		);
+		AtomicInteger notified = new AtomicInteger();
+		List<IniBatchLoader.Result<Path>> results = loader
+			.load(locations, location -> new Ini(location), result -> notified.incrementAndGet())
+			.get(10, TimeUnit.SECONDS);
+
+		System.out.println(results);
+		Assert.assertEquals(3, results.size());
+		Assert.assertEquals(3, notified.get());
+		Assert.assertTrue(results.get(0).isSuccessful());
+		Assert.assertTrue(results.get(0).getIni().sectionExists("application"));
+		// Errors are reported per file
+		Assert.assertFalse(results.get(1).isSuccessful());
+		Assert.assertTrue(results.get(1).getError() instanceof FileNotFoundException);
+		Assert.assertEquals(locations.get(2), results.get(2).getSource());
+		Assert.assertTrue(results.get(2).getIni().sectionExists("node"));
+		Assert.assertEquals(3, loader.loadPaths(locations).get(10, TimeUnit.SECONDS).size());
+
+		executor.shutdown();
+	}
+
+	@Test
+	public void concurrentReadsTest() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		IniBatchLoader loader = new IniBatchLoader(executor, 3);
+		List<Path> locations = new ArrayList<>(Collections.nCopies(40, R.getPath("ini/scene.tscn")));
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger max = new AtomicInteger();
+		List<IniBatchLoader.Result<Path>> results = loader.load(locations, location -> {
+			max.accumulateAndGet(active.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(2);
+				return new Ini(location);
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			} finally {
+				active.decrementAndGet();
+			}
+		}).get(10, TimeUnit.SECONDS);
+
+		System.out.println("Max concurrent reads: " + max.get());
+		Assert.assertEquals(40, results.size());
+		Assert.assertTrue(results.stream().allMatch(IniBatchLoader.Result::isSuccessful));
+		Assert.assertTrue(max.get() <= 3);
+
+		executor.shutdown();
+	}
+
+	@Test
+	public void directExecutorTest() throws Exception {
+		IniBatchLoader loader = new IniBatchLoader(Runnable::run, 4);
+		List<Integer> sources = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++) sources.add(i);
+		// Caller thread runs every file one after another
+		List<IniBatchLoader.Result<Integer>> results = loader.load(sources, source -> {
+			Ini ini = new Ini();
+			ini.loadFromString("[value]\nindex=" + source + "\n");
+			return ini;
+		}).get(0, TimeUnit.SECONDS);
+
+		Assert.assertEquals(20_000, results.size());
+		Assert.assertEquals("19999", results.get(19_999).getIni().getSection("value").getProperty("index"));
+	}
+
+	@Test
+	public void rejectedExecutorTest() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		executor.shutdown();
+		IniBatchLoader loader = new IniBatchLoader(executor, 4);
+		List<Path> locations = new ArrayList<>(Collections.nCopies(20_000, R.getPath("ini/example.ini")));
+		List<IniBatchLoader.Result<Path>> results = loader.loadPaths(locations).get(0, TimeUnit.SECONDS);
+
+		// Every rejected file has its own error
+		Assert.assertEquals(20_000, results.size());
+		Assert.assertTrue(results.stream().allMatch(result -> result.getError() instanceof RejectedExecutionException));
+	}
+
+}
@@ -0,0 +1,82 @@
+package org.godot.utilities.core.ini;
+
+import org.godot.utilities.R;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IniReaderTest {
+
+	@Test
+	public void readSectionsTest() throws Exception {
+		List<String> sections = new ArrayList<>();
+		int[] properties = {0};
+
+		IniReader.read(R.getPath("ini/example.ini"), new IIniVisitor() {
+			@Override
+			public @NotNull Result onSectionStart(IniReader.@NotNull Event event) {
+				sections.add(event.getSectionName());
+				return event.sectionNameEquals("display") ? Result.CONTINUE : Result.SKIP_SECTION;
+			}
+
+			@Override
+			public @NotNull Result onProperty(IniReader.@NotNull Event event) {
+				properties[0]++;
+				return Result.CONTINUE;
+			}
+		});
+
+		System.out.println(sections);
+		// "config_version" + display properties
+		Assert.assertEquals(6, sections.size());
+		Assert.assertEquals(1 + 5, properties[0]);
+	}
+
+	@Test
+	public void stopReadingTest() throws Exception {
+		String[] mainScene = {null};
+
+		IniReader.read(R.getPath("ini/example.ini"), Ini.LoadMode.MAPPED, new IIniVisitor() {
+			@Override
+			public @NotNull Result onProperty(IniReader.@NotNull Event event) {
+				if (!event.keyEquals("run/main_scene")) return Result.CONTINUE;
+				mainScene[0] = event.getValue();
+				return Result.STOP;
+			}
+
+			@Override
+			public void onEndOfFile() {
+				Assert.fail("Reading must be stopped");
+			}
+		});
+
+		Assert.assertEquals("res://Scenes/StartScene.tscn", mainScene[0]);
+	}
+
+	@Test
+	public void multiLineValueTest() throws Exception {
+		List<String> keys = new ArrayList<>();
+
+		IniReader.read(R.getPath("ini/example.ini"), new IIniVisitor() {
+			@Override
+			public @NotNull Result onSectionStart(IniReader.@NotNull Event event) {
+				return event.sectionNameEquals("input") ? Result.CONTINUE : Result.SKIP_SECTION;
+			}
+
+			@Override
+			public @NotNull Result onProperty(IniReader.@NotNull Event event) {
+				keys.add(event.getKey());
+				if (event.keyEquals("ui_l2"))
+					Assert.assertTrue(event.getValue().endsWith("}"));
+				return Result.CONTINUE;
+			}
+		});
+
+		System.out.println(keys);
+		Assert.assertEquals(List.of("config_version", "ui_l2"), keys);
+	}
+
+}
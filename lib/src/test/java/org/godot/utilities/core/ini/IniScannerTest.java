@@ -0,0 +1,82 @@
+package org.godot.utilities.core.ini;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class IniScannerTest {
+
+	@Test
+	public void scanLineTypesTest() {
+		IniScanner scanner = new IniScanner();
+
+		Assert.assertEquals(IniScanner.LineType.COMMENT, scanner.scan("   "));
+		Assert.assertEquals(IniScanner.LineType.COMMENT, scanner.scan("; Engine configuration file."));
+		Assert.assertEquals(IniScanner.LineType.SECTION, scanner.scan("[application]"));
+		Assert.assertEquals(IniScanner.LineType.PROPERTY, scanner.scan("config/name = \"Runner\""));
+		Assert.assertEquals(IniScanner.LineType.TEXT, scanner.scan("\"base\" : \"Position2D\","));
+		Assert.assertEquals(IniScanner.LineType.TEXT, scanner.scan("1section/app/name=\"xd.xml\""));
+	}
+
+	@Test
+	public void scanSectionTest() {
+		IniScanner scanner = new IniScanner();
+		Map<String, String> attributes = new HashMap<>();
+
+		scanner.scan("[ext_resource path=\"res://Scripts/new script.gd\" type=\"Script\" id=3]");
+		scanner.readAttributes(attributes);
+
+		System.out.println("-------------------- Scanner Section --------------------");
+		System.out.println(scanner.getSectionName());
+		System.out.println(attributes);
+
+		Assert.assertEquals("ext_resource", scanner.getSectionName());
+		Assert.assertEquals("res://Scripts/new script.gd", attributes.get("path"));
+		Assert.assertEquals("3", attributes.get("id"));
+
+		scanner.scan("[a=1]");
+		Assert.assertNull(scanner.getSectionName());
+	}
+
+	@Test
+	public void sectionHeaderTest() {
+		SectionHeader header = new SectionHeader();
+
+		Assert.assertTrue(header.parse("[ext_resource path=\"res://a=b.png\" type=\"Texture\" id=3 id=4]"));
+		System.out.println(header);
+		Assert.assertEquals("ext_resource", header.getName());
+		Assert.assertTrue(header.nameEquals("ext_resource"));
+		// Values with "=" are discarded
+		Assert.assertEquals(3, header.getAttributeCount());
+		Assert.assertEquals("type", header.getAttributeName(0));
+		Assert.assertEquals("Texture", header.getAttributeValue(0));
+		Assert.assertFalse(header.hasAttribute("path"));
+		Assert.assertTrue(header.attributeEquals("type", "Texture"));
+		// Repeated attributes use the last value
+		Assert.assertEquals(4, header.getIntAttribute("id", -1));
+		Assert.assertEquals(-1, header.getIntAttribute("type", -1));
+		Assert.assertEquals(-1, header.getIntAttribute("format", -1));
+
+		Assert.assertTrue(header.parse("[gd_scene load_steps=\"-2\" format=99999999999]"));
+		Assert.assertEquals(-2, header.getIntAttribute("load_steps", 0));
+		Assert.assertEquals(0, header.getIntAttribute("format", 0));
+
+		Assert.assertFalse(header.parse("config/name = \"Runner\""));
+		Assert.assertNull(header.getName());
+		Assert.assertEquals(0, header.getAttributeCount());
+		Assert.assertEquals(7, header.getIntAttribute("id", 7));
+	}
+
+	@Test
+	public void scanPropertyTest() {
+		IniScanner scanner = new IniScanner();
+
+		scanner.scan("  run/main_scene=\"res://Scenes/2dScene.tscn\"  ");
+
+		Assert.assertEquals("run/main_scene", scanner.getKey());
+		Assert.assertEquals("res://Scenes/2dScene.tscn", scanner.getValue());
+	}
+
+}
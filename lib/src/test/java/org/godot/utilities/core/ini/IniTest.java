@@ -1,10 +1,33 @@
 package org.godot.utilities.core.ini;
 
 import org.godot.utilities.R;
+import org.godot.utilities.core.ini.convertion.Variant;
 import org.godot.utilities.utils.ContentGD;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 public class IniTest {
 
@@ -22,4 +45,658 @@ public class IniTest {
 		System.out.println(section.getProperty("ui_page_down"));
 	}
 
+	@Test
+	public void mappedModeTest() throws Exception {
+		Ini streamIni = new Ini();
+		Ini mappedIni = new Ini();
+		// Load the same file
+		mappedIni.setLoadMode(Ini.LoadMode.MAPPED);
+		streamIni.loadFromPath(R.getPath("ini/example.ini"));
+		mappedIni.loadFromPath(R.getPath("ini/example.ini"));
+
+		Assert.assertEquals(streamIni.getAllSections().size(), mappedIni.getAllSections().size());
+		for (ISection section : streamIni.getAllSections()) {
+			ISection mapped = mappedIni.getSection(section.getSectionName());
+
+			Assert.assertNotNull(mapped);
+			Assert.assertEquals(section.getAttributes(), mapped.getAttributes());
+			for (String name : section.getPropertyNames()) {
+				Assert.assertEquals(section.getProperty(name), mapped.getProperty(name));
+			}
+		}
+	}
+
+	@Test
+	public void sectionIndexTest() throws Exception {
+		Ini sceneIni = new Ini(R.getPath("ini/scene.tscn"));
+		List<ISection> nodes = sceneIni.getSections("node");
+
+		Assert.assertEquals(5, nodes.size());
+		Assert.assertEquals("Player", nodes.get(0).getAttributes().get("name"));
+		Assert.assertEquals("Label", nodes.get(4).getAttributes().get("name"));
+		Assert.assertSame(nodes.get(0), sceneIni.getSection("node"));
+		Assert.assertNull(sceneIni.getSections("autoload"));
+		Assert.assertEquals(2, sceneIni.getSection("gd_scene").getIntegerAttribute("format", 0));
+		Assert.assertEquals("Player", nodes.get(0).getAttribute("name"));
+		// Renamed sections are moved in the index
+		nodes.get(4).changeName("label");
+		Assert.assertEquals(4, sceneIni.getSections("node").size());
+		Assert.assertTrue(sceneIni.sectionExists("label"));
+	}
+
+	@Test
+	public void sectionOrderTest() throws Exception {
+		Ini sceneIni = new Ini(R.getPath("ini/scene.tscn"));
+		List<ISection> sections = sceneIni.getSectionList();
+
+		Assert.assertEquals(sceneIni.getAllSections().size(), sceneIni.getSectionCount());
+		Assert.assertSame(sceneIni.getDefaultSection(), sceneIni.getSection(0));
+		Assert.assertEquals("gd_scene", sceneIni.getSection(1).getSectionName());
+		Assert.assertEquals("connection", sections.get(sections.size() - 1).getSectionName());
+		for (int i = 0; i < sections.size(); i++) Assert.assertEquals(i, sceneIni.indexOf(sections.get(i)));
+		// Removed sections update positions
+		ISection sprite = sceneIni.getSections("node").get(1);
+		int spriteIndex = sceneIni.indexOf(sprite);
+		Assert.assertTrue(sceneIni.removeSection(sceneIni.getSection("node")));
+		Assert.assertEquals(spriteIndex - 1, sceneIni.indexOf(sprite));
+		Assert.assertEquals(-1, sceneIni.indexOf(new Ini().getDefaultSection()));
+		// Renamed sections keep file order in their new group
+		List<ISection> nodes = sceneIni.getSections("node");
+		nodes.get(3).changeName("sub_resource");
+		Assert.assertEquals("Label", sceneIni.getSections("sub_resource").get(1).getAttributes().get("name"));
+		nodes.get(0).changeName("ext_resource");
+		Assert.assertEquals("Sprite", sceneIni.getSections("ext_resource").get(2).getAttributes().get("name"));
+
+		// Reloaded files keep the new order
+		Path location = Files.createTempFile("order", ".tscn");
+		Files.writeString(location, "[node name=\"A\"]\n[ext_resource id=1]\n[node name=\"B\"]\n");
+		Ini ini = new Ini(location);
+		Files.writeString(location, "[ext_resource id=1]\n[node name=\"A\"]\n[node name=\"B\"]\n[node name=\"C\"]\n");
+		ini.updateContent();
+		Assert.assertEquals("ext_resource", ini.getSection(1).getSectionName());
+		Assert.assertEquals("C", ini.getSection(4).getAttributes().get("name"));
+		Assert.assertEquals(4, ini.indexOf(ini.getSections("node").get(2)));
+
+		Files.delete(location);
+	}
+
+	@Test
+	public void lazyModeTest() throws Exception {
+		Ini streamIni = new Ini(R.getPath("ini/scene.tscn"));
+		Ini lazyIni = new Ini();
+		lazyIni.setLoadMode(Ini.LoadMode.LAZY);
+		lazyIni.loadFromPath(R.getPath("ini/scene.tscn"));
+
+		List<ISection> streamNodes = streamIni.getSections("node");
+		List<ISection> lazyNodes = lazyIni.getSections("node");
+
+		Assert.assertEquals(streamNodes.size(), lazyNodes.size());
+		for (int i = 0; i < streamNodes.size(); i++) {
+			Assert.assertEquals(streamNodes.get(i).getAttributes(), lazyNodes.get(i).getAttributes());
+			Assert.assertEquals(streamNodes.get(i).getPropertyNames(), lazyNodes.get(i).getPropertyNames());
+		}
+		Assert.assertEquals("Vector2( 16, 24 )", lazyIni.getSection("sub_resource").getProperty("extents"));
+	}
+
+	@Test
+	public void lazyRewriteTest() throws Exception {
+		Path location = Files.createTempFile("lazy", ".tscn");
+		Files.writeString(location, "[node name=\"A\"]\nvalue = 1\n[node name=\"B\"]\nvalue = 2\nextra = \"long value\"\n");
+		Ini ini = new Ini();
+		ini.setLoadMode(Ini.LoadMode.LAZY);
+		ini.setCache(null);
+		ini.loadFromPath(location);
+		ISection first = ini.getSections("node").get(0);
+		ISection second = ini.getSections("node").get(1);
+		// Rewrite in place with shorter content. Unparsed sections keep the loaded content.
+		try (FileChannel channel = FileChannel.open(location, StandardOpenOption.WRITE)) {
+			channel.truncate(0);
+			channel.write(ByteBuffer.wrap("[node name=\"A\"]\nvalue = 3\n".getBytes(StandardCharsets.UTF_8)));
+		}
+		Assert.assertEquals("2", second.getProperty("value"));
+		// Update reads the new content
+		IniChanges changes = ini.updateContent();
+		System.out.println(changes);
+		Assert.assertEquals("3", first.getProperty("value"));
+		Assert.assertEquals(1, changes.getRemovedSections().size());
+		Assert.assertEquals(1, ini.getSections("node").size());
+		// Same size edit
+		Files.writeString(location, "[node name=\"A\"]\nvalue = 4\n");
+		Assert.assertEquals(Set.of("value"), ini.updateContent().getChangedProperties(first));
+		Assert.assertEquals("4", first.getProperty("value"));
+
+		Files.delete(location);
+	}
+
+	@Test
+	public void multiLineValueTest() throws Exception {
+		Path location = Files.createTempFile("multiline", ".tres");
+		Files.writeString(location, "[resource]\ndata = [\n[ 1, 2 ]\n]\ntext = \"first\nkey=value\n; not a comment\"\n" +
+			"size = 2\n[input]\nui_l2 = {\n\"deadzone\" : 0.5,\n\"events\" : [ ]\n}\n");
+		Ini ini = new Ini(location);
+		Ini lazyIni = new Ini();
+		lazyIni.setLoadMode(Ini.LoadMode.LAZY);
+		lazyIni.loadFromPath(location);
+		ISection resource = ini.getSection("resource");
+
+		System.out.println(ini);
+		Assert.assertEquals(2, ini.getAllSections().size() - 1);
+		Assert.assertEquals("[\n[ 1, 2 ]\n]", resource.getProperty("data"));
+		Assert.assertEquals("first\nkey=value\n; not a comment", resource.getProperty("text"));
+		Assert.assertEquals(2, resource.getIntegerProperty("size"));
+		Assert.assertEquals(0.5, ini.getSection("input").getVariantProperty("ui_l2").get("deadzone").asDouble(), 0);
+		// Lazy sections are split in the same places
+		Assert.assertEquals(2, lazyIni.getAllSections().size() - 1);
+		Assert.assertEquals(resource.getProperty("text"), lazyIni.getSection("resource").getProperty("text"));
+
+		Files.delete(location);
+	}
+
+	@Test
+	public void variantPropertyTest() throws Exception {
+		Ini sceneIni = new Ini(R.getPath("ini/scene.tscn"));
+		Variant extents = sceneIni.getSection("sub_resource").getVariantProperty("extents");
+
+		System.out.println(extents.getElements());
+		Assert.assertEquals("Vector2", extents.getName());
+		Assert.assertArrayEquals(new int[]{16, 24}, extents.toIntArray());
+		Assert.assertSame(extents, sceneIni.getSection("sub_resource").getVariantProperty("extents"));
+		Assert.assertNull(sceneIni.getSection("sub_resource").getVariantPropertyOrNull("size"));
+	}
+
+	@Test
+	public void saveTest() throws Exception {
+		String original = Files.readString(R.getPath("ini/example.ini"));
+		Path location = Files.createTempFile("save", ".godot");
+		Files.writeString(location, original);
+		Ini ini = new Ini(location);
+		// Nothing changed
+		Assert.assertFalse(ini.save());
+		// Modify content
+		ISection application = ini.getSection("application");
+		application.setProperty("config/name", "Jumper");
+		Assert.assertTrue(application.removeProperty("config/icon"));
+		ini.getSection("display").setProperty("window/size/resizable", "false");
+		ini.addSection("editor_plugins").setProperty("enabled", "PoolStringArray(  )");
+		Assert.assertTrue(ini.removeSection(ini.getSection("autoload")));
+		Assert.assertTrue(ini.save());
+		String saved = Files.readString(location);
+
+		System.out.println(saved);
+		// Unchanged lines keep their format
+		Assert.assertTrue(saved.startsWith(original.substring(0, original.indexOf("[application]"))));
+		Assert.assertTrue(saved.contains("\nconfig/name = \"Jumper\"\nrun/main_scene"));
+		Assert.assertFalse(saved.contains("config/icon"));
+		Assert.assertFalse(saved.contains("[autoload]"));
+		Assert.assertTrue(saved.contains("aspect = \"keep\"\nwindow/size/resizable = false\n\n[input]"));
+		Assert.assertTrue(saved.endsWith("\n[editor_plugins]\nenabled = PoolStringArray(  )\n"));
+		// Saved content is the same as memory content
+		Assert.assertTrue(ini.updateContent().isEmpty());
+		Ini savedIni = new Ini(location);
+		Assert.assertEquals("Jumper", savedIni.getSection("application").getProperty("config/name"));
+		Assert.assertFalse(savedIni.getSection("display").getBooleanProperty("window/size/resizable"));
+		Assert.assertEquals(
+			ini.getSection("input").getProperty("ui_l2"),
+			savedIni.getSection("input").getProperty("ui_l2")
+		);
+
+		Files.delete(location);
+	}
+
+	@Test
+	public void snapshotTest() throws Exception {
+		Path location = Files.createTempFile("snapshot", ".godot");
+		Files.writeString(location, "[application]\nconfig/name=\"A\"\n[display]\nwindow/size/width=700\n");
+		Ini ini = new Ini(location);
+		IniSnapshot first = ini.getSnapshot();
+		Assert.assertSame(first, ini.getSnapshot());
+		// Reload
+		Files.writeString(location, "[application]\nconfig/name=\"B\"\n[display]\nwindow/size/width=700\n");
+		ini.updateContent();
+		IniSnapshot second = ini.getSnapshot();
+
+		System.out.println(second);
+		Assert.assertTrue(second.getVersion() > first.getVersion());
+		Assert.assertEquals("A", first.getSection("application").getProperty("config/name"));
+		Assert.assertEquals("B", second.getSection("application").getProperty("config/name"));
+		// Unchanged sections are shared
+		Assert.assertSame(first.getSection("display"), second.getSection("display"));
+		// Local changes create a new snapshot
+		ini.getSection("display").setProperty("window/size/width", "800");
+		Assert.assertEquals(800, ini.getSnapshot().getSection("display").getIntegerProperty("window/size/width"));
+		Assert.assertEquals(700, second.getSection("display").getIntegerProperty("window/size/width"));
+		try {
+			second.getSection("display").setProperty("window/size/width", "900");
+			Assert.fail("Snapshot sections are read-only");
+		} catch (UnsupportedOperationException ignored) {
+			// Expected
+		}
+		// Reading attributes keeps the snapshot, changing them creates a new one
+		IniSnapshot third = ini.getSnapshot();
+		Assert.assertTrue(ini.getSection("display").getAttributes().isEmpty());
+		Assert.assertSame(third, ini.getSnapshot());
+		ini.getSection("display").setAttribute("id", "1");
+		Assert.assertNotSame(third, ini.getSnapshot());
+		Assert.assertEquals(1, ini.getSnapshot().getSection("display").getIntegerAttribute("id", 0));
+		Assert.assertTrue(third.getSection("display").getAttributes().isEmpty());
+		try {
+			ini.getSection("display").getAttributes().put("id", "2");
+			Assert.fail("Attribute map is read-only");
+		} catch (UnsupportedOperationException ignored) {
+			// Expected
+		}
+
+		Files.delete(location);
+	}
+
+	@Test
+	public void propertyPathTest() throws Exception {
+		IniPath width = IniPath.compile("display/window/size/width");
+		IniPath version = IniPath.compile("/config_version");
+		IniPath missing = IniPath.of("display", "window/size/height");
+		Ini ini = new Ini();
+		ini.loadFromString("config_version=4\n[display]\nwindow/size/width=700\n");
+		IniSnapshot first = ini.getSnapshot();
+
+		System.out.println(width + " = " + ini.getProperty(width));
+		Assert.assertEquals("700", ini.getProperty(width));
+		Assert.assertSame(first.getProperty(width), first.getProperty(width));
+		Assert.assertEquals("4", ini.getProperty(version));
+		Assert.assertNull(ini.getProperty(missing));
+		Assert.assertEquals("600", ini.getProperty(missing, "600"));
+		// Changes are visible in the next snapshot
+		ini.getSection("display").setProperty("window/size/height", "600");
+		ini.getSection("display").setProperty("window/size/width", "800");
+		Assert.assertEquals("800", ini.getProperty(width));
+		Assert.assertTrue(ini.getSnapshot().propertyExists(missing));
+		Assert.assertEquals("700", first.getProperty(width));
+		Assert.assertFalse(first.propertyExists(missing));
+		// Paths compiled at runtime are equal to the constant ones
+		IniPath runtime = IniPath.compile("display/" + "window/size/width");
+		Assert.assertEquals(width, runtime);
+		Assert.assertEquals(width.hashCode(), runtime.hashCode());
+		Assert.assertEquals("700", first.getProperty(runtime));
+		Assert.assertNotEquals(width, IniPath.of("display/window", "size/width"));
+		// Invalid paths
+		try {
+			IniPath.compile("display");
+			Assert.fail("Path without section separator");
+		} catch (IllegalArgumentException ignored) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void sectionFilterTest() throws Exception {
+		StringBuilder content = new StringBuilder("config_version=4\n[application]\nconfig/name=\"Demo\"\n")
+			.append("[input]\nui_accept={\n\"events\": [\n[rendering]\n]\n}\n")
+			.append("[rendering]\nquality/driver/driver_name=\"GLES2\"\n[autoload]\n");
+		for (int i = 0; i < 10000; i++) content.append("Global").append(i).append("=\"*res://global.gd\"\n");
+		int[] read = new int[1];
+		Reader reader = new StringReader(content.toString()) {
+			@Override
+			public int read(char[] buffer, int offset, int length) throws IOException {
+				int count = super.read(buffer, offset, length);
+				if (count > 0) read[0] += count;
+				return count;
+			}
+		};
+		Ini ini = new Ini();
+		ini.setSectionFilter(List.of("application", "rendering"));
+		ini.loadFromReader(reader);
+
+		System.out.println("Read " + read[0] + " of " + content.length() + " chars");
+		Assert.assertTrue(read[0] < content.length() / 2);
+		Assert.assertEquals("4", ini.getDefaultSection().getProperty("config_version"));
+		Assert.assertEquals("Demo", ini.getSection("application").getProperty("config/name"));
+		// Headers inside skipped values are ignored
+		Assert.assertEquals(1, ini.getSections("rendering").size());
+		Assert.assertEquals("GLES2", ini.getSection("rendering").getProperty("quality/driver/driver_name"));
+		Assert.assertFalse(ini.sectionExists("input"));
+		Assert.assertFalse(ini.sectionExists("autoload"));
+		// Lazy mode
+		Ini lazyIni = new Ini();
+		lazyIni.setLoadMode(Ini.LoadMode.LAZY);
+		lazyIni.setSectionFilter(Set.of("rendering", "input"));
+		lazyIni.loadFromBuffer(ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8)));
+		Assert.assertEquals(3, lazyIni.getAllSections().size());
+		Assert.assertEquals("GLES2", lazyIni.getSection("rendering").getProperty("quality/driver/driver_name"));
+		Assert.assertTrue(lazyIni.getSection("input").getProperty("ui_accept").contains("[rendering]"));
+		Assert.assertEquals("4", lazyIni.getDefaultSection().getProperty("config_version"));
+		// Groups of sections are read completely
+		Ini sceneIni = new Ini();
+		sceneIni.setSectionFilter(Set.of("ext_resource"));
+		sceneIni.setLoadMode(Ini.LoadMode.MAPPED);
+		sceneIni.loadFromPath(R.getPath("ini/scene.tscn"));
+		Assert.assertEquals(2, sceneIni.getSections("ext_resource").size());
+		Assert.assertFalse(sceneIni.sectionExists("node"));
+		try {
+			sceneIni.save();
+			Assert.fail("Partial content cannot be saved");
+		} catch (IllegalStateException ignored) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void valueViewTest() throws Exception {
+		StringBuilder content = new StringBuilder("[values]\nname = \"\u00f1and\u00fa\"\ncount = 42\n")
+			.append("enabled = true\nratio = 0.5\nempty = \"\"\n");
+		for (int i = 0; i < 10; i++) content.append("extra").append(i).append(" = ").append(i).append('\n');
+		Ini ini = new Ini();
+		ini.setLoadMode(Ini.LoadMode.VIEW);
+		ini.loadFromBuffer(ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8)));
+		SectionImpl section = (SectionImpl) ini.getSection("values");
+		// Values are not decoded after the load
+		Assert.assertFalse(section.properties.getRaw("count") instanceof String);
+		Assert.assertEquals(15, section.getPropertyNames().size());
+		// Typed getters parse the view directly
+		Assert.assertEquals(42, section.getIntegerProperty("count"));
+		Assert.assertTrue(section.getBooleanProperty("enabled"));
+		Assert.assertEquals(0.5, section.getDoubleProperty("ratio"), 0);
+		Assert.assertEquals(7L, section.getLongProperty("extra7"));
+		Assert.assertFalse(section.properties.getRaw("count") instanceof String);
+		// Snapshots share the views
+		ISection frozen = ini.getSnapshot().getSection("values");
+		Assert.assertNotNull(frozen);
+		Assert.assertEquals("42", frozen.getProperty("count"));
+		Assert.assertFalse(section.properties.getRaw("count") instanceof String);
+		// Snapshot reads never write to the shared map
+		Assert.assertFalse(((SectionImpl) frozen).properties.getRaw("count") instanceof String);
+		// Values are decoded once when requested
+		String name = section.getProperty("name");
+		System.out.println(name);
+		Assert.assertEquals("\u00f1and\u00fa", name);
+		Assert.assertSame(name, section.getProperty("name"));
+		Assert.assertEquals("", section.getProperty("empty"));
+		Assert.assertEquals("9", section.getProperty("extra9"));
+		// Same content as the mapped mode
+		Ini viewScene = new Ini();
+		viewScene.setLoadMode(Ini.LoadMode.VIEW);
+		viewScene.loadFromPath(R.getPath("ini/scene.tscn"));
+		Ini mappedScene = new Ini();
+		mappedScene.setLoadMode(Ini.LoadMode.MAPPED);
+		mappedScene.loadFromPath(R.getPath("ini/scene.tscn"));
+		Assert.assertEquals(mappedScene.toString(), viewScene.toString());
+	}
+
+	@Test
+	public void viewRewriteTest() throws Exception {
+		Path location = Files.createTempFile("view", ".godot");
+		Files.writeString(location, "[values]\nxx=1\nyy=\"text\"\n");
+		Ini ini = new Ini();
+		ini.setLoadMode(Ini.LoadMode.VIEW);
+		ini.loadFromPath(location);
+		ISection section = ini.getSection("values");
+		IniSnapshot snapshot = ini.getSnapshot();
+		// Same size edit in place. Loaded values and snapshots keep the old content.
+		try (FileChannel channel = FileChannel.open(location, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap("[values]\nxx=2\n".getBytes(StandardCharsets.UTF_8)));
+		}
+		Assert.assertEquals("1", section.getProperty("xx"));
+		// Reload detects the change
+		IniChanges changes = ini.updateContent();
+		Assert.assertEquals(Set.of("xx"), changes.getChangedProperties(section));
+		Assert.assertEquals(2, section.getIntegerProperty("xx"));
+		Assert.assertEquals("1", snapshot.getSection("values").getProperty("xx"));
+		Assert.assertEquals("text", snapshot.getSection("values").getProperty("yy"));
+
+		Files.delete(location);
+	}
+
+	@Test
+	public void stringPoolTest() throws Exception {
+		StringPool pool = new StringPool();
+		Ini first = new Ini();
+		Ini second = new Ini();
+		first.setStringPool(pool);
+		second.setStringPool(pool);
+		second.setLoadMode(Ini.LoadMode.LAZY);
+		first.loadFromPath(R.getPath("ini/scene.tscn"));
+		second.loadFromPath(R.getPath("ini/scene.tscn"));
+		ISection firstNode = first.getSection("node");
+		ISection secondNode = second.getSection("node");
+
+		System.out.println("Pooled strings: " + pool.size());
+		Assert.assertSame(firstNode.getSectionName(), secondNode.getSectionName());
+		Assert.assertSame(
+			firstNode.getAttributes().keySet().iterator().next(),
+			secondNode.getAttributes().keySet().iterator().next()
+		);
+		// Lazy sections use the pool when they are parsed
+		String key = secondNode.getPropertyNames().iterator().next();
+		Assert.assertSame(firstNode.getProperty(key), secondNode.getProperty(key));
+		// Global pool
+		String value = new String("ExtResource( 1 )".toCharArray());
+		Assert.assertSame(StringPool.global().intern("ExtResource( 1 )"), StringPool.global().intern(value));
+		// Long values are not pooled
+		int size = pool.size();
+		pool.internValue(value + " ".repeat(StringPool.DEFAULT_MAX_VALUE_LENGTH));
+		Assert.assertEquals(size, pool.size());
+	}
+
+	@Test
+	public void cacheTest() throws Exception {
+		Path directory = Files.createTempDirectory("ini-cache");
+		IniCache cache = new IniCache(directory);
+		Path location = Files.createTempFile("cache", ".tscn");
+		Files.copy(R.getPath("ini/scene.tscn"), location, StandardCopyOption.REPLACE_EXISTING);
+		// First load parses the file and saves the entry
+		Ini parsed = new Ini();
+		parsed.setCache(cache);
+		parsed.loadFromPath(location);
+		Assert.assertTrue(cache.getSize() > 0);
+		// Second load uses the entry
+		Ini cached = new Ini();
+		cached.setCache(cache);
+		cached.loadFromPath(location);
+
+		System.out.println(cached);
+		Assert.assertEquals(parsed.toString(), cached.toString());
+		Assert.assertEquals(parsed.getSections("node").size(), cached.getSections("node").size());
+		Assert.assertEquals(
+			parsed.getSection("sub_resource").getProperty("extents"),
+			cached.getSection("sub_resource").getProperty("extents")
+		);
+		// Changed files are parsed again
+		Files.writeString(location, "[node name=\"Root\" type=\"Node\"]\n");
+		Ini changed = new Ini();
+		changed.setCache(cache);
+		changed.loadFromPath(location);
+		Assert.assertEquals(1, changed.getAllSections().size() - 1);
+		// Size limit
+		cache.clear();
+		IniCache small = new IniCache(directory, 0);
+		Ini evicted = new Ini();
+		evicted.setCache(small);
+		evicted.loadFromPath(location);
+		Assert.assertEquals(0, small.getSize());
+
+		Files.delete(directory);
+		Files.delete(location);
+	}
+
+	@Test
+	public void cacheEvictionTest() throws Exception {
+		Path directory = Files.createTempDirectory("ini-cache");
+		List<Path> locations = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Path location = Files.createTempFile("evict", ".godot");
+			Files.writeString(location, "[application]\nconfig/name=\"Project\"\n");
+			locations.add(location);
+		}
+		Ini first = new Ini();
+		first.setCache(new IniCache(directory));
+		first.loadFromPath(locations.get(0));
+		long entrySize = first.getCache().getSize();
+		// Existing entries are read once when the cache is created
+		IniCache cache = new IniCache(directory, entrySize * 5 / 2);
+		Assert.assertEquals(entrySize, cache.getSize());
+		load(cache, locations.get(1));
+		// Use the first entry, so the second one is the oldest
+		Assert.assertNotNull(cache.read(locations.get(0), FileFingerprint.stat(locations.get(0)), new Ini(), null));
+		load(cache, locations.get(2));
+
+		Assert.assertTrue(cache.getSize() <= entrySize * 5 / 2);
+		Assert.assertNotNull(cache.read(locations.get(0), FileFingerprint.stat(locations.get(0)), new Ini(), null));
+		Assert.assertNull(cache.read(locations.get(1), FileFingerprint.stat(locations.get(1)), new Ini(), null));
+		Assert.assertNotNull(cache.read(locations.get(2), FileFingerprint.stat(locations.get(2)), new Ini(), null));
+		long size = 0;
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator) size += Files.size(file);
+		}
+		Assert.assertEquals(size, cache.getSize());
+
+		cache.clear();
+		Files.delete(directory);
+		for (Path location : locations) Files.delete(location);
+	}
+
+	/**
+	 * Load a file with a cache
+	 *
+	 * @param cache    Target cache
+	 * @param location File location
+	 */
+	private static void load(IniCache cache, Path location) throws IOException {
+		Ini ini = new Ini();
+		ini.setCache(cache);
+		ini.loadFromPath(location);
+	}
+
+	@Test
+	public void loadFromSourcesTest() throws Exception {
+		Path location = R.getPath("ini/scene.tscn");
+		byte[] data = Files.readAllBytes(location);
+		String expected = new Ini(location).toString();
+		Ini fromStream = new Ini();
+		try (InputStream stream = Files.newInputStream(location)) {
+			fromStream.loadFromStream(stream);
+		}
+		Ini fromBuffer = new Ini();
+		fromBuffer.loadFromBuffer(ByteBuffer.wrap(data));
+		Ini fromLazyBuffer = new Ini();
+		fromLazyBuffer.setLoadMode(Ini.LoadMode.LAZY);
+		fromLazyBuffer.loadFromBuffer(ByteBuffer.wrap(data));
+		Ini fromString = new Ini();
+		fromString.loadFromString(new String(data, StandardCharsets.UTF_8));
+
+		System.out.println(fromBuffer);
+		Assert.assertEquals(expected, fromStream.toString());
+		Assert.assertEquals(expected, fromBuffer.toString());
+		Assert.assertEquals(
+			fromBuffer.getSection("sub_resource").getProperty("extents"),
+			fromLazyBuffer.getSection("sub_resource").getProperty("extents")
+		);
+		Assert.assertEquals(expected, fromString.toString());
+		// Content without file cannot be updated
+		try {
+			fromString.updateContent();
+			Assert.fail("Content without file");
+		} catch (IllegalStateException ignored) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void updateContentTest() throws Exception {
+		Path location = Files.createTempFile("update", ".godot");
+		Files.writeString(location, "[application]\nconfig/name=\"A\"\n[display]\nwindow/size/width=700\n");
+		Ini ini = new Ini(location);
+		ISection application = ini.getSection("application");
+		ISection display = ini.getSection("display");
+		// Same content
+		Assert.assertTrue(ini.updateContent().isEmpty());
+		// Modify one section and add other
+		Files.writeString(
+			location,
+			"[application]\nconfig/name=\"B\"\n[display]\nwindow/size/width=700\n[rendering]\nthreads=2\n"
+		);
+		IniChanges changes = ini.updateContent();
+
+		System.out.println(changes);
+		Assert.assertSame(application, ini.getSection("application"));
+		Assert.assertEquals("B", application.getProperty("config/name"));
+		Assert.assertEquals(Set.of("config/name"), changes.getChangedProperties(application));
+		Assert.assertFalse(changes.isChanged(display));
+		Assert.assertEquals(1, changes.getAddedSections().size());
+		Assert.assertTrue(ini.sectionExists("rendering"));
+
+		Files.delete(location);
+	}
+
+	@Test
+	public void updateFileStateTest() throws Exception {
+		Path location = Files.createTempFile("state", ".godot");
+		Files.writeString(location, "[application]\nconfig/name=\"A\"\n");
+		FileTime old = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+		Files.setLastModifiedTime(location, old);
+		Ini ini = new Ini(location);
+		ISection application = ini.getSection("application");
+		// Only modification time changed
+		Files.setLastModifiedTime(location, FileTime.fromMillis(old.toMillis() + 1000));
+		Assert.assertTrue(ini.updateContent().isEmpty());
+		// Same size and modification time: the file is not read
+		Files.writeString(location, "[application]\nconfig/name=\"B\"\n");
+		Files.setLastModifiedTime(location, FileTime.fromMillis(old.toMillis() + 1000));
+		Assert.assertTrue(ini.updateContent().isEmpty());
+		Assert.assertEquals("A", application.getProperty("config/name"));
+		// New modification time
+		Files.setLastModifiedTime(location, FileTime.fromMillis(old.toMillis() + 2000));
+		Assert.assertEquals(Set.of("config/name"), ini.updateContent().getChangedProperties(application));
+		Assert.assertEquals("B", application.getProperty("config/name"));
+
+		Files.delete(location);
+	}
+
+	@Test
+	public void watchingTest() throws Exception {
+		Path location = Files.createTempFile("watch", ".godot");
+		Files.writeString(location, "[application]\nconfig/name=\"A\"\n");
+		Ini ini = new Ini(location);
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicReference<IniChanges> result = new AtomicReference<>();
+		ini.setOnContentChangedListener((target, changes) -> {
+			result.set(changes);
+			latch.countDown();
+		});
+		ini.startWatching();
+		Assert.assertTrue(ini.isWatching());
+		// Modify file
+		Files.writeString(location, "[application]\nconfig/name=\"B\"\n");
+
+		Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
+		System.out.println(result.get());
+		Assert.assertEquals("B", ini.getSection("application").getProperty("config/name"));
+		Assert.assertEquals(1, result.get().getModifiedSections().size());
+
+		ini.stopWatching();
+		Assert.assertFalse(ini.isWatching());
+		Files.delete(location);
+	}
+
+	@Test
+	public void watchingErrorTest() throws Exception {
+		Path location = Files.createTempFile("watch", ".godot");
+		Files.writeString(location, "[application]\nconfig/name=\"A\"\n");
+		Ini ini = new Ini(location);
+		BlockingQueue<String> names = new LinkedBlockingQueue<>();
+		ini.setOnContentChangedListener((target, changes) -> {
+			String name = target.getSection("application").getProperty("config/name", null);
+			names.add(name);
+			// Errors must not stop the shared watcher thread
+			if ("B".equals(name)) throw new IllegalStateException("Listener error");
+		});
+		ini.startWatching();
+		Files.writeString(location, "[application]\nconfig/name=\"B\"\n");
+		Assert.assertEquals("B", names.poll(30, TimeUnit.SECONDS));
+		// Next change is still reported
+		Files.writeString(location, "[application]\nconfig/name=\"CC\"\n");
+		Assert.assertEquals("CC", names.poll(30, TimeUnit.SECONDS));
+		Assert.assertTrue(ini.isWatching());
+
+		ini.stopWatching();
+		Files.delete(location);
+	}
+
 }
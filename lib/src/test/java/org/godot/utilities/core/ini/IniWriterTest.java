@@ -0,0 +1,103 @@
+package org.godot.utilities.core.ini;
+
+import org.godot.utilities.core.ini.convertion.Variant;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class IniWriterTest {
+
+	@Test
+	public void escapeValueTest() throws Exception {
+		Path location = Files.createTempFile("writer", ".godot");
+		Files.writeString(location, "[application]\nconfig/name=\"A\"\n");
+		Ini ini = new Ini(location);
+		ISection application = ini.getSection("application");
+		application.setProperty("config/name", "say \"hi\"");
+		application.setProperty("config/path", "C:\\Users\\");
+		application.setProperty("config/escaped", "line\\nnext \\\"quoted\\\"");
+		Assert.assertTrue(ini.save());
+		String saved = Files.readString(location);
+
+		System.out.println(saved);
+		Assert.assertTrue(saved.contains("config/name=\"say \\\"hi\\\"\"\n"));
+		Assert.assertTrue(saved.contains("config/path=\"C:\\\\Users\\\\\"\n"));
+		// Existing escape sequences are kept
+		Assert.assertTrue(saved.contains("config/escaped=\"line\\nnext \\\"quoted\\\"\"\n"));
+		// Godot reads the original text
+		ISection savedSection = new Ini(location).getSection("application");
+		Assert.assertEquals("say \"hi\"", godotString(savedSection, "config/name"));
+		Assert.assertEquals("C:\\Users\\", godotString(savedSection, "config/path"));
+		Assert.assertEquals("line\nnext \"quoted\"", godotString(savedSection, "config/escaped"));
+
+		Files.delete(location);
+	}
+
+	@Test
+	public void keepQuotingTest() throws Exception {
+		Path location = Files.createTempFile("writer", ".godot");
+		Files.writeString(location, "[application]\nconfig/name = \"Runner\"\nconfig/flag = \"yes\"\nrun/width = 700\n");
+		Ini ini = new Ini(location);
+		ISection application = ini.getSection("application");
+		application.setProperty("config/name", "1");
+		application.setProperty("config/flag", "true");
+		application.setProperty("run/width", "800");
+		application.setProperty("run/height", "600");
+		Assert.assertTrue(ini.save());
+		String saved = Files.readString(location);
+
+		System.out.println(saved);
+		// Quoted strings stay strings
+		Assert.assertTrue(saved.contains("config/name = \"1\"\n"));
+		Assert.assertTrue(saved.contains("config/flag = \"true\"\n"));
+		// Other values keep their format
+		Assert.assertTrue(saved.contains("run/width = 800\n"));
+		Assert.assertTrue(saved.contains("run/height = 600\n"));
+		Assert.assertTrue(ini.updateContent().isEmpty());
+
+		Files.delete(location);
+	}
+
+	@Test
+	public void escapeAttributeTest() throws Exception {
+		Path location = Files.createTempFile("writer", ".tscn");
+		Files.writeString(location, "[node name=\"Root\" type=\"Node2D\"]\nposition = Vector2( 1, 2 )\n");
+		Ini ini = new Ini(location);
+		ISection node = ini.getSection("node");
+		node.setAttribute("name", "say \"hi\"");
+		node.setAttribute("path", "C:\\Users\\");
+		node.setAttribute("text", "line\nnext");
+		node.setAttribute("index", "3");
+		Assert.assertTrue(ini.save());
+		String saved = Files.readString(location);
+
+		System.out.println(saved);
+		Assert.assertTrue(saved.startsWith(
+			"[node name=\"say \\\"hi\\\"\" type=\"Node2D\" path=\"C:\\\\Users\\\\\" text=\"line\\nnext\" index=3]\n"));
+		// Attributes are read back with their escape sequences
+		ISection savedNode = new Ini(location).getSection("node");
+		Assert.assertEquals("say \\\"hi\\\"", savedNode.getAttribute("name"));
+		Assert.assertEquals("Node2D", savedNode.getAttribute("type"));
+		Assert.assertEquals("C:\\\\Users\\\\", savedNode.getAttribute("path"));
+		Assert.assertEquals("line\\nnext", savedNode.getAttribute("text"));
+		Assert.assertEquals(3, savedNode.getIntegerAttribute("index", 0));
+		Assert.assertEquals("say \"hi\"", Variant.valueOf('"' + savedNode.getAttribute("name") + '"').asString());
+		Assert.assertEquals("Vector2( 1, 2 )", savedNode.getProperty("position"));
+
+		Files.delete(location);
+	}
+
+	/**
+	 * Decode a string property like Godot
+	 *
+	 * @param section Target section
+	 * @param name    Property name
+	 * @return Return string without escape sequences
+	 */
+	private static String godotString(ISection section, String name) throws Exception {
+		return Variant.valueOf('"' + section.getProperty(name) + '"').asString();
+	}
+
+}
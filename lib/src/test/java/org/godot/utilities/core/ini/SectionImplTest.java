@@ -1,8 +1,13 @@
 package org.godot.utilities.core.ini;
 
+import org.godot.utilities.core.error.InvalidTypeValueException;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 public class SectionImplTest {
@@ -81,4 +86,71 @@ public class SectionImplTest {
 		Assert.assertNull(r3);
 	}
 
+	@Test
+	public void typedValueCacheTest() throws Exception {
+		SectionImpl section = new SectionImpl("Cache", null);
+		section.putProperty("width", " 700 ");
+		section.putProperty("tags", "a,b,c");
+
+		System.out.println("-------------------- Typed Value Cache --------------------");
+		Assert.assertEquals(700, section.getIntegerProperty("width"));
+		Assert.assertEquals(700L, section.getLongProperty("width"));
+		Assert.assertEquals(700, section.getIntegerProperty("width"));
+		// Same list instance while value does not change
+		List<String> tags = section.getPropertyList("tags");
+		System.out.println(tags);
+		Assert.assertSame(tags, section.getPropertyList("tags"));
+		// Values are parsed again after change
+		section.putProperty("width", "1024");
+		section.putProperty("tags", "d");
+		Assert.assertEquals(1024, section.getIntegerProperty("width"));
+		Assert.assertEquals(List.of("d"), section.getPropertyList("tags"));
+	}
+
+	@Test
+	public void primitiveArrayTest() throws Exception {
+		Ini ini = new Ini();
+		ini.setLoadMode(Ini.LoadMode.VIEW);
+		ini.loadFromBuffer(ByteBuffer.wrap((
+			"[resource]\nindices = PoolIntArray( 0, 1, -2 )\nvertices = PackedFloat32Array(0.5, -1.25, 3e-2, 1)\n" +
+			"data = PoolByteArray( 0, 127, 255 )\nempty = PoolRealArray(  )\nname = \"Mesh\"\n"
+		).getBytes(StandardCharsets.UTF_8)));
+		ISection section = ini.getSection("resource");
+
+		System.out.println("-------------------- Primitive Arrays --------------------");
+		System.out.println(Arrays.toString(section.getFloatArrayProperty("vertices")));
+		Assert.assertArrayEquals(new int[]{0, 1, -2}, section.getIntArrayProperty("indices"));
+		Assert.assertArrayEquals(new float[]{0.5f, -1.25f, 0.03f, 1}, section.getFloatArrayProperty("vertices"), 0);
+		Assert.assertArrayEquals(new double[]{0.5, -1.25, 0.03, 1}, section.getDoubleArrayProperty("vertices"), 0);
+		Assert.assertEquals(0, section.getDoubleArrayProperty("empty").length);
+		ByteBuffer data = section.getByteArrayProperty("data");
+		Assert.assertEquals(3, data.remaining());
+		Assert.assertEquals(255, data.get(2) & 0xFF);
+		// Every call returns a new array
+		Assert.assertNotSame(section.getIntArrayProperty("indices"), section.getIntArrayProperty("indices"));
+		// Invalid values
+		for (String name : new String[]{"vertices", "name", "missing"}) {
+			try {
+				section.getIntArrayProperty(name);
+				Assert.fail("Property \"" + name + "\" is not an integer array");
+			} catch (InvalidTypeValueException ignored) {
+				// Expected
+			}
+		}
+	}
+
+	@Test
+	public void propertyOrDefaultTest() {
+		SectionImpl section = new SectionImpl("Defaults", null);
+		section.putProperty("width", "700");
+		section.putProperty("name", "Game");
+
+		Assert.assertEquals(700, section.getIntegerPropertyOrDefault("width", 1));
+		Assert.assertEquals(1, section.getIntegerPropertyOrDefault("height", 1));
+		Assert.assertEquals(1, section.getIntegerPropertyOrDefault("name", 1));
+		Assert.assertTrue(section.getBooleanPropertyOrDefault("fullscreen", true));
+		Assert.assertEquals("none", section.getProperty("height", "none"));
+		Assert.assertNull(section.getPropertyListOrNull("height"));
+	}
+
 }
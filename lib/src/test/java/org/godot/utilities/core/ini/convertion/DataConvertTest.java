@@ -2,6 +2,7 @@ package org.godot.utilities.core.ini.convertion;
 
 import org.godot.utilities.core.error.InvalidTypeValueException;
 import org.godot.utilities.utils.Arr;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -39,4 +40,23 @@ public class DataConvertTest {
 		}
 	}
 
+	@Test
+	public void tryParseTest() {
+		System.out.println(DataConvert.tryParseInt(" 42 "));
+		System.out.println(DataConvert.tryParseDouble("1e3"));
+
+		Assert.assertEquals(Integer.valueOf(42), DataConvert.tryParseInt(" 42 "));
+		Assert.assertEquals(Long.valueOf(Long.MIN_VALUE), DataConvert.tryParseLong("-9223372036854775808"));
+		Assert.assertEquals(Double.valueOf(1000), DataConvert.tryParseDouble("1e3"));
+		Assert.assertEquals(Float.valueOf(0.5f), DataConvert.tryParseFloat(".5f"));
+		Assert.assertEquals(Boolean.TRUE, DataConvert.tryParseBoolean(" Yes"));
+		// Invalid values
+		Assert.assertNull(DataConvert.tryParseByte("128"));
+		Assert.assertNull(DataConvert.tryParseInt("2147483648"));
+		Assert.assertNull(DataConvert.tryParseInt("12a"));
+		Assert.assertNull(DataConvert.tryParseDouble("1e"));
+		Assert.assertNull(DataConvert.tryParseDouble("0x1.8"));
+		Assert.assertNull(DataConvert.tryParseBoolean("yes no"));
+	}
+
 }
@@ -0,0 +1,73 @@
+package org.godot.utilities.core.ini.convertion;
+
+import org.godot.utilities.core.error.InvalidTypeValueException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VariantTest {
+
+	@Test
+	public void constructorTest() throws Exception {
+		Variant vector = Variant.parse("Vector2( 16, 24.5 )");
+		Variant color = Variant.parse("Color( 1, 0.5, 0, 1 )");
+		Variant resource = Variant.parse("ExtResource( 3 )");
+
+		System.out.println(vector + " -> " + vector.getElements());
+		System.out.println(color + " -> " + color.getElements());
+
+		Assert.assertEquals("Vector2", vector.getName());
+		Assert.assertEquals(16, vector.get(0).asInt());
+		Assert.assertEquals(24.5, vector.get(1).asDouble(), 0);
+		Assert.assertArrayEquals(new float[]{1, 0.5f, 0, 1}, color.toFloatArray(), 0);
+		Assert.assertEquals(3, resource.get(0).asInt());
+	}
+
+	@Test
+	public void containerTest() throws Exception {
+		Variant array = Variant.parse("[ 1, \"two\", [ 3 ], { \"four\": 4 }, null, true ]");
+		Variant dictionary = Variant.parse("{\n\"deadzone\": 0.5,\n\"events\": [ Object(InputEventKey,\"scancode\":65) ]\n}");
+
+		System.out.println(array.getElements());
+		System.out.println(dictionary.getEntries());
+
+		Assert.assertEquals(6, array.size());
+		Assert.assertEquals("two", array.get(1).asString());
+		Assert.assertEquals(Variant.Type.ARRAY, array.get(2).getType());
+		Assert.assertEquals(4, array.get(3).get("four").asInt());
+		Assert.assertTrue(array.get(4).isNull());
+		Assert.assertTrue(array.get(5).asBoolean());
+
+		Variant event = dictionary.get("events").get(0);
+		Assert.assertEquals("Object", event.getName());
+		Assert.assertEquals("InputEventKey", event.get(0).asString());
+		Assert.assertEquals(65, event.get("scancode").asInt());
+	}
+
+	@Test
+	public void primitiveArrayTest() throws Exception {
+		Assert.assertArrayEquals(new int[]{1, -2, 3}, Variant.parse("PoolIntArray( 1, -2, 3 )").toIntArray());
+		Assert.assertArrayEquals(new int[]{4, 5}, Variant.parse("Array[int]([4, 5])").toIntArray());
+		Assert.assertArrayEquals(new double[]{0.5, 1e3}, Variant.parse("[ 0.5, 1e3, ]").toDoubleArray(), 0);
+		Assert.assertEquals(0, Variant.parse("PoolRealArray(  )").toDoubleArray().length);
+		Assert.assertArrayEquals(new float[]{0.1f, -2.5f, 1e-5f}, Variant.parse("PoolRealArray( 0.1, -2.5, 1e-05 )")
+			.toFloatArray(), 0);
+		Assert.assertEquals(3, Variant.parse("PoolByteArray( 0, 128, 255 )").toByteBuffer().remaining());
+		double[] special = Variant.parse("[ inf, -inf, 12345678901234567890.5 ]").toDoubleArray();
+		Assert.assertEquals(Double.NEGATIVE_INFINITY, special[1], 0);
+		Assert.assertEquals(12345678901234567890.5, special[2], 0);
+	}
+
+	@Test
+	public void valueOfTest() {
+		Assert.assertEquals(Variant.Type.STRING, Variant.valueOf("res://icon.png").getType());
+		Assert.assertEquals(Variant.Type.STRING, Variant.valueOf("GLES3").getType());
+		Assert.assertEquals(Variant.Type.INTEGER, Variant.valueOf("700").getType());
+		Assert.assertEquals(Variant.Type.STRING_NAME, Variant.valueOf("&\"ui_accept\"").getType());
+	}
+
+	@Test(expected = InvalidTypeValueException.class)
+	public void invalidTest() throws Exception {
+		Variant.parse("Vector2( 1, 2");
+	}
+
+}
@@ -1,12 +1,16 @@
 package org.godot.utilities.project.scene;
 
 import org.godot.utilities.Chooser;
+import org.godot.utilities.R;
 import org.godot.utilities.core.Version;
+import org.godot.utilities.core.ini.Ini;
+import org.junit.Assert;
 import org.junit.Test;
 
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SceneTest {
 
@@ -28,4 +32,63 @@ public class SceneTest {
 		System.out.println(scene);
 	}
 
+	@Test
+	public void sceneTreeTest() throws Exception {
+		Scene scene = new Scene(R.getPath("ini/scene.tscn"), Version.V3);
+		SceneTree tree = scene.getSceneTree();
+
+		System.out.println(tree);
+		Assert.assertSame(tree, scene.getSceneTree());
+		Assert.assertEquals(5, tree.getNodeCount());
+		SceneNode root = tree.getRoot();
+		Assert.assertNotNull(root);
+		Assert.assertEquals("Player", root.getName());
+		Assert.assertSame(root, tree.getNode(SceneTree.ROOT_PATH));
+		Assert.assertEquals(3, root.getChildCount());
+		// Path lookups
+		SceneNode label = tree.getNode("Camera2D/Label");
+		Assert.assertNotNull(label);
+		Assert.assertEquals("Label", label.getType());
+		Assert.assertSame(label, tree.getNode("Player/Camera2D/Label"));
+		Assert.assertSame(label, root.getNode("Camera2D").getNode("Label"));
+		Assert.assertSame(tree.getNode("Camera2D"), label.getParent());
+		Assert.assertNull(tree.getNode("Camera2D/Sprite"));
+		// Resources
+		Assert.assertEquals("res://Scripts/Player.gd", root.getResource("script").getPath());
+		Assert.assertEquals("Texture", tree.getNode("Sprite").getResource("texture").getType());
+		SceneTree.Resource shape = tree.getNode("CollisionShape2D").getResource("shape");
+		Assert.assertFalse(shape.isExternal());
+		Assert.assertEquals("RectangleShape2D", shape.getType());
+		Assert.assertNull(root.getResource("speed"));
+		// Connections
+		SceneTree.Connection connection = tree.getConnections().get(0);
+		Assert.assertSame(root, connection.getFrom());
+		Assert.assertEquals("_on_body_entered", connection.getMethod());
+	}
+
+	@Test
+	public void bigSceneTreeTest() {
+		StringBuilder content = new StringBuilder("[node name=\"Root\" type=\"Node\"]\n");
+		for (int i = 0; i < 100; i++) {
+			content.append("[node name=\"Group").append(i).append("\" type=\"Node\" parent=\".\"]\n");
+			for (int j = 0; j < 100; j++) {
+				content.append("[node name=\"Item").append(j).append("\" type=\"Sprite\" parent=\"Group")
+					.append(i).append("\"]\n");
+			}
+		}
+		Ini ini = new Ini();
+		ini.loadFromString(content);
+		SceneTree tree = SceneTree.build(ini);
+		AtomicInteger count = new AtomicInteger();
+
+		long start = System.nanoTime();
+		SceneNode item = tree.getNode("Group99/Item99");
+		tree.getNode("Group50").walk(node -> count.incrementAndGet());
+		System.out.println("Lookup and walk: " + (System.nanoTime() - start) / 1000 + "us");
+		Assert.assertEquals(10101, tree.getNodeCount());
+		Assert.assertNotNull(item);
+		Assert.assertEquals(10100, item.getIndex());
+		Assert.assertEquals(101, count.get());
+	}
+
 }